@@ -0,0 +1,24 @@
+package robotExplorartion;
+
+/**
+ * Receives calls as a batch of simulations runs, so its progress can be shown
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+public interface BatchListener
+{
+	/**
+	 * Called after a simulation in the batch has finished (it is called on the thread that ran the simulation)
+	 * @param threadNumberIn The number of the simulation that has finished
+	 * @param noOfFinishedIn The number of simulations in the batch that have finished so far
+	 * @param noOfSimulationsIn The number of simulations in the batch
+	 */
+	public void simulationFinished(int threadNumberIn, int noOfFinishedIn, int noOfSimulationsIn);
+
+	/**
+	 * Called once every simulation in the batch has finished, or the batch has been cancelled
+	 * and the simulations that were running have stopped
+	 * @param resultIn The results of the batch
+	 */
+	public void batchFinished(BatchResult resultIn);
+}//end
@@ -0,0 +1,170 @@
+package robotExplorartion;
+
+/**
+ * The results of a batch of simulations: the number of steps each robot took in each simulation
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+public class BatchResult
+{
+	//The number of steps of each robot in each simulation (null for a simulation that never ran)
+	private final int[][] robotSteps;
+	private final boolean cancelled;
+	
+	/**
+	 * Makes the results of a batch
+	 * @param robotStepsIn The number of steps of each robot in each simulation, indexed by simulation number - 1
+	 * (null for a simulation that never ran)
+	 * @param cancelledIn True if the batch was cancelled, false otherwise
+	 */
+	public BatchResult(int[][] robotStepsIn, boolean cancelledIn)
+	{
+		robotSteps = robotStepsIn;
+		cancelled = cancelledIn;
+	}//constructor
+	
+	/**
+	 * Checks if the batch was cancelled (if it was, some simulations may not have run, or may have been stopped early)
+	 * @return True if the batch was cancelled, false otherwise
+	 */
+	public boolean isCancelled()
+	{
+		return cancelled;
+	}//isCancelled
+	
+	/**
+	 * Gets the number of simulations that were in the batch
+	 * @return The number of simulations
+	 */
+	public int getNoOfSimulations()
+	{
+		return robotSteps.length;
+	}//getNoOfSimulations
+	
+	/**
+	 * Gets the number of simulations that ran
+	 * @return The number of simulations that ran
+	 */
+	public int getNoOfSimulationsRun()
+	{
+		int noOfSimulationsRun = 0;
+		for(int a=0; a<robotSteps.length; a++)
+		{
+			if(robotSteps[a] != null)
+			{
+				noOfSimulationsRun++;
+			}//if
+		}//for
+		
+		return noOfSimulationsRun;
+	}//getNoOfSimulationsRun
+	
+	/**
+	 * Gets the number of steps each robot took in a simulation
+	 * @param threadNumberIn The number of the simulation (numbered from 1)
+	 * @return The number of steps of each robot, or null if the simulation never ran
+	 */
+	public int[] getRobotSteps(int threadNumberIn)
+	{
+		return robotSteps[threadNumberIn-1];
+	}//getRobotSteps
+	
+	/**
+	 * Gets the total number of steps taken by all the robots in a simulation
+	 * @param threadNumberIn The number of the simulation (numbered from 1)
+	 * @return The total number of steps, or 0 if the simulation never ran
+	 */
+	public int getTotalSteps(int threadNumberIn)
+	{
+		int[] steps = robotSteps[threadNumberIn-1];
+		int totalSteps = 0;
+		
+		for(int a=0; steps != null && a<steps.length; a++)
+		{
+			totalSteps = totalSteps + steps[a];
+		}//for
+		
+		return totalSteps;
+	}//getTotalSteps
+	
+	/**
+	 * Gets the number of robots which took at least one step in a simulation
+	 * @param threadNumberIn The number of the simulation (numbered from 1)
+	 * @return The number of robots which moved, or 0 if the simulation never ran
+	 */
+	public int getNoOfActiveRobots(int threadNumberIn)
+	{
+		int[] steps = robotSteps[threadNumberIn-1];
+		int noOfActiveRobots = 0;
+		
+		for(int a=0; steps != null && a<steps.length; a++)
+		{
+			if(steps[a] > 0)
+			{
+				noOfActiveRobots++;
+			}//if
+		}//for
+		
+		return noOfActiveRobots;
+	}//getNoOfActiveRobots
+	
+	/**
+	 * Gets the average total number of steps of the simulations that ran
+	 * @return The average total number of steps, or 0 if no simulations ran
+	 */
+	public double getAverageTotalSteps()
+	{
+		long totalSteps = 0;
+		for(int a=1; a<=robotSteps.length; a++)
+		{
+			totalSteps = totalSteps + getTotalSteps(a);
+		}//for
+		
+		int noOfSimulationsRun = getNoOfSimulationsRun();
+		return (noOfSimulationsRun == 0) ? 0 : (double) totalSteps / noOfSimulationsRun;
+	}//getAverageTotalSteps
+	
+	/**
+	 * Gets a summary of the results, the steps of every simulation that ran and the average total steps
+	 * @return The summary
+	 */
+	@Override
+	public String toString()
+	{
+		StringBuilder builder = new StringBuilder();
+		
+		for(int a=1; a<=robotSteps.length; a++)
+		{
+			int[] steps = robotSteps[a-1];
+			if(steps == null)
+			{
+				continue;
+			}//if
+			
+			builder.append("**** Thread Number: ").append(a).append("\n");
+			for(int b=0; b<steps.length; b++)
+			{
+				builder.append("Robot ").append(b+1).append(" steps = ").append(steps[b]).append("\n");
+			}//for
+			builder.append("Total steps = ").append(getTotalSteps(a)).append("\n");
+			int noOfActiveRobots = getNoOfActiveRobots(a);
+			builder.append("Active robots = ").append(noOfActiveRobots).append(" of ").append(steps.length);
+			if(noOfActiveRobots > 0)
+			{
+				builder.append(", steps per active robot = ")
+						.append(String.format("%.1f", (double) getTotalSteps(a) / noOfActiveRobots));
+			}//if
+			builder.append("\n");
+		}//for
+		
+		builder.append("**** Simulations run: ").append(getNoOfSimulationsRun()).append(" of ").append(robotSteps.length);
+		if(cancelled)
+		{
+			builder.append(" (cancelled)");
+		}//if
+		builder.append("\n");
+		builder.append("Average total steps = ").append(String.format("%.1f", getAverageTotalSteps()));
+		
+		return builder.toString();
+	}//toString
+}//end
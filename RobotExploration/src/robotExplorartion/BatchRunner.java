@@ -0,0 +1,360 @@
+package robotExplorartion;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+
+/**
+ * Runs a batch of simulations which all use the same settings. The simulations are run at the same time on a
+ * pool of threads (by default one thread per processor), so no more simulations run at once than the
+ * computer can handle. Listeners are told as each simulation finishes, and the results of the whole batch
+ * are gathered once every simulation has finished (or the batch is cancelled)
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+public class BatchRunner
+{
+	private final int noOfSimulations;
+	private final boolean proprietaryAlgorithm;
+	private final int noOfRobots;
+	private final boolean coordinated;
+	private final int obstacleProbability;
+	private final boolean headless;
+	//The size of the maps, only used when the maps are generated as they are explored (otherwise the default size is used)
+	private final int mapWidth;
+	private final int mapHeight;
+	private final boolean generatedMaps;
+	//Gives the map each simulation explores, from the simulation's number (null if each simulation makes its own map)
+	private final IntFunction<WorldMap> mapSource;
+	//Runs the simulations
+	private final ExecutorService executor;
+	//The simulations that are running (so they can be stopped if the batch is cancelled)
+	private final AtomicReferenceArray<SimulationThread> runningSimulations;
+	//The number of steps of each robot in each simulation (null until the simulation has finished)
+	private final int[][] robotSteps;
+	//The number of simulations that have finished (or been skipped because the batch was cancelled)
+	private final AtomicInteger noOfFinished = new AtomicInteger();
+	//Released once every simulation has finished
+	private final CountDownLatch batchLatch = new CountDownLatch(1);
+	//Told about the progress of the batch (copied on write, so it can be read without locking)
+	private volatile BatchListener[] listeners = new BatchListener[0];
+	private volatile boolean cancelled = false;
+	private volatile BatchResult result;
+	//How the robots in every simulation choose their next unexplored point and plan the route to it
+	private RouteSearchEnum routeSearch = RouteSearchEnum.WAVEFRONT;
+	//The most planned routes each simulation keeps to be used again (0 if they aren't kept)
+	private int routeCacheSize = 0;
+	
+	/**
+	 * Sets up a batch of simulations, run on one thread per processor
+	 * @param noOfSimulationsIn The number of simulations to run
+	 * @param proprietaryAlgorithmIn which exploration algorithm should be used (true for proprietary, false for frontier)
+	 * @param noOfRobotsIn The number of robots running in each simulation
+	 * @param coordinatedIn True if the robots will coordinate with each other, false otherwise
+	 * @param obstacleProbabilityIn The chance of obstacles occurring (0-100%)
+	 * @param headlessIn True to run the simulations without windows, false to show each simulation in a window
+	 */
+	public BatchRunner(int noOfSimulationsIn, boolean proprietaryAlgorithmIn, int noOfRobotsIn,
+			boolean coordinatedIn, int obstacleProbabilityIn, boolean headlessIn)
+	{
+		this(noOfSimulationsIn, proprietaryAlgorithmIn, noOfRobotsIn, coordinatedIn, obstacleProbabilityIn, 
+				headlessIn, Runtime.getRuntime().availableProcessors());
+	}//constructor
+	
+	/**
+	 * Sets up a batch of simulations
+	 * @param noOfSimulationsIn The number of simulations to run
+	 * @param proprietaryAlgorithmIn which exploration algorithm should be used (true for proprietary, false for frontier)
+	 * @param noOfRobotsIn The number of robots running in each simulation
+	 * @param coordinatedIn True if the robots will coordinate with each other, false otherwise
+	 * @param obstacleProbabilityIn The chance of obstacles occurring (0-100%)
+	 * @param headlessIn True to run the simulations without windows, false to show each simulation in a window
+	 * @param noOfThreadsIn The most simulations that can run at the same time
+	 */
+	public BatchRunner(int noOfSimulationsIn, boolean proprietaryAlgorithmIn, int noOfRobotsIn,
+			boolean coordinatedIn, int obstacleProbabilityIn, boolean headlessIn, int noOfThreadsIn)
+	{
+		this(noOfSimulationsIn, proprietaryAlgorithmIn, noOfRobotsIn, coordinatedIn, obstacleProbabilityIn, 
+				headlessIn, noOfThreadsIn, ExplorationEngine.DEFAULT_WIDTH, ExplorationEngine.DEFAULT_HEIGHT, false, null);
+	}//constructor
+	
+	/**
+	 * Sets up a batch of headless simulations on maps of any size, run on one thread per processor. Each map is
+	 * generated as it is explored, so huge maps only use memory for the parts the robots reach
+	 * @param noOfSimulationsIn The number of simulations to run
+	 * @param proprietaryAlgorithmIn which exploration algorithm should be used (true for proprietary, false for frontier)
+	 * @param noOfRobotsIn The number of robots running in each simulation
+	 * @param coordinatedIn True if the robots will coordinate with each other, false otherwise
+	 * @param obstacleProbabilityIn The chance of obstacles occurring (0-100%)
+	 * @param widthIn The width of each map (in squares)
+	 * @param heightIn The height of each map (in squares)
+	 */
+	public BatchRunner(int noOfSimulationsIn, boolean proprietaryAlgorithmIn, int noOfRobotsIn,
+			boolean coordinatedIn, int obstacleProbabilityIn, int widthIn, int heightIn)
+	{
+		this(noOfSimulationsIn, proprietaryAlgorithmIn, noOfRobotsIn, coordinatedIn, obstacleProbabilityIn, 
+				true, Runtime.getRuntime().availableProcessors(), widthIn, heightIn, true, null);
+	}//constructor
+	
+	/**
+	 * Sets up a batch of headless simulations which all explore the same map, run on one thread per processor.
+	 * The map is only read, so a map opened from a file (see WorldMapFile) is shared by every simulation
+	 * without being copied. The robots start at their default positions, which must be free on the map
+	 * @param noOfSimulationsIn The number of simulations to run
+	 * @param proprietaryAlgorithmIn which exploration algorithm should be used (true for proprietary, false for frontier)
+	 * @param noOfRobotsIn The number of robots running in each simulation
+	 * @param coordinatedIn True if the robots will coordinate with each other, false otherwise
+	 * @param worldMapIn The map every simulation explores
+	 */
+	public BatchRunner(int noOfSimulationsIn, boolean proprietaryAlgorithmIn, int noOfRobotsIn,
+			boolean coordinatedIn, WorldMap worldMapIn)
+	{
+		this(noOfSimulationsIn, proprietaryAlgorithmIn, noOfRobotsIn, coordinatedIn, 0, true, 
+				Runtime.getRuntime().availableProcessors(), worldMapIn.getWidth(), worldMapIn.getHeight(), false, 
+				simulationNumber -> worldMapIn);
+	}//constructor
+	
+	/**
+	 * Sets up a batch of headless simulations over a set of generated maps, run on one thread per processor.
+	 * The simulations take it in turns to explore each map (simulation n explores the map made from seed
+	 * firstSeedIn + ((n - 1) % noOfMapsIn)), and the maps are got from a cache, so only noOfMapsIn maps are
+	 * held however many simulations there are. Batches given the same cache, generator and seeds explore the same maps
+	 * @param noOfSimulationsIn The number of simulations to run
+	 * @param proprietaryAlgorithmIn which exploration algorithm should be used (true for proprietary, false for frontier)
+	 * @param noOfRobotsIn The number of robots running in each simulation
+	 * @param coordinatedIn True if the robots will coordinate with each other, false otherwise
+	 * @param cacheIn Holds the maps (and can be shared with other batches)
+	 * @param generatorIn Generates the maps
+	 * @param firstSeedIn The seed of the first map
+	 * @param noOfMapsIn The number of different maps
+	 * @param widthIn The width of each map (in squares)
+	 * @param heightIn The height of each map (in squares)
+	 */
+	public BatchRunner(int noOfSimulationsIn, boolean proprietaryAlgorithmIn, int noOfRobotsIn,
+			boolean coordinatedIn, WorldMapCache cacheIn, MapGenerator generatorIn, long firstSeedIn, 
+			int noOfMapsIn, int widthIn, int heightIn)
+	{
+		this(noOfSimulationsIn, proprietaryAlgorithmIn, noOfRobotsIn, coordinatedIn, generatorIn.getDensity(), true, 
+				Runtime.getRuntime().availableProcessors(), widthIn, heightIn, false, 
+				simulationNumber -> cacheIn.getMap(generatorIn, firstSeedIn + ((simulationNumber - 1) % noOfMapsIn), 
+						widthIn, heightIn));
+		if(noOfMapsIn < 1)
+		{
+			throw new IllegalArgumentException("There must be at least one map");
+		}//if
+	}//constructor
+	
+	/**
+	 * Sets up a batch of simulations with every setting given
+	 * @param noOfSimulationsIn The number of simulations to run
+	 * @param proprietaryAlgorithmIn which exploration algorithm should be used (true for proprietary, false for frontier)
+	 * @param noOfRobotsIn The number of robots running in each simulation
+	 * @param coordinatedIn True if the robots will coordinate with each other, false otherwise
+	 * @param obstacleProbabilityIn The chance of obstacles occurring (0-100%)
+	 * @param headlessIn True to run the simulations without windows, false to show each simulation in a window
+	 * @param noOfThreadsIn The most simulations that can run at the same time
+	 * @param widthIn The width of each map (in squares)
+	 * @param heightIn The height of each map (in squares)
+	 * @param generatedMapsIn True if each map is generated as it is explored
+	 * @param mapSourceIn Gives the map each simulation explores, from the simulation's number 
+	 * (null if each simulation makes its own map)
+	 */
+	private BatchRunner(int noOfSimulationsIn, boolean proprietaryAlgorithmIn, int noOfRobotsIn, 
+			boolean coordinatedIn, int obstacleProbabilityIn, boolean headlessIn, int noOfThreadsIn, 
+			int widthIn, int heightIn, boolean generatedMapsIn, IntFunction<WorldMap> mapSourceIn)
+	{
+		noOfSimulations = noOfSimulationsIn;
+		proprietaryAlgorithm = proprietaryAlgorithmIn;
+		noOfRobots = noOfRobotsIn;
+		coordinated = coordinatedIn;
+		obstacleProbability = obstacleProbabilityIn;
+		headless = headlessIn;
+		mapWidth = widthIn;
+		mapHeight = heightIn;
+		generatedMaps = generatedMapsIn;
+		mapSource = mapSourceIn;
+		executor = Executors.newFixedThreadPool(Math.max(1, Math.min(noOfThreadsIn, noOfSimulationsIn)));
+		runningSimulations = new AtomicReferenceArray<SimulationThread>(noOfSimulationsIn);
+		robotSteps = new int[noOfSimulationsIn][];
+	}//constructor
+	
+	/**
+	 * Adds a listener which will be told about the progress of the batch (must be added before the batch starts)
+	 * @param listenerIn The listener to add
+	 */
+	public synchronized void addListener(BatchListener listenerIn)
+	{
+		BatchListener[] newListeners = Arrays.copyOf(listeners, listeners.length + 1);
+		newListeners[listeners.length] = listenerIn;
+		listeners = newListeners;
+	}//addListener
+	
+	/**
+	 * Sets how the robots in every simulation choose their next unexplored point and plan the route to it
+	 * (must be set before the batch starts)
+	 * @param routeSearchIn The way of searching to use
+	 */
+	public void setRouteSearch(RouteSearchEnum routeSearchIn)
+	{
+		routeSearch = routeSearchIn;
+	}//setRouteSearch
+	
+	/**
+	 * Sets how many planned routes each simulation keeps to be used again (must be set before the batch starts)
+	 * @param routeCacheSizeIn The most routes kept (0 to not keep any)
+	 */
+	public void setRouteCacheSize(int routeCacheSizeIn)
+	{
+		routeCacheSize = routeCacheSizeIn;
+	}//setRouteCacheSize
+	
+	/**
+	 * Starts the batch, the simulations are queued up to run on the thread pool
+	 */
+	public void start()
+	{
+		if(noOfSimulations == 0)
+		{
+			executor.shutdown();
+			finishBatch();
+			return;
+		}//if
+		
+		for(int a=0; a<noOfSimulations; a++)
+		{
+			final int threadNumber = a+1;
+			executor.execute(new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					runSimulation(threadNumber);
+				}//run
+			});
+		}//for
+		executor.shutdown();
+	}//start
+	
+	/**
+	 * Cancels the batch. The simulations that are running are stopped and the ones that haven't started yet are skipped
+	 */
+	public void cancel()
+	{
+		cancelled = true;
+		for(int a=0; a<noOfSimulations; a++)
+		{
+			SimulationThread simulation = runningSimulations.get(a);
+			if(simulation != null)
+			{
+				simulation.stop();
+			}//if
+		}//for
+	}//cancel
+	
+	/**
+	 * Checks if the batch has been cancelled
+	 * @return True if the batch has been cancelled, false otherwise
+	 */
+	public boolean isCancelled()
+	{
+		return cancelled;
+	}//isCancelled
+	
+	/**
+	 * Gets the number of simulations in the batch which have finished so far
+	 * @return The number of simulations finished
+	 */
+	public int getNoOfFinished()
+	{
+		return noOfFinished.get();
+	}//getNoOfFinished
+	
+	/**
+	 * Waits for every simulation in the batch to finish
+	 * @return The results of the batch
+	 * @throws InterruptedException If the waiting thread is interrupted
+	 */
+	public BatchResult waitForBatch() throws InterruptedException
+	{
+		batchLatch.await();
+		return result;
+	}//waitForBatch
+	
+	/**
+	 * Runs one simulation of the batch (on one of the pool's threads), unless the batch has been cancelled
+	 * @param threadNumberIn The number of the simulation (numbered from 1)
+	 */
+	private void runSimulation(int threadNumberIn)
+	{
+		try
+		{
+			if(!cancelled)
+			{
+				SimulationThread simulation;
+				if(mapSource != null)
+				{
+					simulation = new SimulationThread(threadNumberIn, proprietaryAlgorithm, noOfRobots, 
+							coordinated, mapSource.apply(threadNumberIn));
+				}//if
+				else if(generatedMaps)
+				{
+					simulation = new SimulationThread(threadNumberIn, proprietaryAlgorithm, noOfRobots, 
+							coordinated, obstacleProbability, mapWidth, mapHeight);
+				}//else if
+				else
+				{
+					simulation = new SimulationThread(threadNumberIn, proprietaryAlgorithm, noOfRobots, 
+							coordinated, obstacleProbability, headless);
+				}//else
+				simulation.setRouteSearch(routeSearch);
+				simulation.setRouteCacheSize(routeCacheSize);
+				runningSimulations.set(threadNumberIn-1, simulation);
+				if(cancelled)//the batch was cancelled while the simulation was being set up
+				{
+					simulation.stop();
+				}//if
+				
+				simulation.run();
+				runningSimulations.set(threadNumberIn-1, null);
+				robotSteps[threadNumberIn-1] = simulation.getRobotSteps();
+			}//if
+		}//try
+		finally
+		{
+			int finished = noOfFinished.incrementAndGet();
+			
+			if(robotSteps[threadNumberIn-1] != null)
+			{
+				BatchListener[] currentListeners = listeners;
+				for(int a=0; a<currentListeners.length; a++)
+				{
+					currentListeners[a].simulationFinished(threadNumberIn, finished, noOfSimulations);
+				}//for
+			}//if
+			
+			if(finished == noOfSimulations)
+			{
+				finishBatch();
+			}//if
+		}//finally
+	}//runSimulation
+	
+	/**
+	 * Gathers the results once every simulation has finished and tells the listeners
+	 */
+	private void finishBatch()
+	{
+		result = new BatchResult(robotSteps, cancelled);
+		batchLatch.countDown();
+		
+		BatchListener[] currentListeners = listeners;
+		for(int a=0; a<currentListeners.length; a++)
+		{
+			currentListeners[a].batchFinished(result);
+		}//for
+	}//finishBatch
+}//end
@@ -0,0 +1,139 @@
+package robotExplorartion;
+
+import java.util.SplittableRandom;
+
+/**
+ * Generates cave maps with a cellular automaton. The map starts as random noise, then a few times over every
+ * square becomes an obstacle if at least 5 of the 9 squares around and including it are obstacles (squares off
+ * the map count as obstacles), which smooths the noise into open caves with ragged walls.
+ *
+ * Each pass works out 64 squares at once: the 9 neighbour bitsets of a word are added together with bitwise
+ * adders, so there is no loop over the squares within a word. Every pass reads the last pass's rows and
+ * writes new rows, so the bands of a pass never wait for each other
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+public class CaveMapGenerator extends MapGenerator
+{
+	//The number of times the automaton is run over the map
+	private static final int PASSES = 4;
+
+	/**
+	 * Sets up a generator for cave maps
+	 * @param densityIn The chance of each square being an obstacle in the starting noise (0-100%),
+	 * around 45% makes caves
+	 */
+	public CaveMapGenerator(int densityIn)
+	{
+		super(densityIn);
+	}//constructor
+
+	@Override
+	public String getName()
+	{
+		return "caves";
+	}//getName
+
+	@Override
+	protected void fill(long[][] rowsIn, int widthIn, int heightIn, long seedIn)
+	{
+		int wordsPerRow = rowsIn[0].length;
+		SplittableRandom[] randoms = splitRandoms(seedIn, getNoOfBands(heightIn));
+		forEachBand(heightIn, (band, startY, endY) ->
+		{
+			SplittableRandom random = randoms[band];
+			for(int y=startY; y<endY; y++)
+			{
+				long[] row = rowsIn[y];
+				for(int x=0; x<widthIn; x++)
+				{
+					if(random.nextInt(100) < getDensity())
+					{
+						row[x >>> 6] |= 1L << x;
+					}//if
+				}//for
+				//squares past the right hand edge are off the map, so they count as obstacles
+				setSquares(row, widthIn, wordsPerRow << 6);
+			}//for
+		});
+
+		long[] offMap = new long[wordsPerRow];
+		setSquares(offMap, 0, wordsPerRow << 6);
+		long[][] rows = rowsIn;
+		for(int a=0; a<PASSES; a++)
+		{
+			long[][] lastRows = rows;
+			long[][] nextRows = new long[heightIn][wordsPerRow];
+			forEachBand(heightIn, (band, startY, endY) ->
+			{
+				for(int y=startY; y<endY; y++)
+				{
+					long[] above = (y == 0) ? offMap : lastRows[y-1];
+					long[] below = (y == heightIn-1) ? offMap : lastRows[y+1];
+					smoothRow(above, lastRows[y], below, nextRows[y]);
+					setSquares(nextRows[y], widthIn, wordsPerRow << 6);
+				}//for
+			});
+			rows = nextRows;
+		}//for
+
+		System.arraycopy(rows, 0, rowsIn, 0, heightIn);
+	}//fill
+
+	/**
+	 * Runs the automaton over one row
+	 * @param aboveIn The row above (from the last pass)
+	 * @param rowIn The row (from the last pass)
+	 * @param belowIn The row below (from the last pass)
+	 * @param resultIn The row for this pass, which is written over
+	 */
+	private static void smoothRow(long[] aboveIn, long[] rowIn, long[] belowIn, long[] resultIn)
+	{
+		for(int a=0; a<rowIn.length; a++)
+		{
+			//bit counters, 4 bits (0-9) per square
+			long[] count = new long[4];
+			addNeighbours(count, aboveIn, a);
+			addNeighbours(count, rowIn, a);
+			addNeighbours(count, belowIn, a);
+
+			//at least 5 is 8 or more, or 4 plus at least 1
+			resultIn[a] = count[3] | (count[2] & (count[1] | count[0]));
+		}//for
+	}//smoothRow
+
+	/**
+	 * Adds a word of a row and the squares to the left and right of it to the bit counters
+	 * @param countIn The bit counters
+	 * @param rowIn The row
+	 * @param wordIn The index of the word
+	 */
+	private static void addNeighbours(long[] countIn, long[] rowIn, int wordIn)
+	{
+		long word = rowIn[wordIn];
+		//off the map to the left and right counts as obstacles
+		long leftCarry = (wordIn == 0) ? 1L : (rowIn[wordIn-1] >>> 63);
+		long rightCarry = (wordIn == rowIn.length-1) ? (1L << 63) : (rowIn[wordIn+1] << 63);
+
+		add(countIn, (word << 1) | leftCarry);
+		add(countIn, word);
+		add(countIn, (word >>> 1) | rightCarry);
+	}//addNeighbours
+
+	/**
+	 * Adds one bit to the counter of every square whose bit is set
+	 * @param countIn The bit counters
+	 * @param bitsIn The bits to add
+	 */
+	private static void add(long[] countIn, long bitsIn)
+	{
+		long carry = bitsIn;
+		for(int a=0; a<3 && carry != 0; a++)
+		{
+			long nextCarry = countIn[a] & carry;
+			countIn[a] ^= carry;
+			carry = nextCarry;
+		}//for
+		countIn[3] |= carry;
+	}//add
+}//end
@@ -0,0 +1,90 @@
+package robotExplorartion;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+
+/**
+ * Records which points of a known map have changed since they were last collected, so a view only has to
+ * redraw the points that have changed rather than the whole map. The changed points are held as a bitset with
+ * one bit per point, and a second, smaller bitset with one bit per word of the first, so collecting the changes
+ * only looks at the words which have changed points in them.
+ *
+ * Points can be changed by several robot threads at once while the changes are being collected: a change made
+ * while collecting is either collected straight away or left for the next collection, it is never lost
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+public class ChangedCells implements KnownMapListener
+{
+	private final int width;
+	//One bit per point, set if the point has changed
+	private final AtomicLongArray cells;
+	//One bit per word of cells, set if that word might have changed points in it
+	private final AtomicLongArray words;
+
+	/**
+	 * Starts recording the changes made to a known map
+	 * @param knownMapIn The map to record the changes of
+	 */
+	public ChangedCells(KnownMap knownMapIn)
+	{
+		width = knownMapIn.getWidth();
+		int cellWords = ((knownMapIn.getWidth() * knownMapIn.getHeight()) + 63) >>> 6;
+		cells = new AtomicLongArray(cellWords);
+		words = new AtomicLongArray((cellWords + 63) >>> 6);
+		knownMapIn.addListener(this);
+	}//constructor
+
+	/**
+	 * Records a point on the known map as changed
+	 */
+	@Override
+	public void pointChanged(int x, int y, PointStatusEnum oldStatusIn, PointStatusEnum newStatusIn)
+	{
+		int point = (y * width) + x;
+		int cellWord = point >>> 6;
+		long oldWord = cells.getAndAccumulate(cellWord, 1L << (point & 63), (a, b) -> a | b);
+
+		if(oldWord == 0)
+		{
+			//the point is the first change in its word, so the word is marked as changed after the point is
+			//(a collection which clears the word first will then always see the mark for it)
+			words.getAndAccumulate(cellWord >>> 6, 1L << (cellWord & 63), (a, b) -> a | b);
+		}//if
+	}//pointChanged
+
+	/**
+	 * Collects all the points which have changed since the last collection, and clears them
+	 * @param pointConsumerIn Given the index of each changed point (y * width + x)
+	 * @return The number of points collected
+	 */
+	public int collect(IntConsumer pointConsumerIn)
+	{
+		int collected = 0;
+
+		for(int a=0; a<words.length(); a++)
+		{
+			if(words.get(a) == 0)
+			{
+				continue;
+			}//if
+
+			long changedWords = words.getAndSet(a, 0);
+			while(changedWords != 0)
+			{
+				int cellWord = (a << 6) + Long.numberOfTrailingZeros(changedWords);
+				changedWords &= changedWords - 1;
+
+				long changedCells = cells.getAndSet(cellWord, 0);
+				while(changedCells != 0)
+				{
+					pointConsumerIn.accept((cellWord << 6) + Long.numberOfTrailingZeros(changedCells));
+					changedCells &= changedCells - 1;
+					collected++;
+				}//while
+			}//while
+		}//for
+
+		return collected;
+	}//collect
+}//end
@@ -0,0 +1,196 @@
+package robotExplorartion;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+
+/**
+ * A grid of points split up into square chunks of 64 by 64 points, where each chunk is only made the first
+ * time it is needed. The maps use it to hold one value per point, so the memory they use grows with the area the
+ * robots have actually reached rather than with the size of the map. Within a chunk the points are stored row by row.
+ *
+ * Chunks are made with compare and set, so several threads can ask for the same chunk at once and all of them
+ * get the one chunk that was stored
+ * @author Paul Monk
+ * @version 12/03/2014
+ * @param <T> The type of each chunk (usually an array with one entry per point of the chunk)
+ */
+public class ChunkedGrid<T>
+{
+	//The number of bits used for a coordinate within a chunk
+	public static final int CHUNK_SHIFT = 6;
+	//The width and height of a chunk (in squares)
+	public static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+	//The number of points in a chunk
+	public static final int POINTS_PER_CHUNK = CHUNK_SIZE * CHUNK_SIZE;
+	private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+	private final int width;
+	private final int height;
+	//The number of chunks across and down the grid
+	private final int chunksX;
+	private final int chunksY;
+	//The chunks, stored row by row (null until a chunk is first needed)
+	private final AtomicReferenceArray<T> chunks;
+	//Makes a chunk the first time it is needed, given the index of the chunk
+	private final IntFunction<T> chunkFactory;
+	private final AtomicInteger noOfMadeChunks = new AtomicInteger(0);
+
+	/**
+	 * Makes a grid without any chunks yet
+	 * @param widthIn The width of the grid (in squares)
+	 * @param heightIn The height of the grid (in squares)
+	 * @param chunkFactoryIn Makes a chunk the first time it is needed, given the index of the chunk
+	 */
+	public ChunkedGrid(int widthIn, int heightIn, IntFunction<T> chunkFactoryIn)
+	{
+		if(widthIn < 1 || heightIn < 1 || (long) widthIn * heightIn > Integer.MAX_VALUE)
+		{
+			//points are indexed as y * width + x, so there can't be more points than fit in an int
+			throw new IllegalArgumentException("A map can't be " + widthIn + " by " + heightIn + " squares");
+		}//if
+
+		width = widthIn;
+		height = heightIn;
+		chunksX = (widthIn + CHUNK_MASK) >>> CHUNK_SHIFT;
+		chunksY = (heightIn + CHUNK_MASK) >>> CHUNK_SHIFT;
+		chunks = new AtomicReferenceArray<T>(chunksX * chunksY);
+		chunkFactory = chunkFactoryIn;
+	}//constructor
+
+	/**
+	 * Gets the width of the grid
+	 * @return The width of the grid (in squares)
+	 */
+	public int getWidth()
+	{
+		return width;
+	}//getWidth
+
+	/**
+	 * Gets the height of the grid
+	 * @return The height of the grid (in squares)
+	 */
+	public int getHeight()
+	{
+		return height;
+	}//getHeight
+
+	/**
+	 * Checks if a point lies inside the grid
+	 * @param x The X coordinate of the point
+	 * @param y The Y coordinate of the point
+	 * @return True if the point is inside the grid, false otherwise
+	 */
+	public boolean inBounds(int x, int y)
+	{
+		return x >= 0 && y >= 0 && x < width && y < height;
+	}//inBounds
+
+	/**
+	 * Gets the index of the chunk a point is in
+	 * @param x The X coordinate of the point
+	 * @param y The Y coordinate of the point
+	 * @return The index of the chunk
+	 */
+	public int getChunkIndex(int x, int y)
+	{
+		return ((y >>> CHUNK_SHIFT) * chunksX) + (x >>> CHUNK_SHIFT);
+	}//getChunkIndex
+
+	/**
+	 * Gets the position of a point within its chunk
+	 * @param x The X coordinate of the point
+	 * @param y The Y coordinate of the point
+	 * @return The position of the point in the chunk (0 to POINTS_PER_CHUNK - 1)
+	 */
+	public static int getOffset(int x, int y)
+	{
+		return ((y & CHUNK_MASK) << CHUNK_SHIFT) | (x & CHUNK_MASK);
+	}//getOffset
+
+	/**
+	 * Gets the X coordinate of the left hand column of a chunk
+	 * @param chunkIndexIn The index of the chunk
+	 * @return The X coordinate
+	 */
+	public int getChunkXCoord(int chunkIndexIn)
+	{
+		return (chunkIndexIn % chunksX) << CHUNK_SHIFT;
+	}//getChunkXCoord
+
+	/**
+	 * Gets the Y coordinate of the top row of a chunk
+	 * @param chunkIndexIn The index of the chunk
+	 * @return The Y coordinate
+	 */
+	public int getChunkYCoord(int chunkIndexIn)
+	{
+		return (chunkIndexIn / chunksX) << CHUNK_SHIFT;
+	}//getChunkYCoord
+
+	/**
+	 * Gets the number of chunks needed to cover the whole grid
+	 * @return The number of chunks
+	 */
+	public int getNoOfChunks()
+	{
+		return chunks.length();
+	}//getNoOfChunks
+
+	/**
+	 * Gets the number of chunks which have been made so far
+	 * @return The number of chunks made
+	 */
+	public int getNoOfMadeChunks()
+	{
+		return noOfMadeChunks.get();
+	}//getNoOfMadeChunks
+
+	/**
+	 * Gets a chunk, without making it if it hasn't been needed yet
+	 * @param chunkIndexIn The index of the chunk
+	 * @return The chunk, or null if it hasn't been made
+	 */
+	public T getChunk(int chunkIndexIn)
+	{
+		return chunks.getAcquire(chunkIndexIn);
+	}//getChunk
+
+	/**
+	 * Gets a chunk, making it first if this is the first time it is needed
+	 * @param chunkIndexIn The index of the chunk
+	 * @return The chunk
+	 */
+	public T getOrMakeChunk(int chunkIndexIn)
+	{
+		T chunk = chunks.getAcquire(chunkIndexIn);
+		if(chunk != null)
+		{
+			return chunk;
+		}//if
+
+		T newChunk = chunkFactory.apply(chunkIndexIn);
+		chunk = chunks.compareAndExchange(chunkIndexIn, null, newChunk);
+		if(chunk != null)
+		{
+			//another thread made the chunk first
+			return chunk;
+		}//if
+
+		noOfMadeChunks.incrementAndGet();
+		return newChunk;
+	}//getOrMakeChunk
+
+	/**
+	 * Lets go of a chunk, so its memory can be reclaimed (it is made again the next time it is needed)
+	 * @param chunkIndexIn The index of the chunk
+	 */
+	public void removeChunk(int chunkIndexIn)
+	{
+		if(chunks.getAndSet(chunkIndexIn, null) != null)
+		{
+			noOfMadeChunks.decrementAndGet();
+		}//if
+	}//removeChunk
+}//end
@@ -0,0 +1,13 @@
+package robotExplorartion;
+
+/**
+ * An enumeration class for the ways a simulation clock can pace the robots
+ * REAL_TIME - one step every 100 milliseconds, SCALED - real time sped up or slowed down,
+ * UNTHROTTLED - as fast as possible
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+public enum ClockModeEnum
+{
+	REAL_TIME, SCALED, UNTHROTTLED
+}//end
@@ -0,0 +1,28 @@
+package robotExplorartion;
+
+/**
+ * Prints out the progress of a batch of simulations, and the results once the batch has finished
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+public class ConsoleBatchListener implements BatchListener
+{
+	/**
+	 * Prints out how many simulations have finished
+	 */
+	@Override
+	public void simulationFinished(int threadNumberIn, int noOfFinishedIn, int noOfSimulationsIn)
+	{
+		System.out.println("**** Simulation " + threadNumberIn + " finished (" + noOfFinishedIn + 
+				" of " + noOfSimulationsIn + ")");
+	}//simulationFinished
+	
+	/**
+	 * Prints out the results of the batch
+	 */
+	@Override
+	public void batchFinished(BatchResult resultIn)
+	{
+		System.out.println(resultIn);
+	}//batchFinished
+}//end
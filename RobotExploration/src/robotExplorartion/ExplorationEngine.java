@@ -0,0 +1,1487 @@
+package robotExplorartion;
+
+import java.util.*;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * The exploration part of a Multi-Robot Exploration Simulation: the map, the robots and the algorithms that
+ * control them. It doesn't draw anything, so it can be run without a screen (as fast as the robots can go),
+ * and anything that wants to follow the simulation (such as the Swing view) can be added as a listener.
+ * It is thread safe
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+public class ExplorationEngine
+{
+	//The default size of the map (in squares), the size of the map shown by the Swing view
+	public static final int DEFAULT_WIDTH = 50;
+	public static final int DEFAULT_HEIGHT = 33;
+	//Returned by repairRoute when the route a robot is following hasn't changed
+	private static final int NOT_REPAIRED = -2;
+	//Given instead of a target point when every frontier point left is claimed by another robot
+	public static final int ONLY_CLAIMED = -3;
+	//The most ticks a robot waits before looking for a frontier point again, when the others have claimed them all
+	private static final int MAX_WAIT_TICKS = 8;
+	
+	//The size of the map (in squares)
+	private final int coordinatesX;
+	private final int coordinatesY;
+	//holds coordinate info, where the obstacles really are (held in chunks, so huge maps can be explored)
+	private WorldMap originalCoordinates;
+	//holds info on searched coordinates (the map the robots have built up so far)
+	private KnownMap knownMap;
+	//keeps track of the unexplored (frontier) points of the searched coordinates
+	private FrontierIndex frontierIndex;
+	//keeps track of which open points of the searched coordinates are joined, so unreachable points are found without a search
+	private OpenRegions openRegions;
+	//the runs of open points along each row and column of the searched coordinates (used by jump point search)
+	private OpenLines openLines;
+	//the frontier points the robots are heading for (only used when the robots are coordinated)
+	private FrontierClaims frontierClaims;
+	//the points of the searched coordinates changed since a view last drew them (null until a view asks for it)
+	private ChangedCells changedCells;
+	//The robots, indexed by their numbers
+	private Robot[] robots;
+	//The number of the thread this program is running on (used when several versions are running at once)
+	int threadNumber;
+	//The threads running each robot (null until the simulation starts)
+	private Thread[] threads;
+	//Makes the thread for each robot (a cheap virtual thread per robot unless another factory is set)
+	private ThreadFactory threadFactory = Thread.ofVirtual().name("Robot ", 1).factory();
+	private boolean proprietaryAlgorithm;
+	//Told about every step the robots take (copied on write, so it can be read without locking)
+	private volatile SimulationListener[] listeners = new SimulationListener[0];
+	//Keeps the robots in step and paces them (unthrottled unless another clock is set)
+	private SimulationClock clock = new SimulationClock(ClockModeEnum.UNTHROTTLED);
+	//How the robots choose their next unexplored point and plan the route to it
+	private RouteSearchEnum routeSearch = RouteSearchEnum.WAVEFRONT;
+	//Each robot's D* Lite planner, indexed by the robots' numbers (only made when routes are repaired with D* Lite)
+	private IncrementalPlanner[] incrementalPlanners;
+	//The most routes kept to be used again (0 if routes aren't kept), and the routes the robots share
+	private int routeCacheSize = 0;
+	private RouteCache routeCache;
+	//Set to make the robots stop exploring early
+	private volatile boolean stopped = false;
+	
+	private boolean coordinated;
+	
+	/**
+	 * Sets up the Simulation, creating the map and positioning the robots at their default start positions
+	 * (see makeDefaultRobots), ready to be started
+	 * @param threadNumberIn The number of this thread (to distinguish between different simulations running at the same time)
+	 * @param proprietaryAlgorithmIn which exploration algorithm should be used (true for proprietary, false for frontier)
+	 * @param noOfRobotsIn The number of robots running in the simulation
+	 * @param coordinatedIn True if the robots will coordinate with each other in the simulation, false otherwise
+	 * @param obstacleProbabilityIn The chance of obstacles occurring (0-100%)
+	 * @param widthIn The width of the map (in squares)
+	 * @param heightIn The height of the map (in squares)
+	 */
+	public ExplorationEngine(int threadNumberIn, boolean proprietaryAlgorithmIn, int noOfRobotsIn,
+			boolean coordinatedIn, int obstacleProbabilityIn, int widthIn, int heightIn)
+	{
+		this(threadNumberIn, proprietaryAlgorithmIn, makeDefaultRobots(noOfRobotsIn, widthIn, heightIn), 
+				coordinatedIn, obstacleProbabilityIn, widthIn, heightIn);
+	}//constructor
+	
+	/**
+	 * Sets up the Simulation, creating the map and positioning the robots given, ready to be started
+	 * @param threadNumberIn The number of this thread (to distinguish between different simulations running at the same time)
+	 * @param proprietaryAlgorithmIn which exploration algorithm should be used (true for proprietary, false for frontier)
+	 * @param robotsIn The robots running in the simulation, at their start positions (each robot's number must be
+	 * its position in the array, and each robot must start inside the walls around the map)
+	 * @param coordinatedIn True if the robots will coordinate with each other in the simulation, false otherwise
+	 * @param obstacleProbabilityIn The chance of obstacles occurring (0-100%)
+	 * @param widthIn The width of the map (in squares)
+	 * @param heightIn The height of the map (in squares)
+	 */
+	public ExplorationEngine(int threadNumberIn, boolean proprietaryAlgorithmIn, Robot[] robotsIn,
+			boolean coordinatedIn, int obstacleProbabilityIn, int widthIn, int heightIn)
+	{
+		this(threadNumberIn, proprietaryAlgorithmIn, robotsIn, coordinatedIn, obstacleProbabilityIn, 
+				widthIn, heightIn, new Random());
+	}//constructor
+	
+	/**
+	 * Sets up the Simulation, creating the map with the random number generator given (so a seeded generator
+	 * always makes the same map) and positioning the robots given, ready to be started
+	 * @param threadNumberIn The number of this thread (to distinguish between different simulations running at the same time)
+	 * @param proprietaryAlgorithmIn which exploration algorithm should be used (true for proprietary, false for frontier)
+	 * @param robotsIn The robots running in the simulation, at their start positions (each robot's number must be
+	 * its position in the array, and each robot must start inside the walls around the map)
+	 * @param coordinatedIn True if the robots will coordinate with each other in the simulation, false otherwise
+	 * @param obstacleProbabilityIn The chance of obstacles occurring (0-100%)
+	 * @param widthIn The width of the map (in squares)
+	 * @param heightIn The height of the map (in squares)
+	 * @param rndIn The random number generator used to place the obstacles
+	 */
+	public ExplorationEngine(int threadNumberIn, boolean proprietaryAlgorithmIn, Robot[] robotsIn,
+			boolean coordinatedIn, int obstacleProbabilityIn, int widthIn, int heightIn, Random rndIn)
+	{
+		this(threadNumberIn, proprietaryAlgorithmIn, robotsIn, coordinatedIn, 
+				makeRandomMap(obstacleProbabilityIn, widthIn, heightIn, rndIn));
+	}//constructor
+	
+	/**
+	 * Sets up the Simulation to explore the map given (which can be a huge map generated as it is explored),
+	 * positioning the robots given, ready to be started. The robots' start squares are cleared of obstacles
+	 * (a read only map, opened from a file, must already have them clear)
+	 * @param threadNumberIn The number of this thread (to distinguish between different simulations running at the same time)
+	 * @param proprietaryAlgorithmIn which exploration algorithm should be used (true for proprietary, false for frontier)
+	 * @param robotsIn The robots running in the simulation, at their start positions (each robot's number must be
+	 * its position in the array, and each robot must start inside the walls around the map)
+	 * @param coordinatedIn True if the robots will coordinate with each other in the simulation, false otherwise
+	 * @param worldMapIn The map the robots will explore, which must have walls around its edges. The map is only
+	 * changed if a robot starts on an obstacle, so a map with the start squares clear can be shared by several simulations
+	 */
+	public ExplorationEngine(int threadNumberIn, boolean proprietaryAlgorithmIn, Robot[] robotsIn,
+			boolean coordinatedIn, WorldMap worldMapIn)
+	{	
+		int widthIn = worldMapIn.getWidth();
+		int heightIn = worldMapIn.getHeight();
+		for(int a=0; a<robotsIn.length; a++)
+		{
+			if(robotsIn[a].getNumber() != a)
+			{
+				throw new IllegalArgumentException(robotsIn[a].getName() + " has number " + 
+						robotsIn[a].getNumber() + " but is at position " + a);
+			}//if
+			if(robotsIn[a].getXCoord() < 1 || robotsIn[a].getYCoord() < 1 || 
+					robotsIn[a].getXCoord() > widthIn-2 || robotsIn[a].getYCoord() > heightIn-2)
+			{
+				throw new IllegalArgumentException(robotsIn[a].getName() + " doesn't start inside the map");
+			}//if
+			if(worldMapIn.isReadOnly() && worldMapIn.isObstacle(robotsIn[a].getXCoord(), robotsIn[a].getYCoord()))
+			{
+				throw new IllegalArgumentException(robotsIn[a].getName() + " starts on an obstacle");
+			}//if
+		}//for
+		
+		threadNumber = threadNumberIn;
+		proprietaryAlgorithm = proprietaryAlgorithmIn;
+		robots = robotsIn;
+		coordinated = coordinatedIn;
+		coordinatesX = widthIn;
+		coordinatesY = heightIn;
+		originalCoordinates = worldMapIn;
+		knownMap = new KnownMap(coordinatesX, coordinatesY);
+		frontierIndex = new FrontierIndex(knownMap);
+		openRegions = new OpenRegions(knownMap);
+		openLines = new OpenLines(knownMap);
+		incrementalPlanners = new IncrementalPlanner[robots.length];
+		if(coordinated)
+		{
+			//a claim lasts long enough to cross the map twice, turning at every square
+			frontierClaims = new FrontierClaims(coordinatesX, coordinatesY, robots.length, 
+					(coordinatesX + coordinatesY) * 4);
+		}//if
+		
+		//makes sure the robots don't start on top of an obstacle
+		for(int a=0; a<robots.length; a++)
+		{
+			if(originalCoordinates.isObstacle(robots[a].getXCoord(), robots[a].getYCoord()))
+			{
+				originalCoordinates.setObstacle(robots[a].getXCoord(), robots[a].getYCoord(), false);
+			}//if
+		}//for
+	}//constructor
+	
+	/**
+	 * Makes a map with walls around the edges and obstacles placed at random over the rest of it
+	 * @param obstacleProbabilityIn The chance of obstacles occurring (0-100%)
+	 * @param widthIn The width of the map (in squares)
+	 * @param heightIn The height of the map (in squares)
+	 * @param rndIn The random number generator used to place the obstacles
+	 * @return The map
+	 */
+	public static WorldMap makeRandomMap(int obstacleProbabilityIn, int widthIn, int heightIn, Random rndIn)
+	{
+		WorldMap map = new WorldMap(widthIn, heightIn);
+		
+		//Makes left and right of screen an obstacle (64 squares at a time)
+		for(int a=0; a<widthIn; a+=64)
+		{
+			map.orMask(a, 0, -1L);
+			map.orMask(a, heightIn-1, -1L);
+		}//for
+		
+		//Makes top and bottom of screen an obstacle
+		for(int a=0; a<heightIn; a++)
+		{
+			map.setObstacle(0, a, true);
+			map.setObstacle(widthIn-1, a, true);
+		}//for
+		
+		//Makes random obstacles spread over the rest of the map
+		for(int a=2; a<widthIn-1; a++)
+		{
+			for(int b=1; b<heightIn-1; b++)
+			{
+				if(rndIn.nextInt(100/obstacleProbabilityIn) == 0)
+				{
+					map.setObstacle(a, b, true);
+				}//if
+			}//for
+		}//for
+		
+		return map;
+	}//makeRandomMap
+	
+	/**
+	 * Makes robots at the default start positions. The robots take it in turns to start in each corner of the map:
+	 * top left facing south, bottom right facing north, top right facing south, then bottom left facing north
+	 * @param noOfRobotsIn The number of robots to make
+	 * @param widthIn The width of the map (in squares)
+	 * @param heightIn The height of the map (in squares)
+	 * @return The robots, indexed by their numbers
+	 */
+	public static Robot[] makeDefaultRobots(int noOfRobotsIn, int widthIn, int heightIn)
+	{
+		Robot[] defaultRobots = new Robot[noOfRobotsIn];
+		
+		for(int a=0; a<noOfRobotsIn; a++)
+		{
+			String name = "Robot " + (a+1);
+			if(a % 4 == 0)
+			{
+				defaultRobots[a] = new Robot(name, a, 1, 1, DirectionEnum.SOUTH);
+			}//if
+			else if(a % 4 == 1)
+			{
+				defaultRobots[a] = new Robot(name, a, widthIn-2, heightIn-2, DirectionEnum.NORTH);
+			}//else if
+			else if(a % 4 == 2)
+			{
+				defaultRobots[a] = new Robot(name, a, widthIn-2, 1, DirectionEnum.SOUTH);
+			}//else if
+			else
+			{
+				defaultRobots[a] = new Robot(name, a, 1, heightIn-2, DirectionEnum.NORTH);
+			}//else
+		}//for
+		
+		return defaultRobots;
+	}//makeDefaultRobots
+	
+	/**
+	 * Starts the simulation, each robot runs on its own thread
+	 */
+	public void startSimulation()
+	{
+		clock.start(robots.length);
+		if(routeCacheSize > 0 && routeCache == null)
+		{
+			routeCache = new RouteCache(knownMap, routeCacheSize);
+		}//if
+		
+		Thread[] newThreads = new Thread[robots.length];
+		for(int a=0; a<robots.length; a++)
+		{
+			newThreads[a] = threadFactory.newThread(new SimulationLoopThread(robots[a], proprietaryAlgorithm));
+		}//for
+		threads = newThreads;
+		
+		for(int a=0; a<threads.length; a++)
+		{
+			threads[a].start();
+		}//for
+	}//startSimulation
+	
+	/**
+	 * Waits for every robot to finish exploring
+	 * @throws InterruptedException If the waiting thread is interrupted
+	 */
+	public void waitForSimulation() throws InterruptedException
+	{
+		for(int a=0; threads != null && a<threads.length; a++)
+		{
+			threads[a].join();
+		}//for
+	}//waitForSimulation
+	
+	/**
+	 * Sets the factory which makes the thread for each robot (must be set before the simulation starts).
+	 * By default each robot runs on a virtual thread, which is cheap enough for thousands of robots
+	 * @param threadFactoryIn The factory to use
+	 */
+	public void setThreadFactory(ThreadFactory threadFactoryIn)
+	{
+		threadFactory = threadFactoryIn;
+	}//setThreadFactory
+	
+	/**
+	 * Stops the simulation early, each robot stops once it has finished its current step
+	 */
+	public void stopSimulation()
+	{
+		stopped = true;
+	}//stopSimulation
+	
+	/**
+	 * Gets the number of steps each robot has taken so far
+	 * @return The number of steps of each robot (in the order of the robots' numbers)
+	 */
+	public int[] getRobotSteps()
+	{
+		int[] robotSteps = new int[robots.length];
+		for(int a=0; a<robots.length; a++)
+		{
+			robotSteps[a] = robots[a].noOfSteps;
+		}//for
+		
+		return robotSteps;
+	}//getRobotSteps
+	
+	/**
+	 * Gets the total number of steps all of the robots have taken so far
+	 * @return The total number of steps
+	 */
+	public int getTotalSteps()
+	{
+		int totalSteps = 0;
+		for(int a=0; a<robots.length; a++)
+		{
+			totalSteps = totalSteps + robots[a].noOfSteps;
+		}//for
+		
+		return totalSteps;
+	}//getTotalSteps
+	
+	/**
+	 * Gets the number of robots which have taken a step so far (in a swarm, robots with nothing left to
+	 * head for stop without moving)
+	 * @return The number of robots which have moved
+	 */
+	public int getNoOfActiveRobots()
+	{
+		int noOfActiveRobots = 0;
+		for(int a=0; a<robots.length; a++)
+		{
+			if(robots[a].noOfSteps > 0)
+			{
+				noOfActiveRobots++;
+			}//if
+		}//for
+		
+		return noOfActiveRobots;
+	}//getNoOfActiveRobots
+	
+	/**
+	 * Adds a listener which will be told about every step the robots take from now on
+	 * @param listenerIn The listener to add
+	 */
+	public synchronized void addListener(SimulationListener listenerIn)
+	{
+		SimulationListener[] newListeners = Arrays.copyOf(listeners, listeners.length + 1);
+		newListeners[listeners.length] = listenerIn;
+		listeners = newListeners;
+	}//addListener
+	
+	/**
+	 * Sets the clock which paces the robots, so the simulation can be watched (must be set before the simulation starts)
+	 * @param clockIn The clock to use
+	 */
+	public void setClock(SimulationClock clockIn)
+	{
+		clock = clockIn;
+	}//setClock
+	
+	/**
+	 * Gets the clock which paces the robots
+	 * @return The clock being used
+	 */
+	public SimulationClock getClock()
+	{
+		return clock;
+	}//getClock
+	
+	/**
+	 * Sets how the robots choose their next unexplored point and plan the route to it (must be set before the
+	 * simulation starts)
+	 * @param routeSearchIn The way of searching to use
+	 */
+	public void setRouteSearch(RouteSearchEnum routeSearchIn)
+	{
+		routeSearch = routeSearchIn;
+	}//setRouteSearch
+	
+	/**
+	 * Gets how the robots choose their next unexplored point and plan the route to it
+	 * @return The way of searching being used
+	 */
+	public RouteSearchEnum getRouteSearch()
+	{
+		return routeSearch;
+	}//getRouteSearch
+	
+	/**
+	 * Sets how many planned routes are kept, so a robot asking for a route from the same point, facing the same
+	 * way, to the same target uses it again rather than searching for it (must be set before the simulation starts).
+	 * Routes repaired with D* Lite are never kept
+	 * @param routeCacheSizeIn The most routes kept, least recently used first out (0 to not keep any)
+	 */
+	public void setRouteCacheSize(int routeCacheSizeIn)
+	{
+		routeCacheSize = routeCacheSizeIn;
+	}//setRouteCacheSize
+	
+	/**
+	 * Gets the routes kept to be used again, which counts how often a route was found there
+	 * @return The route cache, or null if routes aren't kept (or the simulation hasn't started)
+	 */
+	public RouteCache getRouteCache()
+	{
+		return routeCache;
+	}//getRouteCache
+	
+	/**
+	 * Gets the width of the map
+	 * @return The width of the map (in squares)
+	 */
+	public int getWidth()
+	{
+		return coordinatesX;
+	}//getWidth
+	
+	/**
+	 * Gets the height of the map
+	 * @return The height of the map (in squares)
+	 */
+	public int getHeight()
+	{
+		return coordinatesY;
+	}//getHeight
+	
+	/**
+	 * Checks if there is an obstacle at a point of the real map (which the robots are exploring)
+	 * @param xCoordIn The X coordinate of the point
+	 * @param yCoordIn The Y coordinate of the point
+	 * @return True if there is an obstacle, false otherwise
+	 */
+	public boolean isObstacle(int xCoordIn, int yCoordIn)
+	{
+		return originalCoordinates.isObstacle(xCoordIn, yCoordIn);
+	}//isObstacle
+	
+	/**
+	 * Gets the real map the robots are exploring
+	 * @return The world map
+	 */
+	public WorldMap getWorldMap()
+	{
+		return originalCoordinates;
+	}//getWorldMap
+	
+	/**
+	 * Gets the map the robots have built up so far
+	 * @return The known map
+	 */
+	public KnownMap getKnownMap()
+	{
+		return knownMap;
+	}//getKnownMap
+	
+	/**
+	 * Gets the record of which points of the known map have changed since they were last collected, so a view
+	 * only has to redraw those points. Changes are only recorded once this has been called, so a simulation
+	 * without a view doesn't pay for them
+	 * @return The changed points of the known map
+	 */
+	public synchronized ChangedCells getChangedCells()
+	{
+		if(changedCells == null)
+		{
+			changedCells = new ChangedCells(knownMap);
+		}//if
+		
+		return changedCells;
+	}//getChangedCells
+	
+	/**
+	 * Gets the robots running in the simulation
+	 * @return The robots, indexed by their numbers
+	 */
+	public Robot[] getRobots()
+	{
+		return robots.clone();
+	}//getRobots
+	
+	/**
+	 * Gets the number of robots running in the simulation
+	 * @return The number of robots
+	 */
+	public int getNoOfRobots()
+	{
+		return robots.length;
+	}//getNoOfRobots
+	
+	/**
+	 * Tells all the listeners that a robot has taken a step
+	 * @param robotIn The robot that has moved
+	 */
+	private void fireRobotStepped(Robot robotIn)
+	{
+		SimulationListener[] currentListeners = listeners;
+		for(int a=0; a<currentListeners.length; a++)
+		{
+			currentListeners[a].robotStepped(robotIn);
+		}//for
+	}//fireRobotStepped
+	
+	/**
+	 * Prints out the number of steps a robot has travelled, once it has finished exploring
+	 * @param robotIn The robot that has finished exploring
+	 * @param noOfSteps The number of steps that robot took to explore
+	 */
+	public void endSimulation(Robot robotIn, int noOfSteps)
+	{
+		System.out.println("**** Thread Number: " + threadNumber);
+		System.out.println(robotIn.getName() + " steps = " + noOfSteps);
+		
+		SimulationListener[] currentListeners = listeners;
+		for(int a=0; a<currentListeners.length; a++)
+		{
+			currentListeners[a].robotFinished(robotIn, noOfSteps);
+		}//for
+	}//endSimulation
+	
+	/**
+	 * Controls the robot using the frontier based algorithm
+	 * @param robotIn the robot to be controlled
+	 * @param plannerIn the route planner owned by the robot's thread
+	 */
+	public void frontierAlgorithmLoop(Robot robotIn, RoutePlanner plannerIn)
+	{
+		boolean loop = true;
+		int robotStartXCoord = robotIn.getXCoord();
+		int robotStartYCoord = robotIn.getYCoord();
+		knownMap.setStatus(robotStartXCoord, robotStartYCoord, PointStatusEnum.OPEN);
+		boolean frontObstacle;
+		boolean leftObstacle;
+		boolean rightObstacle;
+		boolean previouslySearchedFront;
+		boolean previouslySearchedLeft;
+		boolean previouslySearchedRight;
+		//position of the next point of the current mapped path in the planner's route (-1 if there is no path)
+		int pathPosition = -1;
+		//index of the next point to go to (-1 if there isn't one)
+		int nextPoint = -1;
+		//the number of ticks to wait if there are only claimed frontier points, doubled each time there still are
+		int waitTicks = 1;
+		
+		while(loop && !stopped)
+		{
+			//Search area surrounding the robot (simulated ultrasonic sensors)
+			previouslySearchedFront = previouslySearchedFront(robotIn);
+			previouslySearchedLeft = previouslySearchedLeft(robotIn);
+			previouslySearchedRight = previouslySearchedRight(robotIn);
+			frontObstacle = obstacleInFront(robotIn);
+			leftObstacle = obstacleToLeft(robotIn);
+			rightObstacle = obstacleToRight(robotIn);
+			
+			//obstacles found since the route was planned may have changed it (only when routes are repaired with D* Lite)
+			int repairedPosition = repairRoute(robotIn);
+			if(repairedPosition != NOT_REPAIRED)
+			{
+				pathPosition = repairedPosition;
+				nextPoint = -1;
+			}//if
+			
+			if(nextPoint != -1)//if robot has a next point to go to
+			{
+				if(nextStepToPoint(robotIn, nextPoint % coordinatesX, nextPoint / coordinatesX))//move a step towards the next point
+				{
+					//if point is reached then remove it
+					nextPoint = -1;
+					if(pathPosition == -1 && !plannerIn.hasRouteLeft())
+					{
+						//the end of the path has been reached, so the target point is no longer needed
+						releaseClaim(robotIn);
+					}//if
+				}//if
+				
+				robotIn.noOfSteps ++;
+				
+				fireRobotStepped(robotIn);
+				
+				//wait for the other robots to take their step, and for the tick to end
+				clock.tick(robotIn.getNumber());
+			}//if
+			else if(pathPosition != -1)//if robot has a current mapped path to go along
+			{
+				//get the next point along that path (the path is followed from the end back to the start)
+				nextPoint = getRoutePoint(robotIn, plannerIn, pathPosition);
+				//move on past that point, once the path has no more points this becomes -1
+				pathPosition--;
+			}//else if
+			else if(plannerIn.hasRouteLeft())//if robot has got to the end of one leg of a hierarchical route
+			{
+				pathPosition = continueRoute(robotIn, plannerIn);
+			}//else if
+			else//finds the nearest unexplored point the robot can get to, along with the route to it
+			{
+				int target = findNextTarget(robotIn, plannerIn);
+				if(target == ONLY_CLAIMED)
+				{
+					//the other robots are heading for every point left, so wait for one to be found or released
+					for(int a=0; a<waitTicks && !stopped; a++)
+					{
+						clock.tick(robotIn.getNumber());
+					}//for
+					waitTicks = Math.min(waitTicks * 2, MAX_WAIT_TICKS);
+				}//if
+				else if(target == -1)//if all reachable points have been explored
+				{
+					loop = false;
+				}//else if
+				else
+				{
+					pathPosition = getRouteLength(robotIn, plannerIn)-1;
+					waitTicks = 1;
+				}//else
+			}//else
+		}//while
+	}//frontierAlgorithmLoop
+	
+	/**
+	 * Controls a robot using My Proprietary Algorithm
+	 * @param robotIn the robot to be controlled
+	 * @param plannerIn the route planner owned by the robot's thread
+	 */
+	public void proprietaryAlgorithmLoop(Robot robotIn, RoutePlanner plannerIn)
+	{
+		boolean loop = true;
+		int robotStartXCoord = robotIn.getXCoord();
+		int robotStartYCoord = robotIn.getYCoord();
+		knownMap.setStatus(robotStartXCoord, robotStartYCoord, PointStatusEnum.OPEN);
+		boolean frontObstacle;
+		boolean leftObstacle;
+		boolean rightObstacle;
+		boolean previouslySearchedFront;
+		boolean previouslySearchedLeft;
+		boolean previouslySearchedRight;
+		//position of the next point of the current mapped path in the planner's route (-1 if there is no path)
+		int pathPosition = -1;
+		//index of the next point to go to (-1 if there isn't one)
+		int nextPoint = -1;
+		//the number of ticks to wait if there are only claimed frontier points, doubled each time there still are
+		int waitTicks = 1;
+		
+		while(loop && !stopped)
+		{
+			//Search area surrounding the robot (simulated ultrasonic sensors)
+			previouslySearchedFront = previouslySearchedFront(robotIn);
+			previouslySearchedLeft = previouslySearchedLeft(robotIn);
+			previouslySearchedRight = previouslySearchedRight(robotIn);
+			frontObstacle = obstacleInFront(robotIn);
+			leftObstacle = obstacleToLeft(robotIn);
+			rightObstacle = obstacleToRight(robotIn);
+			
+			//obstacles found since the route was planned may have changed it (only when routes are repaired with D* Lite)
+			int repairedPosition = repairRoute(robotIn);
+			if(repairedPosition != NOT_REPAIRED)
+			{
+				pathPosition = repairedPosition;
+				nextPoint = -1;
+			}//if
+			
+			int robotXCoord = robotIn.getXCoord();
+			int robotYCoord = robotIn.getYCoord();
+			
+			if(nextPoint != -1)//if robot has a next point to go to
+			{
+				if(nextStepToPoint(robotIn, nextPoint % coordinatesX, nextPoint / coordinatesX))//move a step towards the next point
+				{
+					//if point is reached then remove it
+					nextPoint = -1;
+					if(pathPosition == -1 && !plannerIn.hasRouteLeft())
+					{
+						//the end of the path has been reached, so the target point is no longer needed
+						releaseClaim(robotIn);
+					}//if
+				}//if
+				
+				robotIn.noOfSteps ++;
+				
+				fireRobotStepped(robotIn);
+				
+				//wait for the other robots to take their step, and for the tick to end
+				clock.tick(robotIn.getNumber());
+			}//if
+			else if(pathPosition != -1)//if robot has a current mapped path to go along
+			{
+				//get the next point along that path (the path is followed from the end back to the start)
+				nextPoint = getRoutePoint(robotIn, plannerIn, pathPosition);
+				//move on past that point, once the path has no more points this becomes -1
+				pathPosition--;
+			}//else if
+			else if(plannerIn.hasRouteLeft())//if robot has got to the end of one leg of a hierarchical route
+			{
+				pathPosition = continueRoute(robotIn, plannerIn);
+			}//else if
+			else if(!leftObstacle && !previouslySearchedLeft)//if robot can turn left then it does
+			{
+				if(robotIn.getDirection().equals(DirectionEnum.NORTH))
+				{
+					nextPoint = (robotYCoord*coordinatesX) + robotXCoord-1;
+				}//if
+				else if(robotIn.getDirection().equals(DirectionEnum.EAST))
+				{
+					nextPoint = ((robotYCoord-1)*coordinatesX) + robotXCoord;
+				}//else if
+				else if(robotIn.getDirection().equals(DirectionEnum.SOUTH))
+				{
+					nextPoint = (robotYCoord*coordinatesX) + robotXCoord+1;
+				}//else if
+				else//robot facing west
+				{
+					nextPoint = ((robotYCoord+1)*coordinatesX) + robotXCoord;
+				}//else
+			}//if
+			else if(!frontObstacle && !previouslySearchedFront)//if robot can go forwards then it does
+			{
+				if(robotIn.getDirection().equals(DirectionEnum.NORTH))
+				{
+					nextPoint = ((robotYCoord-1)*coordinatesX) + robotXCoord;
+				}//if
+				else if(robotIn.getDirection().equals(DirectionEnum.EAST))
+				{
+					nextPoint = (robotYCoord*coordinatesX) + robotXCoord+1;
+				}//else if
+				else if(robotIn.getDirection().equals(DirectionEnum.SOUTH))
+				{
+					nextPoint = ((robotYCoord+1)*coordinatesX) + robotXCoord;
+				}//else if
+				else//robot facing west
+				{
+					nextPoint = (robotYCoord*coordinatesX) + robotXCoord-1;
+				}//else
+			}//else if
+			else if(!rightObstacle && !previouslySearchedRight)//if robot can turn right then it does
+			{
+				if(robotIn.getDirection().equals(DirectionEnum.NORTH))
+				{
+					nextPoint = (robotYCoord*coordinatesX) + robotXCoord+1;
+				}//if
+				else if(robotIn.getDirection().equals(DirectionEnum.EAST))
+				{
+					nextPoint = ((robotYCoord+1)*coordinatesX) + robotXCoord;
+				}//else if
+				else if(robotIn.getDirection().equals(DirectionEnum.SOUTH))
+				{
+					nextPoint = (robotYCoord*coordinatesX) + robotXCoord-1;
+				}//else if
+				else//robot facing west
+				{
+					nextPoint = ((robotYCoord-1)*coordinatesX) + robotXCoord;
+				}//else
+			}//else if
+			else//finds the nearest unexplored point the robot can get to, along with the route to it
+			{
+				int target = findNextTarget(robotIn, plannerIn);
+				if(target == ONLY_CLAIMED)
+				{
+					//the other robots are heading for every point left, so wait for one to be found or released
+					for(int a=0; a<waitTicks && !stopped; a++)
+					{
+						clock.tick(robotIn.getNumber());
+					}//for
+					waitTicks = Math.min(waitTicks * 2, MAX_WAIT_TICKS);
+				}//if
+				else if(target == -1)//if all reachable points have been explored
+				{
+					loop = false;
+				}//else if
+				else
+				{
+					pathPosition = getRouteLength(robotIn, plannerIn)-1;
+					waitTicks = 1;
+				}//else
+			}//else
+		}//while
+	}//proprietaryAlgorithmLoop
+	
+	/**
+	 * Checks if the point in front of the robot has been searched previously
+	 * @param robotIn The robot doing the exploration
+	 * @return True if the point has been searched, false otherwise
+	 */
+	public boolean previouslySearchedFront(Robot robotIn)
+	{
+		int robotXCoord = robotIn.getXCoord();
+		int robotYCoord = robotIn.getYCoord();
+		
+		if(robotIn.getDirection().equals(DirectionEnum.NORTH))
+		{
+			return previouslySearched(robotXCoord, robotYCoord-1);
+		}//if
+		else if(robotIn.getDirection().equals(DirectionEnum.EAST))
+		{
+			return previouslySearched(robotXCoord+1, robotYCoord);
+		}//else if
+		else if(robotIn.getDirection().equals(DirectionEnum.SOUTH))
+		{
+			return previouslySearched(robotXCoord, robotYCoord+1);
+		}//else if
+		else//facing west
+		{
+			return previouslySearched(robotXCoord-1, robotYCoord);
+		}//else
+	}//previouslySearchedFront
+	
+	/**
+	 * Checks if there is an obstacle present in front of the robot (simulates front ultrasonic sensor)
+	 * and if there isn't an obstacle adds the points around the searched point to the list of frontier points
+	 * @param robotIn The robot doing the exploration
+	 * @return True if there is an obstacle, false otherwise
+	 */
+	public boolean obstacleInFront(Robot robotIn)
+	{
+		int robotXCoord = robotIn.getXCoord();
+		int robotYCoord = robotIn.getYCoord();
+		
+		if(robotIn.getDirection().equals(DirectionEnum.NORTH))
+		{
+			return sensePoint(robotXCoord, robotYCoord-1);
+		}//if
+		else if(robotIn.getDirection().equals(DirectionEnum.EAST))
+		{
+			return sensePoint(robotXCoord+1, robotYCoord);
+		}//else if
+		else if(robotIn.getDirection().equals(DirectionEnum.SOUTH))
+		{
+			return sensePoint(robotXCoord, robotYCoord+1);
+		}//else if
+		else//facing west
+		{
+			return sensePoint(robotXCoord-1, robotYCoord);
+		}//else
+	}//obstacleInFront
+	
+	/**
+	 * Checks if the point to the left of the robot has been searched previously
+	 * @param robotIn The robot doing the exploration
+	 * @return True if the point has been searched, false otherwise
+	 */
+	public boolean previouslySearchedLeft(Robot robotIn)
+	{
+		int robotXCoord = robotIn.getXCoord();
+		int robotYCoord = robotIn.getYCoord();
+		
+		if(robotIn.getDirection().equals(DirectionEnum.NORTH))
+		{
+			return previouslySearched(robotXCoord-1, robotYCoord);
+		}//if
+		else if(robotIn.getDirection().equals(DirectionEnum.EAST))
+		{
+			return previouslySearched(robotXCoord, robotYCoord-1);
+		}//else if
+		else if(robotIn.getDirection().equals(DirectionEnum.SOUTH))
+		{
+			return previouslySearched(robotXCoord+1, robotYCoord);
+		}//else if
+		else//facing west
+		{
+			return previouslySearched(robotXCoord, robotYCoord+1);
+		}//else
+	}//previouslySearchedLeft
+	
+	/**
+	 * Checks if there is an obstacle present to the left of the robot (simulates front ultrasonic sensor)
+	 * and if there isn't an obstacle adds the points around the searched point to the list of frontier points
+	 * @param robotIn The robot doing the exploration
+	 * @return True if there is an obstacle, false otherwise
+	 */
+	public boolean obstacleToLeft(Robot robotIn)
+	{
+		int robotXCoord = robotIn.getXCoord();
+		int robotYCoord = robotIn.getYCoord();
+		
+		if(robotIn.getDirection().equals(DirectionEnum.NORTH))
+		{
+			return sensePoint(robotXCoord-1, robotYCoord);
+		}//if
+		else if(robotIn.getDirection().equals(DirectionEnum.EAST))
+		{
+			return sensePoint(robotXCoord, robotYCoord-1);
+		}//else if
+		else if(robotIn.getDirection().equals(DirectionEnum.SOUTH))
+		{
+			return sensePoint(robotXCoord+1, robotYCoord);
+		}//else if
+		else//facing west
+		{
+			return sensePoint(robotXCoord, robotYCoord+1);
+		}//else
+	}//obstacleToLeft
+	
+	/**
+	 * Checks if the point to the right of the robot has been searched previously
+	 * @param robotIn The robot doing the exploration
+	 * @return True if the point has been searched, false otherwise
+	 */
+	public boolean previouslySearchedRight(Robot robotIn)
+	{
+		int robotXCoord = robotIn.getXCoord();
+		int robotYCoord = robotIn.getYCoord();
+		
+		if(robotIn.getDirection().equals(DirectionEnum.NORTH))
+		{
+			return previouslySearched(robotXCoord+1, robotYCoord);
+		}//if
+		else if(robotIn.getDirection().equals(DirectionEnum.EAST))
+		{
+			return previouslySearched(robotXCoord, robotYCoord+1);
+		}//else if
+		else if(robotIn.getDirection().equals(DirectionEnum.SOUTH))
+		{
+			return previouslySearched(robotXCoord-1, robotYCoord);
+		}//else if
+		else//facing west
+		{
+			return previouslySearched(robotXCoord, robotYCoord-1);
+		}//else
+	}//previouslySearchedRight
+
+	/**
+	 * Checks if there is an obstacle present to the right of the robot (simulates front ultrasonic sensor)
+	 * and if there isn't an obstacle adds the points around the searched point to the list of frontier points
+	 * @param robotIn The robot doing the exploration
+	 * @return True if there is an obstacle, false otherwise
+	 */
+	public boolean obstacleToRight(Robot robotIn)
+	{
+		int robotXCoord = robotIn.getXCoord();
+		int robotYCoord = robotIn.getYCoord();
+		
+		if(robotIn.getDirection().equals(DirectionEnum.NORTH))
+		{
+			return sensePoint(robotXCoord+1, robotYCoord);
+		}//if
+		else if(robotIn.getDirection().equals(DirectionEnum.EAST))
+		{
+			return sensePoint(robotXCoord, robotYCoord+1);
+		}//else if
+		else if(robotIn.getDirection().equals(DirectionEnum.SOUTH))
+		{
+			return sensePoint(robotXCoord-1, robotYCoord);
+		}//else if
+		else//facing west
+		{
+			return sensePoint(robotXCoord, robotYCoord-1);
+		}//else
+	}//obstacleToRight
+	
+	/**
+	 * Checks if a point has been searched previously (it is on the map and isn't a frontier point)
+	 * @param xCoordIn The X coordinate of the point
+	 * @param yCoordIn The Y coordinate of the point
+	 * @return True if the point has been searched, false otherwise
+	 */
+	private boolean previouslySearched(int xCoordIn, int yCoordIn)
+	{
+		PointStatusEnum status = knownMap.getStatus(xCoordIn, yCoordIn);
+		
+		return status != null && status != PointStatusEnum.UNEXPLORED;
+	}//previouslySearched
+	
+	/**
+	 * Checks a point with one of the robots sensors and adds it to the searched coordinates. If there isn't an obstacle
+	 * the points around it are added to the list of frontier points (if they don't already exist)
+	 * @param xCoordIn The X coordinate of the point
+	 * @param yCoordIn The Y coordinate of the point
+	 * @return True if there is an obstacle, false otherwise
+	 */
+	private boolean sensePoint(int xCoordIn, int yCoordIn)
+	{
+		if(originalCoordinates.isObstacle(xCoordIn, yCoordIn))//there is an obstacle
+		{
+			//add to searched coordinates list
+			knownMap.setStatus(xCoordIn, yCoordIn, PointStatusEnum.OBSTACLE);
+			return true;
+		}//if
+		
+		//add to searched coordinates list
+		knownMap.setStatus(xCoordIn, yCoordIn, PointStatusEnum.OPEN);
+		
+		//add next unknown points if the don't already exist (the robot's own point is always known)
+		knownMap.addIfAbsent(xCoordIn, yCoordIn-1, PointStatusEnum.UNEXPLORED);
+		knownMap.addIfAbsent(xCoordIn+1, yCoordIn, PointStatusEnum.UNEXPLORED);
+		knownMap.addIfAbsent(xCoordIn, yCoordIn+1, PointStatusEnum.UNEXPLORED);
+		knownMap.addIfAbsent(xCoordIn-1, yCoordIn, PointStatusEnum.UNEXPLORED);
+		
+		//no obstacle found
+		return false;
+	}//sensePoint
+	
+	/**
+	 * Makes the robot take the next step towards a point (only used when the point is one square away 
+	 * from the robots current position). A step can be a move forwards, or a turn to the left/right of 90 degrees
+	 * @param robotIn The robot doing the exploration
+	 * @param targetXIn The X coordinate of the point the robot needs to get to 
+	 * (can only be one square away from the robots current position)
+	 * @param targetYIn The Y coordinate of the point the robot needs to get to
+	 * @return True if the point has been reached, false otherwise
+	 */
+	public boolean nextStepToPoint(Robot robotIn, int targetXIn, int targetYIn)
+	{
+		int robotXCoord = robotIn.getXCoord();
+		int robotYCoord = robotIn.getYCoord();
+		
+		if(robotIn.getDirection().equals(DirectionEnum.NORTH))
+		{
+			if(targetXIn > robotXCoord)//robot needs to head east
+			{
+				robotIn.turnRight();
+				return false;
+			}//if
+			else if(targetXIn < robotXCoord)//robot needs to head west
+			{
+				robotIn.turnLeft();
+				return false;
+			}//else if
+			else if(targetYIn > robotYCoord)//robot needs to head south
+			{
+				robotIn.turnLeft();
+				return false;
+			}//else if
+			else if(targetYIn < robotYCoord)//robot needs to head north
+			{
+				robotIn.moveForwards();
+				//robot has reached the point
+				return true;
+			}//else if
+			else//robot is already at the point
+			{
+				return true;
+			}//else
+		}//if
+		else if(robotIn.getDirection().equals(DirectionEnum.EAST))
+		{
+			if(targetXIn > robotXCoord)//robot needs to head east
+			{
+				robotIn.moveForwards();
+				//robot has reached the point
+				return true;
+			}//if
+			else if(targetXIn < robotXCoord)//robot needs to head west
+			{
+				robotIn.turnLeft();
+				return false;
+			}//else if
+			else if(targetYIn > robotYCoord)//robot needs to head south
+			{
+				robotIn.turnRight();
+				return false;
+			}//else if
+			else if(targetYIn < robotYCoord)//robot needs to head north
+			{
+				robotIn.turnLeft();
+				return false;
+			}//else if
+			else//robot is already at the point
+			{
+				return true;
+			}//else
+		}//else if
+		else if(robotIn.getDirection().equals(DirectionEnum.SOUTH))
+		{
+			if(targetXIn > robotXCoord)//robot needs to head east
+			{
+				robotIn.turnLeft();
+				return false;
+			}//if
+			else if(targetXIn < robotXCoord)//robot needs to head west
+			{
+				robotIn.turnRight();
+				return false;
+			}//else if
+			else if(targetYIn > robotYCoord)//robot needs to head south
+			{
+				robotIn.moveForwards();
+				//robot has reached the point
+				return true;
+			}//else if
+			else if(targetYIn < robotYCoord)//robot needs to head north
+			{
+				robotIn.turnLeft();
+				return false;
+			}//else if
+			else//robot is already at the point
+			{
+				return true;
+			}//else
+		}//else if
+		else//robot facing west
+		{
+			if(targetXIn > robotXCoord)//robot needs to head east
+			{
+				robotIn.turnLeft();
+				return false;
+			}//if
+			else if(targetXIn < robotXCoord)//robot needs to head west
+			{
+				robotIn.moveForwards();
+				//robot has reached the point
+				return true;
+			}//else if
+			else if(targetYIn > robotYCoord)//robot needs to head south
+			{
+				robotIn.turnLeft();
+				return false;
+			}//else if
+			else if(targetYIn < robotYCoord)//robot needs to head north
+			{
+				robotIn.turnRight();
+				return false;
+			}//else if
+			else//robot is already at the point
+			{
+				return true;
+			}//else
+		}//else
+	}//nextStepToPoint
+	
+	/**
+	 * Finds the closest unexplored (frontier) point to the robot. When the robots are coordinated the point
+	 * is claimed for the robot, and points claimed by other robots are skipped, as are points the robot can't
+	 * get to while other robots are still heading somewhere (one of them may be able to get there). Once no other
+	 * robot is, the points the robot can't get to are given as well, so they are set as obstacles
+	 * @param robotIn The robot doing the exploration
+	 * @param xCoordIn The X coordinate of the robots current position
+	 * @param yCoordIn The Y coordinate of the robots current position
+	 * @return The index of the closest unexplored point (y * coordinatesX + x), -1 if every point has been 
+	 * explored, or ONLY_CLAIMED if the points left are claimed by (or left to) other robots
+	 */
+	public int getClosestUnexploredPoint(Robot robotIn, int xCoordIn, int yCoordIn)
+	{
+		if(frontierIndex.isEmpty())//all points have been explored
+		{
+			releaseClaim(robotIn);
+			return -1;
+		}//if
+		
+		if(!coordinated)
+		{
+			return frontierIndex.findClosest(xCoordIn, yCoordIn);
+		}//if
+		
+		//Allows the robots to tell each other which square they are going to next
+		//by claiming it, which makes sure the other robots won't try and search it as well
+		int closestUnexploredPoint = frontierIndex.findClosest(xCoordIn, yCoordIn, frontierClaims, openRegions, 
+				robotIn.getNumber(), clock.getTicks());
+		if(closestUnexploredPoint == -1)
+		{
+			releaseClaim(robotIn);
+			if(frontierClaims.hasOtherClaims(robotIn.getNumber()))
+			{
+				return ONLY_CLAIMED;
+			}//if
+			closestUnexploredPoint = frontierIndex.findClosest(xCoordIn, yCoordIn, frontierClaims, null, 
+					robotIn.getNumber(), clock.getTicks());
+		}//if
+		
+		return closestUnexploredPoint;
+	}//getClosestUnexploredPoint
+	
+	/**
+	 * Finds the unexplored (frontier) point that is nearest to the robot by the route it would have to take,
+	 * and maps the route to it. Points the robot can't get to are never chosen, so no route search is wasted on
+	 * a point that looks close but is behind a wall. When the robots are coordinated the point is claimed for the
+	 * robot, and points claimed by other robots are skipped
+	 * @param robotIn The robot doing the exploration
+	 * @param plannerIn The route planner owned by the robot's thread, which the route is left in
+	 * @return The index of the point (y * coordinatesX + x), -1 if there are no frontier points the robot can
+	 * get to, or ONLY_CLAIMED if the robots are coordinated and other robots are still heading for frontier
+	 * points (the ones it can get to are all claimed, and the others may be explored by the robots that can get
+	 * to them)
+	 */
+	public int findNearestFrontierPoint(Robot robotIn, RoutePlanner plannerIn)
+	{
+		if(frontierIndex.isEmpty())//all points have been explored
+		{
+			releaseClaim(robotIn);
+			return -1;
+		}//if
+		
+		int nearestPoint = plannerIn.findNearestFrontier(robotIn.getXCoord(), robotIn.getYCoord(), 
+				robotIn.getDirection(), frontierClaims, robotIn.getNumber(), (frontierClaims == null) ? 0 : clock.getTicks());
+		if(nearestPoint == -1)
+		{
+			releaseClaim(robotIn);
+			return (frontierClaims == null || !frontierClaims.hasOtherClaims(robotIn.getNumber())) ? -1 : ONLY_CLAIMED;
+		}//if
+		
+		return nearestPoint;
+	}//findNearestFrontierPoint
+	
+	/**
+	 * Finds the next unexplored point for the robot to head for and maps the route to it, in the way set by
+	 * setRouteSearch. Otherwise the point closest in a straight line is chosen, and any point it
+	 * turns out the robot can't get to is set as an obstacle before the next closest is tried
+	 * @param robotIn The robot doing the exploration
+	 * @param plannerIn The route planner owned by the robot's thread, which the route is left in
+	 * @return The index of the point (y * coordinatesX + x), -1 if there are no unexplored points the robot can
+	 * get to (or the simulation has been stopped), or ONLY_CLAIMED if the points left are all claimed by other robots
+	 */
+	public int findNextTarget(Robot robotIn, RoutePlanner plannerIn)
+	{
+		if(routeSearch == RouteSearchEnum.WAVEFRONT)
+		{
+			return findNearestFrontierPoint(robotIn, plannerIn);
+		}//if
+		
+		while(!stopped)
+		{
+			int closestUnexploredPoint = getClosestUnexploredPoint(robotIn, robotIn.getXCoord(), robotIn.getYCoord());
+			if(closestUnexploredPoint == -1 || closestUnexploredPoint == ONLY_CLAIMED)//if there is nothing to head for
+			{
+				return closestUnexploredPoint;
+			}//if
+			if(mapRouteToPoint(robotIn, plannerIn, closestUnexploredPoint % coordinatesX, 
+					closestUnexploredPoint / coordinatesX))
+			{
+				return closestUnexploredPoint;
+			}//if
+		}//while
+		
+		return -1;
+	}//findNextTarget
+	
+	/**
+	 * Releases the point a robot has claimed, so other robots can head for it (only used when the robots are coordinated)
+	 * @param robotIn The robot doing the exploration
+	 */
+	private void releaseClaim(Robot robotIn)
+	{
+		if(frontierClaims != null)
+		{
+			frontierClaims.release(robotIn.getNumber());
+		}//if
+	}//releaseClaim
+	
+	/**
+	 * Maps a route from the robots current position to the target point (using jump point search, D* Lite or
+	 * hierarchical search if one has been set with setRouteSearch, or the A* path finding algorithm otherwise, and
+	 * using a route kept from before if setRouteCacheSize has been used). Apart from with D* Lite,
+	 * which routes through points that aren't known yet, a target that can't be reached from the robot's open
+	 * region is given up on straight away, without a search
+	 * @param robotIn The robot doing the exploration
+	 * @param plannerIn The route planner owned by the robot's thread, which the route is left in
+	 * @param targetXIn The X coordinate of the target point
+	 * @param targetYIn The Y coordinate of the target point
+	 * @return True if a route was found, false otherwise
+	 */
+	public boolean mapRouteToPoint(Robot robotIn, RoutePlanner plannerIn, int targetXIn, int targetYIn)
+	{
+		int robotXCoord = robotIn.getXCoord();
+		int robotYCoord = robotIn.getYCoord();
+		
+		IncrementalPlanner incrementalPlanner = incrementalPlanners[robotIn.getNumber()];
+		boolean found;
+		if(incrementalPlanner != null)
+		{
+			found = incrementalPlanner.planRoute(robotXCoord, robotYCoord, robotIn.getDirection(), targetXIn, targetYIn);
+		}//if
+		else if(!openRegions.canReach(robotXCoord, robotYCoord, targetXIn, targetYIn))
+		{
+			found = false;
+		}//else if
+		else if(routeCache != null && routeCache.getRoute(robotXCoord, robotYCoord, robotIn.getDirection(), 
+				targetXIn, targetYIn, plannerIn))
+		{
+			found = true;
+		}//else if
+		else
+		{
+			found = planRoute(robotIn, plannerIn, targetXIn, targetYIn);
+			//only whole routes are kept, not the first leg of a hierarchical route
+			if(found && routeCache != null && !plannerIn.hasRouteLeft())
+			{
+				routeCache.addRoute(robotXCoord, robotYCoord, robotIn.getDirection(), targetXIn, targetYIn, plannerIn);
+			}//if
+		}//else
+		
+		if(!found)
+		{
+			//no path found, set target point as an obstacle (so it won't be searched for again)
+			knownMap.setStatus(targetXIn, targetYIn, PointStatusEnum.OBSTACLE);
+			releaseClaim(robotIn);
+			return false;
+		}//if
+		
+		return true;
+	}//mapRouteToPoint
+	
+	/**
+	 * Searches for a route from the robots current position to the target point, with the search set with
+	 * setRouteSearch (or A* if it doesn't plan routes itself)
+	 * @param robotIn The robot doing the exploration
+	 * @param plannerIn The route planner owned by the robot's thread, which the route is left in
+	 * @param targetXIn The X coordinate of the target point
+	 * @param targetYIn The Y coordinate of the target point
+	 * @return True if a route was found, false otherwise
+	 */
+	private boolean planRoute(Robot robotIn, RoutePlanner plannerIn, int targetXIn, int targetYIn)
+	{
+		int robotXCoord = robotIn.getXCoord();
+		int robotYCoord = robotIn.getYCoord();
+		if(routeSearch == RouteSearchEnum.JUMP_POINT)
+		{
+			return plannerIn.findJumpPointRoute(robotXCoord, robotYCoord, robotIn.getDirection(), targetXIn, targetYIn);
+		}//if
+		else if(routeSearch == RouteSearchEnum.HIERARCHICAL)
+		{
+			return plannerIn.findHierarchicalRoute(robotXCoord, robotYCoord, robotIn.getDirection(), targetXIn, targetYIn);
+		}//else if
+		
+		return plannerIn.findRoute(robotXCoord, robotYCoord, robotIn.getDirection(), targetXIn, targetYIn);
+	}//planRoute
+	
+	/**
+	 * Moves a robot on to the next leg of the hierarchical route it is following, once it has got to the end of the
+	 * leg before (a new route to the target is planned if the map has changed so the leg can't be followed)
+	 * @param robotIn The robot doing the exploration
+	 * @param plannerIn The route planner owned by the robot's thread, which the route is left in
+	 * @return The position in the route of the next point to go to, or -1 if the target can no longer be reached
+	 */
+	private int continueRoute(Robot robotIn, RoutePlanner plannerIn)
+	{
+		if(!plannerIn.continueRoute(robotIn.getXCoord(), robotIn.getYCoord(), robotIn.getDirection()))
+		{
+			releaseClaim(robotIn);
+			return -1;
+		}//if
+		
+		return getRouteLength(robotIn, plannerIn)-1;
+	}//continueRoute
+	
+	/**
+	 * Repairs the route a robot is following with D* Lite, if obstacles have been found since it was planned that
+	 * change it. A route that can no longer get to its target is given up on, the same as in mapRouteToPoint
+	 * @param robotIn The robot doing the exploration
+	 * @return The position in the repaired route of the next point to go to (-1 if the robot is already at the end
+	 * of it, or there is no longer a route), or NOT_REPAIRED if the route hasn't changed (or the robot isn't
+	 * following a D* Lite route)
+	 */
+	private int repairRoute(Robot robotIn)
+	{
+		IncrementalPlanner incrementalPlanner = incrementalPlanners[robotIn.getNumber()];
+		if(incrementalPlanner == null || !incrementalPlanner.hasRoute())
+		{
+			return NOT_REPAIRED;
+		}//if
+		
+		int robotXCoord = robotIn.getXCoord();
+		int robotYCoord = robotIn.getYCoord();
+		if(incrementalPlanner.getPathPoint(0) == (robotYCoord * coordinatesX) + robotXCoord)
+		{
+			//the robot has got to the end of the route, so it no longer needs to be kept up to date
+			incrementalPlanner.endRoute();
+			return NOT_REPAIRED;
+		}//if
+		
+		if(!incrementalPlanner.repairRoute(robotXCoord, robotYCoord, robotIn.getDirection()))
+		{
+			return NOT_REPAIRED;
+		}//if
+		
+		if(incrementalPlanner.getPathLength() == 0)
+		{
+			//no path any more, set target point as an obstacle (so it won't be searched for again)
+			knownMap.setStatus(incrementalPlanner.getTargetX(), incrementalPlanner.getTargetY(), PointStatusEnum.OBSTACLE);
+		}//if
+		if(incrementalPlanner.getPathLength() < 2)
+		{
+			releaseClaim(robotIn);
+			return -1;
+		}//if
+		
+		//the last point of the route is where the robot already is
+		return incrementalPlanner.getPathLength()-2;
+	}//repairRoute
+	
+	/**
+	 * Gets the number of points in the route a robot is following
+	 * @param robotIn The robot doing the exploration
+	 * @param plannerIn The route planner owned by the robot's thread
+	 * @return The number of points in the route
+	 */
+	private int getRouteLength(Robot robotIn, RoutePlanner plannerIn)
+	{
+		IncrementalPlanner incrementalPlanner = incrementalPlanners[robotIn.getNumber()];
+		return (incrementalPlanner != null) ? incrementalPlanner.getPathLength() : plannerIn.getPathLength();
+	}//getRouteLength
+	
+	/**
+	 * Gets a point on the route a robot is following (the route starts from the end, see RoutePlanner.getPathPoint)
+	 * @param robotIn The robot doing the exploration
+	 * @param plannerIn The route planner owned by the robot's thread
+	 * @param positionIn The position of the point in the route
+	 * @return The index of the point (y * coordinatesX + x)
+	 */
+	private int getRoutePoint(Robot robotIn, RoutePlanner plannerIn, int positionIn)
+	{
+		IncrementalPlanner incrementalPlanner = incrementalPlanners[robotIn.getNumber()];
+		return (incrementalPlanner != null) ? incrementalPlanner.getPathPoint(positionIn) : plannerIn.getPathPoint(positionIn);
+	}//getRoutePoint
+	
+	/**
+	 * A thread that loops through the simulation algorithm, 1 instance of this thread is required per robot
+	 * @author Paul Monk
+	 * @version 12/03/2014
+	 */
+	public class SimulationLoopThread implements Runnable
+	{
+		private Robot robot;
+		boolean proprietaryAlgorithm;
+		public int noOfSteps;
+		//plans this robot's routes, reused for every route so planning doesn't create garbage
+		private RoutePlanner planner;
+		
+		/**
+		 * Sets up the thread
+		 * @param robotIn The robot this thread will control
+		 * @param proprietaryAlgorithmIn which algorithm the thread will run (true for proprietary, false for frontier)
+		 */
+		public SimulationLoopThread(Robot robotIn, boolean proprietaryAlgorithmIn)
+		{
+			robot = robotIn;
+			proprietaryAlgorithm = proprietaryAlgorithmIn;
+			planner = new RoutePlanner(knownMap, openLines);
+			if(routeSearch == RouteSearchEnum.D_STAR_LITE && IncrementalPlanner.canPlan(knownMap))
+			{
+				//maps too big for D* Lite have their routes planned with A* instead
+				incrementalPlanners[robotIn.getNumber()] = new IncrementalPlanner(knownMap);
+			}//if
+		}//simulationLoopThread
+		
+		/**
+		 * Runs the thread
+		 */
+		@Override
+		public void run()
+		{
+			clock.waitForTurn(robot.getNumber());
+			try
+			{
+				if(proprietaryAlgorithm)
+				{
+					proprietaryAlgorithmLoop(robot, planner);
+				}//if
+				else
+				{
+					frontierAlgorithmLoop(robot, planner);
+				}//else
+			}//try
+			finally
+			{
+				releaseClaim(robot);
+				//stop the other robots from waiting for this one
+				clock.finish(robot.getNumber());
+			}//finally
+			
+			noOfSteps = robot.noOfSteps;
+			endSimulation(robot, noOfSteps);
+		}//run
+	}//simulationLoopThread
+}//end
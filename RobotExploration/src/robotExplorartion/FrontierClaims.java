@@ -0,0 +1,197 @@
+package robotExplorartion;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lets robots claim the frontier points they are heading for, so several robots don't all head for the same point.
+ * Each point's claim is a single value (the owner and when the claim runs out) which is only changed with
+ * compare and set, so claiming and releasing points never locks. A robot holds at most one claim at a time:
+ * claiming a new point releases its old one. Claims run out after a number of ticks (the lease), so a point
+ * isn't lost if the robot that claimed it never gets there. The claims are held in 64 by 64 chunks which are only
+ * made once a point in them is claimed, so the table stays small on huge maps
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+public class FrontierClaims
+{
+	//Value of a point which isn't claimed
+	private static final long UNCLAIMED = 0;
+	
+	//The claim of each point: the owner's robot number + 1 in the top 32 bits
+	//and the tick the claim runs out in the bottom 32 bits (chunks are made when a point in them is first claimed)
+	private final ChunkedGrid<AtomicLongArray> claims;
+	private final int width;
+	//The point each robot has claimed (-1 if it hasn't claimed one), only changed by the robot itself
+	private final int[] robotClaims;
+	//The number of robots which have claimed a point
+	private final AtomicInteger noOfClaims = new AtomicInteger();
+	//The number of ticks a claim lasts
+	private final int leaseLength;
+	
+	/**
+	 * Makes an empty claim table
+	 * @param widthIn The width of the map (in squares)
+	 * @param heightIn The height of the map (in squares)
+	 * @param noOfRobotsIn The number of robots which can claim points
+	 * @param leaseLengthIn The number of ticks a claim lasts
+	 */
+	public FrontierClaims(int widthIn, int heightIn, int noOfRobotsIn, int leaseLengthIn)
+	{
+		claims = new ChunkedGrid<AtomicLongArray>(widthIn, heightIn, 
+				chunkIndex -> new AtomicLongArray(ChunkedGrid.POINTS_PER_CHUNK));
+		width = widthIn;
+		robotClaims = new int[noOfRobotsIn];
+		Arrays.fill(robotClaims, -1);
+		leaseLength = leaseLengthIn;
+	}//constructor
+	
+	/**
+	 * Checks if a point has been claimed by a different robot (and the claim hasn't run out)
+	 * @param pointIn The index of the point (y * width + x)
+	 * @param robotIn The number of the robot asking
+	 * @param tickIn The current tick
+	 * @return True if another robot holds the point, false otherwise
+	 */
+	public boolean isClaimedByOther(int pointIn, int robotIn, int tickIn)
+	{
+		AtomicLongArray chunk = claims.getChunk(getChunkIndex(pointIn));
+		if(chunk == null)
+		{
+			//nothing has been claimed in this part of the map
+			return false;
+		}//if
+		long claim = chunk.get(getOffset(pointIn));
+		
+		return claim != UNCLAIMED && getOwner(claim) != robotIn && !hasRunOut(claim, tickIn);
+	}//isClaimedByOther
+	
+	/**
+	 * Claims a point for a robot, releasing the point the robot claimed before. The claim fails if another robot
+	 * holds the point, but a claim that has run out can be taken over
+	 * @param pointIn The index of the point (y * width + x)
+	 * @param robotIn The number of the robot claiming the point
+	 * @param tickIn The current tick
+	 * @return True if the robot now holds the point, false if another robot holds it
+	 */
+	public boolean claim(int pointIn, int robotIn, int tickIn)
+	{
+		if(robotClaims[robotIn] != pointIn)
+		{
+			release(robotIn);
+		}//if
+		
+		long newClaim = ((long) (robotIn + 1) << 32) | ((tickIn + leaseLength) & 0xFFFFFFFFL);
+		AtomicLongArray chunk = claims.getOrMakeChunk(getChunkIndex(pointIn));
+		int offset = getOffset(pointIn);
+		long claim = chunk.get(offset);
+		
+		while(claim == UNCLAIMED || getOwner(claim) == robotIn || hasRunOut(claim, tickIn))
+		{
+			if(chunk.compareAndSet(offset, claim, newClaim))
+			{
+				if(robotClaims[robotIn] == -1)
+				{
+					noOfClaims.incrementAndGet();
+				}//if
+				robotClaims[robotIn] = pointIn;
+				return true;
+			}//if
+			claim = chunk.get(offset);
+		}//while
+		
+		return false;
+	}//claim
+	
+	/**
+	 * Releases the point a robot has claimed (if it still holds it)
+	 * @param robotIn The number of the robot
+	 */
+	public void release(int robotIn)
+	{
+		int point = robotClaims[robotIn];
+		if(point == -1)
+		{
+			return;
+		}//if
+		
+		robotClaims[robotIn] = -1;
+		noOfClaims.decrementAndGet();
+		//the chunk was made when the point was claimed
+		AtomicLongArray chunk = claims.getChunk(getChunkIndex(point));
+		int offset = getOffset(point);
+		long claim = chunk.get(offset);
+		while(claim != UNCLAIMED && getOwner(claim) == robotIn)
+		{
+			if(chunk.compareAndSet(offset, claim, UNCLAIMED))
+			{
+				return;
+			}//if
+			claim = chunk.get(offset);
+		}//while
+	}//release
+	
+	/**
+	 * Gets the point a robot has claimed
+	 * @param robotIn The number of the robot
+	 * @return The index of the point (y * width + x), or -1 if the robot hasn't claimed a point
+	 */
+	public int getClaimedPoint(int robotIn)
+	{
+		return robotClaims[robotIn];
+	}//getClaimedPoint
+	
+	/**
+	 * Checks if any robot other than the one asking has claimed a point (even if the claim has run out), so is
+	 * still heading somewhere and may yet find or give up frontier points
+	 * @param robotIn The number of the robot asking
+	 * @return True if another robot has claimed a point, false otherwise
+	 */
+	public boolean hasOtherClaims(int robotIn)
+	{
+		return noOfClaims.get() > ((robotClaims[robotIn] == -1) ? 0 : 1);
+	}//hasOtherClaims
+	
+	/**
+	 * Gets the index of the chunk of claims a point is in
+	 * @param pointIn The index of the point (y * width + x)
+	 * @return The index of the chunk
+	 */
+	private int getChunkIndex(int pointIn)
+	{
+		return claims.getChunkIndex(pointIn % width, pointIn / width);
+	}//getChunkIndex
+	
+	/**
+	 * Gets the position of a point's claim within its chunk
+	 * @param pointIn The index of the point (y * width + x)
+	 * @return The position of the claim in the chunk
+	 */
+	private int getOffset(int pointIn)
+	{
+		return ChunkedGrid.getOffset(pointIn % width, pointIn / width);
+	}//getOffset
+	
+	/**
+	 * Gets the robot which owns a claim
+	 * @param claimIn The claim
+	 * @return The number of the robot
+	 */
+	private int getOwner(long claimIn)
+	{
+		return (int) (claimIn >>> 32) - 1;
+	}//getOwner
+	
+	/**
+	 * Checks if a claim has run out
+	 * @param claimIn The claim
+	 * @param tickIn The current tick
+	 * @return True if the claim has run out, false otherwise
+	 */
+	private boolean hasRunOut(long claimIn, int tickIn)
+	{
+		//compared as a difference so the ticks can wrap around
+		return tickIn - (int) claimIn >= 0;
+	}//hasRunOut
+}//end
@@ -0,0 +1,357 @@
+package robotExplorartion;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps track of every unexplored (frontier) point on a known map, so the closest frontier point to a robot
+ * can be found without looking through the whole map. The frontier points are held as one bitset per row,
+ * which is updated whenever a point changes to or from unexplored.
+ *
+ * A bit can be left set for a short time if two robots change the same point at once, so every point
+ * found is checked against the known map before it is returned (and cleared if it is no longer a frontier point)
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+public class FrontierIndex implements KnownMapListener
+{
+	private final KnownMap knownMap;
+	private final int width;
+	private final int height;
+	//The number of 64 bit words needed to hold one row
+	private final int wordsPerRow;
+	//One bit per point, set if the point is a frontier point
+	private final AtomicLongArray bits;
+	//The number of frontier points in each row (so empty rows can be skipped)
+	private final AtomicIntegerArray rowCounts;
+	//The total number of frontier points
+	private final AtomicInteger count = new AtomicInteger();
+
+	/**
+	 * Makes an index of the frontier points of a known map and starts listening for changes to it
+	 * (the map must not have any frontier points yet)
+	 * @param knownMapIn The map to keep track of
+	 */
+	public FrontierIndex(KnownMap knownMapIn)
+	{
+		knownMap = knownMapIn;
+		width = knownMapIn.getWidth();
+		height = knownMapIn.getHeight();
+		wordsPerRow = (width + 63) >>> 6;
+		bits = new AtomicLongArray(wordsPerRow * height);
+		rowCounts = new AtomicIntegerArray(height);
+		knownMapIn.addListener(this);
+	}//constructor
+
+	/**
+	 * Updates the index when a point on the known map changes
+	 */
+	@Override
+	public void pointChanged(int x, int y, PointStatusEnum oldStatusIn, PointStatusEnum newStatusIn)
+	{
+		if(newStatusIn == PointStatusEnum.UNEXPLORED)
+		{
+			setBit(x, y);
+		}//if
+		else if(oldStatusIn == PointStatusEnum.UNEXPLORED)
+		{
+			clearBit(x, y);
+		}//else if
+	}//pointChanged
+
+	/**
+	 * Checks if there are any frontier points left
+	 * @return True if there are no frontier points (exploration has finished), false otherwise
+	 */
+	public boolean isEmpty()
+	{
+		return count.get() == 0;
+	}//isEmpty
+
+	/**
+	 * Gets the number of frontier points
+	 * @return The number of frontier points
+	 */
+	public int size()
+	{
+		return count.get();
+	}//size
+
+	/**
+	 * Finds the frontier point closest to a position (using the Manhattan distance). If several points are the
+	 * same distance away the one with the lowest X coordinate is picked, then the one with the lowest Y coordinate
+	 * @param xCoordIn The X coordinate of the position
+	 * @param yCoordIn The Y coordinate of the position
+	 * @return The index of the closest point (y * width + x), or -1 if there are no frontier points
+	 */
+	public int findClosest(int xCoordIn, int yCoordIn)
+	{
+		return findClosest(xCoordIn, yCoordIn, null, null, -1, 0);
+	}//findClosest
+	
+	/**
+	 * Finds the frontier point closest to a position which isn't claimed by another robot, and claims it
+	 * (ties are broken the same way as the other findClosest). Points that can't be reached from the position
+	 * can be skipped as well, so a robot doesn't claim a point only another robot can get to
+	 * @param xCoordIn The X coordinate of the position
+	 * @param yCoordIn The Y coordinate of the position
+	 * @param claimsIn The claims the robots have made (null if points aren't claimed)
+	 * @param regionsIn The open regions of the map, to skip points that can't be reached (null to not skip any)
+	 * @param robotIn The number of the robot searching
+	 * @param tickIn The current tick
+	 * @return The index of the closest point (y * width + x), or -1 if there are no frontier points left to claim
+	 */
+	public int findClosest(int xCoordIn, int yCoordIn, FrontierClaims claimsIn, OpenRegions regionsIn, int robotIn, 
+			int tickIn)
+	{
+		while(true)
+		{
+			int closest = findClosestUnclaimed(xCoordIn, yCoordIn, claimsIn, regionsIn, robotIn, tickIn);
+			
+			if(closest == -1 || claimsIn == null || claimsIn.claim(closest, robotIn, tickIn))
+			{
+				return closest;
+			}//if
+			//another robot claimed the point first, so search again
+		}//while
+	}//findClosest
+	
+	/**
+	 * Finds the frontier point closest to a position which isn't claimed by another robot (or can't be reached)
+	 * @param xCoordIn The X coordinate of the position
+	 * @param yCoordIn The Y coordinate of the position
+	 * @param claimsIn The claims the robots have made (null if points aren't claimed)
+	 * @param regionsIn The open regions of the map (null to not skip points that can't be reached)
+	 * @param robotIn The number of the robot searching
+	 * @param tickIn The current tick
+	 * @return The index of the closest point (y * width + x), or -1 if there isn't one
+	 */
+	private int findClosestUnclaimed(int xCoordIn, int yCoordIn, FrontierClaims claimsIn, OpenRegions regionsIn, 
+			int robotIn, int tickIn)
+	{
+		int bestDistance = Integer.MAX_VALUE;
+		int bestX = -1;
+		int bestY = -1;
+
+		//search the rows outwards from the position, until the rows are further away than the closest point found
+		for(int dy=0; dy<=bestDistance; dy++)
+		{
+			int above = yCoordIn - dy;
+			int below = yCoordIn + dy;
+
+			if(above < 0 && below >= height)
+			{
+				//no rows left to search
+				break;
+			}//if
+
+			for(int side=0; side<2; side++)
+			{
+				int y = (side == 0) ? above : below;
+				if(y < 0 || y >= height || (side == 1 && dy == 0) || rowCounts.get(y) == 0)
+				{
+					continue;
+				}//if
+
+				int x = closestInRow(y, xCoordIn, yCoordIn, claimsIn, regionsIn, robotIn, tickIn);
+				if(x == -1)
+				{
+					continue;
+				}//if
+
+				int distance = dy + Math.abs(x - xCoordIn);
+				if(distance < bestDistance || (distance == bestDistance && (x < bestX || (x == bestX && y < bestY))))
+				{
+					bestDistance = distance;
+					bestX = x;
+					bestY = y;
+				}//if
+			}//for
+		}//for
+
+		if(bestX == -1)
+		{
+			return -1;
+		}//if
+
+		return (bestY * width) + bestX;
+	}//findClosestUnclaimed
+
+	/**
+	 * Finds the frontier point in a row which is closest to an X coordinate (the lower X coordinate wins a tie),
+	 * skipping points claimed by other robots and points that can't be reached
+	 * @param yCoordIn The row to search
+	 * @param xCoordIn The X coordinate to search from
+	 * @param fromYIn The Y coordinate of the position being searched from
+	 * @param claimsIn The claims the robots have made (null if points aren't claimed)
+	 * @param regionsIn The open regions of the map (null to not skip points that can't be reached)
+	 * @param robotIn The number of the robot searching
+	 * @param tickIn The current tick
+	 * @return The X coordinate of the closest frontier point, or -1 if the row doesn't have any
+	 */
+	private int closestInRow(int yCoordIn, int xCoordIn, int fromYIn, FrontierClaims claimsIn, OpenRegions regionsIn, 
+			int robotIn, int tickIn)
+	{
+		while(true)
+		{
+			int left = (xCoordIn < 0) ? -1 : previousSetBit(yCoordIn, Math.min(xCoordIn, width - 1));
+			while(left != -1 && isSkipped(left, yCoordIn, xCoordIn, fromYIn, claimsIn, regionsIn, robotIn, tickIn))
+			{
+				left = (left == 0) ? -1 : previousSetBit(yCoordIn, left - 1);
+			}//while
+			
+			int right = (xCoordIn >= width) ? -1 : nextSetBit(yCoordIn, Math.max(xCoordIn, 0));
+			while(right != -1 && isSkipped(right, yCoordIn, xCoordIn, fromYIn, claimsIn, regionsIn, robotIn, tickIn))
+			{
+				right = (right == width - 1) ? -1 : nextSetBit(yCoordIn, right + 1);
+			}//while
+			int x;
+
+			if(left == -1 && right == -1)
+			{
+				return -1;
+			}//if
+			else if(left == -1)
+			{
+				x = right;
+			}//else if
+			else if(right == -1)
+			{
+				x = left;
+			}//else if
+			else
+			{
+				x = (xCoordIn - left <= right - xCoordIn) ? left : right;
+			}//else
+
+			if(knownMap.getStatus(x, yCoordIn) == PointStatusEnum.UNEXPLORED)
+			{
+				return x;
+			}//if
+
+			//the bit was left behind by two changes racing each other, remove it and search again
+			clearBit(x, yCoordIn);
+		}//while
+	}//closestInRow
+
+	/**
+	 * Checks if a frontier point should be passed over, because another robot has claimed it or it can't be
+	 * reached from the position being searched from
+	 * @param xIn The X coordinate of the point
+	 * @param yIn The Y coordinate of the point
+	 * @param fromXIn The X coordinate of the position being searched from
+	 * @param fromYIn The Y coordinate of the position being searched from
+	 * @param claimsIn The claims the robots have made (null if points aren't claimed)
+	 * @param regionsIn The open regions of the map (null to not skip points that can't be reached)
+	 * @param robotIn The number of the robot searching
+	 * @param tickIn The current tick
+	 * @return True if the point should be passed over, false otherwise
+	 */
+	private boolean isSkipped(int xIn, int yIn, int fromXIn, int fromYIn, FrontierClaims claimsIn, 
+			OpenRegions regionsIn, int robotIn, int tickIn)
+	{
+		return (claimsIn != null && claimsIn.isClaimedByOther((yIn * width) + xIn, robotIn, tickIn)) ||
+				(regionsIn != null && !regionsIn.canReach(fromXIn, fromYIn, xIn, yIn));
+	}//isSkipped
+
+	/**
+	 * Finds the first frontier point in a row at or after an X coordinate
+	 * @param yCoordIn The row to search
+	 * @param xCoordIn The X coordinate to start from
+	 * @return The X coordinate found, or -1 if there isn't one
+	 */
+	private int nextSetBit(int yCoordIn, int xCoordIn)
+	{
+		int rowStart = yCoordIn * wordsPerRow;
+		int wordIndex = xCoordIn >>> 6;
+		long word = bits.get(rowStart + wordIndex) & (-1L << (xCoordIn & 63));
+
+		while(true)
+		{
+			if(word != 0)
+			{
+				return (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+			}//if
+			wordIndex++;
+			if(wordIndex == wordsPerRow)
+			{
+				return -1;
+			}//if
+			word = bits.get(rowStart + wordIndex);
+		}//while
+	}//nextSetBit
+
+	/**
+	 * Finds the last frontier point in a row at or before an X coordinate
+	 * @param yCoordIn The row to search
+	 * @param xCoordIn The X coordinate to start from
+	 * @return The X coordinate found, or -1 if there isn't one
+	 */
+	private int previousSetBit(int yCoordIn, int xCoordIn)
+	{
+		int rowStart = yCoordIn * wordsPerRow;
+		int wordIndex = xCoordIn >>> 6;
+		long word = bits.get(rowStart + wordIndex) & (-1L >>> (63 - (xCoordIn & 63)));
+
+		while(true)
+		{
+			if(word != 0)
+			{
+				return (wordIndex << 6) + 63 - Long.numberOfLeadingZeros(word);
+			}//if
+			wordIndex--;
+			if(wordIndex < 0)
+			{
+				return -1;
+			}//if
+			word = bits.get(rowStart + wordIndex);
+		}//while
+	}//previousSetBit
+
+	/**
+	 * Marks a point as a frontier point
+	 * @param x The X coordinate of the point
+	 * @param y The Y coordinate of the point
+	 */
+	private void setBit(int x, int y)
+	{
+		int index = (y * wordsPerRow) + (x >>> 6);
+		long mask = 1L << (x & 63);
+		long word = bits.get(index);
+
+		while((word & mask) == 0)
+		{
+			if(bits.compareAndSet(index, word, word | mask))
+			{
+				rowCounts.incrementAndGet(y);
+				count.incrementAndGet();
+				return;
+			}//if
+			word = bits.get(index);
+		}//while
+	}//setBit
+
+	/**
+	 * Removes a point from the frontier points
+	 * @param x The X coordinate of the point
+	 * @param y The Y coordinate of the point
+	 */
+	private void clearBit(int x, int y)
+	{
+		int index = (y * wordsPerRow) + (x >>> 6);
+		long mask = 1L << (x & 63);
+		long word = bits.get(index);
+
+		while((word & mask) != 0)
+		{
+			if(bits.compareAndSet(index, word, word & ~mask))
+			{
+				rowCounts.decrementAndGet(y);
+				count.decrementAndGet();
+				return;
+			}//if
+			word = bits.get(index);
+		}//while
+	}//clearBit
+}//end
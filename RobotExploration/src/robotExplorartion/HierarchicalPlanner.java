@@ -0,0 +1,1239 @@
+package robotExplorartion;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Plans long routes across a known map with hierarchical path finding (HPA*), so a route across the whole explored
+ * area doesn't have to search every open point on the way. The map is split into clusters, one for each 64 by 64
+ * chunk. Wherever a run of open points on one side of the border between two clusters faces a run of open points
+ * on the other side, a route can cross, and the crossing point (transition) is placed in the middle of the run.
+ * Each point a route can enter a cluster at, along with the direction the robot faces as it enters, is a node of an
+ * abstract graph, and the graph has an edge from each node to every crossing out of the same cluster, costing as
+ * much as the cheapest route between them inside the cluster (with the same costs as the robot's movements, so
+ * turns are counted).
+ *
+ * A route is planned with A* on the abstract graph: from the start point to the crossings out of its cluster, along
+ * the edges, and from the nodes in the clusters around the target to the target itself. The start point is only
+ * joined to the crossings by an estimate of the cost at first, and the route out of its cluster through a crossing
+ * is searched for when A* gets to it, so only the crossings heading towards the target are searched. The route is
+ * refined into the points the robot moves through one leg (the part of it in one cluster) at a time, with a search
+ * that never leaves the cluster. Only the first leg is refined when the route is planned, and each of the others
+ * when the robot has got to the end of the one before it (see refineNextLeg). The route is never much more costly
+ * than the cheapest route, as it only differs in where it crosses the borders and in the estimates of A* being
+ * weighted up a little, so it follows one of the many routes on a grid that cost about the same.
+ *
+ * The planner listens to the known map, and moves on the version of the clusters where points have become, or
+ * stopped being, open (and marks the borders they are on). The crossings of a marked border are only worked out
+ * again when a search next reaches it, and the edges from a node only when a search next goes on from that node.
+ * The edges are then kept until the version of their cluster moves on, so the graph grows as the map is explored
+ * without any work being done for the parts of it no route goes through, or that haven't changed. The searches within
+ * a cluster use a bucket for each f score modulo 8 instead of a heap, as with a turn-aware estimate the f score of a
+ * point is never more than 6 above the f score of the point it was reached from. One planner is owned by each robot
+ * thread
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+public class HierarchicalPlanner implements KnownMapListener
+{
+	//The change in X and Y coordinates for a move in each direction (in the order of DirectionEnum)
+	private static final int[] X_STEPS = {0, 1, 0, -1};
+	private static final int[] Y_STEPS = {-1, 0, 1, 0};
+	//The cost of a move, indexed by how many quarter turns (clockwise) the robot has to make before moving
+	private static final int[] MOVE_COSTS = {1, 2, 3, 2};
+	//The cost of a route that can't be found (small enough that adding to it can't overflow)
+	private static final int INFINITY = Integer.MAX_VALUE / 4;
+	//The parent of a node reached straight from the start point
+	private static final int START = -1;
+	//The parent of a node joined to the start point by an estimate of the cost, before the route to it is searched for
+	private static final int START_ESTIMATE = -2;
+	//The borders each cluster owns: the one with the cluster to the east and the one with the cluster to the south
+	private static final int ACROSS = 0;
+	private static final int DOWN = 1;
+	//The flags marking which borders of a chunk have changed since their crossings were last worked out
+	private static final int ACROSS_CHANGED = 1;
+	private static final int DOWN_CHANGED = 2;
+	private static final int BORDERS_CHANGED = ACROSS_CHANGED | DOWN_CHANGED;
+	//The most transitions a border can have (one for each run of open points, with a point between each run)
+	private static final int MAX_TRANSITIONS = ChunkedGrid.CHUNK_SIZE / 2;
+	//Nodes are identified by the chunk index of the cluster owning their border, followed by the border (1 bit),
+	//the transition (5 bits) and which side of the border the node is on (1 bit, 0 for the owning cluster)
+	private static final int NODE_BITS = 7;
+	private static final int BORDER_BIT = NODE_BITS - 1;
+	private static final int NODES_PER_OWNER = 1 << NODE_BITS;
+	//The number of edges of a node whose edges haven't been worked out since its cluster last changed
+	private static final int EDGES_UNKNOWN = -1;
+	//The number of buckets the searches within a cluster keep their points in
+	private static final int BUCKETS = 8;
+	//The most nodes joined to the start point by an estimate that are searched for one at a time in a search of the
+	//abstract graph, before every state of the start point's cluster is searched for all of them at once
+	private static final int MAX_START_SEARCHES = 4;
+	//The estimates of the search of the abstract graph are weighted up by an eighth (2^-3), so of the many routes
+	//on a grid that cost about the same it follows one rather than trying each of them, and the route found never
+	//costs more than 9/8 of the cheapest route on the graph
+	private static final int ESTIMATE_WEIGHT_SHIFT = 3;
+
+	private final KnownMap knownMap;
+	private final int width;
+	//The clusters, made the first time a search reaches them
+	private final ChunkedGrid<Cluster> clusters;
+	//The number of clusters across the map
+	private final int clustersX;
+	//Which borders of each chunk have changed since their crossings were last worked out (set by any robot thread)
+	private final AtomicIntegerArray changes;
+	//How many times points have become, or stopped being, open in each chunk or the crossings on its borders have
+	//changed, so edges and open points worked out for an older version aren't used (moved on by any robot thread)
+	private final AtomicIntegerArray versions;
+	//The generation of the current search of the abstract graph
+	private int generation = 0;
+	//The open list of the abstract graph, a binary heap of nodes along with their keys: the f score in the high 32
+	//bits and INFINITY minus the g score in the low bits, so of the nodes with the same f score the one furthest
+	//along comes first (a node can be in it more than once, only the entry with the node's current g score counts)
+	private int[] heap = new int[64];
+	private long[] heapKeys = new long[64];
+	private int heapSize;
+	//The start point of the route being planned, the direction the robot faces there, and the cluster it is in
+	private int startX;
+	private int startY;
+	private int startDirection;
+	private int startCluster;
+	//The number of nodes joined to the start point by an estimate that have been searched for one at a time
+	private int noOfStartSearches;
+	//The target point of the route being planned
+	private int targetX;
+	private int targetY;
+	//The clusters holding the target and the points next to it, where a route can get to the target from
+	private final int[] goalClusters = new int[5];
+	private int noOfGoalClusters;
+	//Search information for each state (a point followed by a direction) of the cluster being searched
+	private final int[] stateStamps = new int[ChunkedGrid.POINTS_PER_CHUNK * 4];
+	private final int[] stateGScores = new int[ChunkedGrid.POINTS_PER_CHUNK * 4];
+	private final int[] stateParents = new int[ChunkedGrid.POINTS_PER_CHUNK * 4];
+	private int stateGeneration = 0;
+	//Which points of a cluster were open when every state of it was last searched, read once rather than for every
+	//state (only used while the cluster's version is the same)
+	private final boolean[] openPoints = new boolean[ChunkedGrid.POINTS_PER_CHUNK];
+	private int openPointsCluster = -1;
+	private int openPointsVersion;
+	//The top left point of the cluster being searched, and the point it is being searched for (-1 for every point)
+	private int regionX;
+	private int regionY;
+	private int goalX;
+	private int goalY;
+	//The state the goal was reached from in the last search of a cluster
+	private int goalParent;
+	//The open list of the search of a cluster, one stack of states for each f score modulo 8
+	private final int[][] buckets = new int[BUCKETS][256];
+	private final int[] bucketSizes = new int[BUCKETS];
+	private int noOfQueuedStates;
+	//The point each leg of the last route found starts from (the start point, and then the node the route enters
+	//each cluster at, y * width + x) and the direction the robot faces there, along with the next leg to refine
+	private int[] legPoints = new int[16];
+	private int[] legDirections = new int[16];
+	private int noOfLegs = 0;
+	private int nextLeg = 0;
+	//The leg refined last, from the point before the start of the next leg (or the target) back to its start point
+	private int[] path = new int[64];
+	private int pathLength = 0;
+
+	/**
+	 * Makes a planner for long routes across a known map
+	 * @param knownMapIn The map routes will be planned across
+	 */
+	public HierarchicalPlanner(KnownMap knownMapIn)
+	{
+		knownMap = knownMapIn;
+		width = knownMapIn.getWidth();
+		clusters = new ChunkedGrid<Cluster>(knownMapIn.getWidth(), knownMapIn.getHeight(), chunkIndex -> new Cluster());
+		clustersX = (knownMapIn.getWidth() + ChunkedGrid.CHUNK_SIZE - 1) >>> ChunkedGrid.CHUNK_SHIFT;
+		changes = new AtomicIntegerArray(clusters.getNoOfChunks());
+		versions = new AtomicIntegerArray(clusters.getNoOfChunks());
+		for(int a=0; a<clusters.getNoOfChunks(); a++)
+		{
+			//no crossings have been worked out for any cluster yet
+			changes.set(a, BORDERS_CHANGED);
+		}//for
+		knownMapIn.addListener(this);
+	}//constructor
+
+	/**
+	 * Checks if a route is long enough to be planned on the abstract graph: the target is further away than the
+	 * chunks next to the start point's chunk (shorter routes are planned as quickly by searching every point)
+	 * @param startXIn The X coordinate of the start point
+	 * @param startYIn The Y coordinate of the start point
+	 * @param targetXIn The X coordinate of the target point
+	 * @param targetYIn The Y coordinate of the target point
+	 * @return True if the route is long, false otherwise
+	 */
+	public static boolean isLongRoute(int startXIn, int startYIn, int targetXIn, int targetYIn)
+	{
+		return Math.abs((startXIn >> ChunkedGrid.CHUNK_SHIFT) - (targetXIn >> ChunkedGrid.CHUNK_SHIFT)) > 1 ||
+				Math.abs((startYIn >> ChunkedGrid.CHUNK_SHIFT) - (targetYIn >> ChunkedGrid.CHUNK_SHIFT)) > 1;
+	}//isLongRoute
+
+	/**
+	 * Moves on the version of the cluster a point is in (and marks the borders it is on) when the point becomes, or
+	 * stops being, open
+	 */
+	@Override
+	public void pointChanged(int x, int y, PointStatusEnum oldStatusIn, PointStatusEnum newStatusIn)
+	{
+		if((oldStatusIn == PointStatusEnum.OPEN) == (newStatusIn == PointStatusEnum.OPEN))
+		{
+			return;
+		}//if
+
+		int cluster = clusters.getChunkIndex(x, y);
+		versions.incrementAndGet(cluster);
+		int offsetX = x & (ChunkedGrid.CHUNK_SIZE - 1);
+		int offsetY = y & (ChunkedGrid.CHUNK_SIZE - 1);
+		//a point on the edge of a cluster changes the crossings on that border, and so the nodes on both sides of it
+		if(offsetX == ChunkedGrid.CHUNK_SIZE - 1 && clusters.inBounds(x + 1, y))
+		{
+			markChanged(cluster, ACROSS_CHANGED);
+			versions.incrementAndGet(clusters.getChunkIndex(x + 1, y));
+		}//if
+		if(offsetX == 0 && x > 0)
+		{
+			markChanged(clusters.getChunkIndex(x - 1, y), ACROSS_CHANGED);
+			versions.incrementAndGet(clusters.getChunkIndex(x - 1, y));
+		}//if
+		if(offsetY == ChunkedGrid.CHUNK_SIZE - 1 && clusters.inBounds(x, y + 1))
+		{
+			markChanged(cluster, DOWN_CHANGED);
+			versions.incrementAndGet(clusters.getChunkIndex(x, y + 1));
+		}//if
+		if(offsetY == 0 && y > 0)
+		{
+			markChanged(clusters.getChunkIndex(x, y - 1), DOWN_CHANGED);
+			versions.incrementAndGet(clusters.getChunkIndex(x, y - 1));
+		}//if
+	}//pointChanged
+
+	/**
+	 * Plans a route from a start point to a target point on the abstract graph, only travelling over open points,
+	 * and refines its first leg into the points the robot moves through (the other legs are refined with
+	 * refineNextLeg). The target point itself can have any status
+	 * @param startXIn The X coordinate of the start point
+	 * @param startYIn The Y coordinate of the start point
+	 * @param startDirectionIn The direction the robot is facing at the start point
+	 * @param targetXIn The X coordinate of the target point
+	 * @param targetYIn The Y coordinate of the target point
+	 * @return True if a route was found (its first leg can then be read with getPathLength and getPathPoint), false
+	 * otherwise (there is no route, or the map changed while the route was being refined)
+	 */
+	public boolean findRoute(int startXIn, int startYIn, DirectionEnum startDirectionIn, int targetXIn, int targetYIn)
+	{
+		pathLength = 0;
+		noOfLegs = 0;
+		nextLeg = 0;
+		if(startXIn == targetXIn && startYIn == targetYIn)
+		{
+			return true;
+		}//if
+
+		startSearch();
+		targetX = targetXIn;
+		targetY = targetYIn;
+		findGoalClusters();
+		int routeCost = INFINITY;
+		int lastNode = START;
+
+		//the start point is joined to the crossings out of its own cluster (and to the target, if it is close), so the
+		//cluster's own edges are only needed if the route comes back into it
+		startX = startXIn;
+		startY = startYIn;
+		startDirection = startDirectionIn.ordinal();
+		startCluster = clusters.getChunkIndex(startXIn, startYIn);
+		noOfStartSearches = 0;
+		updateBorders(startCluster);
+		if(isGoalCluster(startCluster))
+		{
+			routeCost = searchCluster(startCluster, startX, startY, startDirection, targetX, targetY);
+		}//if
+		for(int role=0; role<4; role++)
+		{
+			int owner = getBorderOwner(startCluster, role);
+			for(int transition=0; owner!=-1 && transition<clusters.getChunk(owner).noOfTransitions[role & 1]; transition++)
+			{
+				//the node on the other side of the border
+				estimateStartNode(getNode(owner, role, transition) ^ 1);
+			}//for
+		}//for
+
+		while(heapSize > 0 && (int) (heapKeys[0] >>> 32) < routeCost)
+		{
+			int fScore = (int) (heapKeys[0] >>> 32);
+			int node = poll();
+			int cluster = getNodeCluster(node);
+			updateBorders(cluster);
+			if(!isNode(node))
+			{
+				//the crossings have changed since the node was reached
+				continue;
+			}//if
+			int x = getNodeXCoord(node);
+			int y = getNodeYCoord(node);
+			int direction = getNodeDirection(node);
+			int gScore = clusters.getChunk(node >>> NODE_BITS).nodeGScores[node & (NODES_PER_OWNER - 1)];
+			if(gScore + estimateRouteCost(x, y, direction) != fScore)
+			{
+				//the node was reached for less after this entry was added
+				continue;
+			}//if
+			if(clusters.getChunk(node >>> NODE_BITS).nodeParents[node & (NODES_PER_OWNER - 1)] == START_ESTIMATE)
+			{
+				//only the estimate of the cost from the start point is known, so the real cost is found and the node
+				//goes back in the open list
+				searchStartNode(node);
+				continue;
+			}//if
+
+			if(isGoalCluster(cluster))
+			{
+				int cost = searchCluster(cluster, x, y, direction, targetX, targetY);
+				if(gScore + cost < routeCost)
+				{
+					routeCost = gScore + cost;
+					lastNode = node;
+				}//if
+				if(fScore >= routeCost)
+				{
+					//no route on from the node can be cheaper, so the cluster's edges aren't needed
+					continue;
+				}//if
+			}//if
+
+			Cluster currentCluster = updateCluster(cluster);
+			int slot = getSlot(node);
+			if(currentCluster.noOfEdges[slot] == EDGES_UNKNOWN)
+			{
+				findEdges(cluster, currentCluster, node);
+			}//if
+			int edgeEnd = currentCluster.edgeStarts[slot] + currentCluster.noOfEdges[slot];
+			for(int edge=currentCluster.edgeStarts[slot]; edge<edgeEnd; edge++)
+			{
+				if(isNode(currentCluster.edgeTargets[edge]))
+				{
+					reachNode(currentCluster.edgeTargets[edge], gScore + currentCluster.edgeCosts[edge], node);
+				}//if
+			}//for
+		}//while
+
+		if(routeCost == INFINITY)
+		{
+			//no path found to target point
+			return false;
+		}//if
+
+		setLegs(lastNode);
+		return refineNextLeg();
+	}//findRoute
+
+	/**
+	 * Refines the next leg of the last route found into the points the robot moves through, searching the cluster
+	 * the leg is in from the point it starts from to the point the next leg starts from (or the target). The first
+	 * leg is refined by findRoute, and each of the others should be refined once the robot has got to the end of the
+	 * one before it, so it is refined on the map as it is then
+	 * @return True if the leg was refined (it can then be read with getPathLength and getPathPoint), false if there
+	 * are no legs left or the map has changed so the cluster no longer has a route through it (the rest of the route
+	 * is then given up on)
+	 */
+	public boolean refineNextLeg()
+	{
+		pathLength = 0;
+		if(nextLeg == noOfLegs)
+		{
+			return false;
+		}//if
+
+		int leg = nextLeg++;
+		int fromX = legPoints[leg] % width;
+		int fromY = legPoints[leg] / width;
+		int legGoal = (nextLeg < noOfLegs) ? legPoints[nextLeg] : (targetY * width) + targetX;
+		//the legs after the first start at a node, which may have stopped being open since the route was planned
+		if((leg > 0 && knownMap.getStatus(fromX, fromY) != PointStatusEnum.OPEN) || searchCluster(
+				clusters.getChunkIndex(fromX, fromY), fromX, fromY, legDirections[leg], legGoal % width, legGoal / width) == INFINITY)
+		{
+			nextLeg = noOfLegs;
+			return false;
+		}//if
+
+		for(int state=goalParent; state!=-1; state=stateParents[state])
+		{
+			if(pathLength == path.length)
+			{
+				path = Arrays.copyOf(path, pathLength * 2);
+			}//if
+			path[pathLength++] = ((regionY + (state >>> (ChunkedGrid.CHUNK_SHIFT + 2))) * width) +
+					regionX + ((state >>> 2) & (ChunkedGrid.CHUNK_SIZE - 1));
+		}//for
+
+		return true;
+	}//refineNextLeg
+
+	/**
+	 * Checks if the last route found has legs left to refine with refineNextLeg
+	 * @return True if there are legs left, false otherwise
+	 */
+	public boolean hasNextLeg()
+	{
+		return nextLeg < noOfLegs;
+	}//hasNextLeg
+
+	/**
+	 * Gets the X coordinate of the target of the last route planned
+	 * @return The X coordinate
+	 */
+	public int getTargetXCoord()
+	{
+		return targetX;
+	}//getTargetXCoord
+
+	/**
+	 * Gets the Y coordinate of the target of the last route planned
+	 * @return The Y coordinate
+	 */
+	public int getTargetYCoord()
+	{
+		return targetY;
+	}//getTargetYCoord
+
+	/**
+	 * Gets the number of points in the leg of the last route found refined last
+	 * @return The number of points in the leg
+	 */
+	public int getPathLength()
+	{
+		return pathLength;
+	}//getPathLength
+
+	/**
+	 * Gets a point on the leg of the last route found refined last. The leg starts from the end: the last point is
+	 * its start point and the first point is the point next to the start of the next leg (or the target)
+	 * @param positionIn The position of the point in the leg
+	 * @return The index of the point on the map (y * width + x)
+	 */
+	public int getPathPoint(int positionIn)
+	{
+		return path[positionIn];
+	}//getPathPoint
+
+	/**
+	 * Sets out the legs of the route found on the abstract graph, following the nodes back to the start point
+	 * @param lastNodeIn The node the target was reached from (START if it was reached from the start point)
+	 */
+	private void setLegs(int lastNodeIn)
+	{
+		noOfLegs = 1;
+		for(int node=lastNodeIn; node!=START; node=clusters.getChunk(node >>> NODE_BITS).nodeParents[node & (NODES_PER_OWNER - 1)])
+		{
+			noOfLegs++;
+		}//for
+		if(legPoints.length < noOfLegs)
+		{
+			legPoints = new int[noOfLegs * 2];
+			legDirections = new int[noOfLegs * 2];
+		}//if
+
+		legPoints[0] = (startY * width) + startX;
+		legDirections[0] = startDirection;
+		int leg = noOfLegs;
+		for(int node=lastNodeIn; node!=START; node=clusters.getChunk(node >>> NODE_BITS).nodeParents[node & (NODES_PER_OWNER - 1)])
+		{
+			leg--;
+			legPoints[leg] = (getNodeYCoord(node) * width) + getNodeXCoord(node);
+			legDirections[leg] = getNodeDirection(node);
+		}//for
+		nextLeg = 0;
+	}//setLegs
+
+	/**
+	 * Searches the states of one cluster from a start state, without leaving the cluster, either for a goal point
+	 * (with A*) or for every state (with Dijkstra's algorithm). The goal point can have any status and can be just
+	 * outside the cluster. The search information is left in the state arrays, so the route can be followed back
+	 * from goalParent, or the cost of each state read. Searching every state reads which points of the cluster are
+	 * open first, if they haven't been read already, as most of them are looked at several times
+	 * @param clusterIn The chunk index of the cluster
+	 * @param startXIn The X coordinate of the start point (which must be in the cluster)
+	 * @param startYIn The Y coordinate of the start point
+	 * @param startDirectionIn The direction the robot is facing at the start point (DirectionEnum ordinal)
+	 * @param goalXIn The X coordinate of the goal point, or -1 to search every state
+	 * @param goalYIn The Y coordinate of the goal point, or -1 to search every state
+	 * @return The cost of the cheapest route to the goal point, or INFINITY if there isn't one (or every state
+	 * was searched)
+	 */
+	private int searchCluster(int clusterIn, int startXIn, int startYIn, int startDirectionIn, int goalXIn, int goalYIn)
+	{
+		stateGeneration++;
+		if(stateGeneration == 0)
+		{
+			//the generation number has wrapped around, so old stamps could match it
+			Arrays.fill(stateStamps, 0);
+			stateGeneration = 1;
+		}//if
+		Arrays.fill(bucketSizes, 0);
+		noOfQueuedStates = 0;
+		regionX = clusters.getChunkXCoord(clusterIn);
+		regionY = clusters.getChunkYCoord(clusterIn);
+		goalX = goalXIn;
+		goalY = goalYIn;
+		goalParent = -1;
+		if(startXIn == goalXIn && startYIn == goalYIn)
+		{
+			return 0;
+		}//if
+		//the version is read before the points, so any change while they are read moves it on
+		int version = versions.get(clusterIn);
+		if(goalXIn == -1 && (openPointsCluster != clusterIn || openPointsVersion != version))
+		{
+			for(int offset=0; offset<ChunkedGrid.POINTS_PER_CHUNK; offset++)
+			{
+				openPoints[offset] = knownMap.getStatus(regionX + (offset & (ChunkedGrid.CHUNK_SIZE - 1)), 
+						regionY + (offset >>> ChunkedGrid.CHUNK_SHIFT)) == PointStatusEnum.OPEN;
+			}//for
+			openPointsCluster = clusterIn;
+			openPointsVersion = version;
+		}//if
+		boolean useOpenPoints = openPointsCluster == clusterIn && openPointsVersion == version;
+
+		int goalCost = INFINITY;
+		int fScore = estimateClusterCost(startXIn, startYIn, startDirectionIn);
+		reachState(getState(startXIn, startYIn, startDirectionIn), 0, fScore, -1);
+		while(noOfQueuedStates > 0 && fScore < goalCost)
+		{
+			int bucket = fScore & (BUCKETS - 1);
+			if(bucketSizes[bucket] == 0)
+			{
+				fScore++;
+				continue;
+			}//if
+
+			int current = buckets[bucket][--bucketSizes[bucket]];
+			noOfQueuedStates--;
+			int currentX = regionX + ((current >>> 2) & (ChunkedGrid.CHUNK_SIZE - 1));
+			int currentY = regionY + (current >>> (ChunkedGrid.CHUNK_SHIFT + 2));
+			int currentDirection = current & 3;
+			int currentGScore = stateGScores[current];
+			if(currentGScore + estimateClusterCost(currentX, currentY, currentDirection) != fScore)
+			{
+				//the state was reached for less after this entry was added
+				continue;
+			}//if
+
+			for(int direction=0; direction<4; direction++)
+			{
+				int x = currentX + X_STEPS[direction];
+				int y = currentY + Y_STEPS[direction];
+				int gScore = currentGScore + MOVE_COSTS[(direction - currentDirection) & 3];
+				if(x == goalX && y == goalY)
+				{
+					if(gScore < goalCost)
+					{
+						goalCost = gScore;
+						goalParent = current;
+					}//if
+				}//if
+				else if(x >= regionX && y >= regionY && x < regionX + ChunkedGrid.CHUNK_SIZE &&
+						y < regionY + ChunkedGrid.CHUNK_SIZE && (useOpenPoints ? openPoints[ChunkedGrid.getOffset(x, y)] :
+						knownMap.getStatus(x, y) == PointStatusEnum.OPEN))
+				{
+					reachState(getState(x, y, direction), gScore, gScore + estimateClusterCost(x, y, direction), current);
+				}//else if
+			}//for
+		}//while
+
+		return goalCost;
+	}//searchCluster
+
+	/**
+	 * Adds a state of the cluster being searched to the open list, unless it has already been reached for as little
+	 * @param stateIn The state (its position in the cluster followed by its direction)
+	 * @param gScoreIn The cost to get to the state from the start state
+	 * @param fScoreIn The cost so far plus the estimated cost to the goal from the state
+	 * @param parentIn The state before this one (-1 for the start state)
+	 */
+	private void reachState(int stateIn, int gScoreIn, int fScoreIn, int parentIn)
+	{
+		if(stateStamps[stateIn] == stateGeneration && stateGScores[stateIn] <= gScoreIn)
+		{
+			return;
+		}//if
+
+		stateStamps[stateIn] = stateGeneration;
+		stateGScores[stateIn] = gScoreIn;
+		stateParents[stateIn] = parentIn;
+		int bucket = fScoreIn & (BUCKETS - 1);
+		if(bucketSizes[bucket] == buckets[bucket].length)
+		{
+			buckets[bucket] = Arrays.copyOf(buckets[bucket], bucketSizes[bucket] * 2);
+		}//if
+		buckets[bucket][bucketSizes[bucket]++] = stateIn;
+		noOfQueuedStates++;
+	}//reachState
+
+	/**
+	 * Gets the cost of leaving the cluster last searched from a point, after searching every state
+	 * @param xIn The X coordinate of the point
+	 * @param yIn The Y coordinate of the point
+	 * @param directionIn The direction of the move out of the cluster (DirectionEnum ordinal)
+	 * @return The cost of the cheapest route out of the cluster through the point, or INFINITY if there isn't one
+	 */
+	private int getExitCost(int xIn, int yIn, int directionIn)
+	{
+		int cost = INFINITY;
+		for(int direction=0; direction<4; direction++)
+		{
+			int state = getState(xIn, yIn, direction);
+			if(stateStamps[state] == stateGeneration)
+			{
+				cost = Math.min(cost, stateGScores[state] + MOVE_COSTS[(directionIn - direction) & 3]);
+			}//if
+		}//for
+
+		return cost;
+	}//getExitCost
+
+	/**
+	 * Estimates the cost from a node's point to the target for the search of the abstract graph, weighted up by an
+	 * eighth (so it can be more than the real cost)
+	 * @param xIn The X coordinate of the point
+	 * @param yIn The Y coordinate of the point
+	 * @param directionIn The direction the robot is facing at the point (DirectionEnum ordinal)
+	 * @return The weighted estimate
+	 */
+	private int estimateRouteCost(int xIn, int yIn, int directionIn)
+	{
+		int estimate = estimateCost(xIn, yIn, directionIn, targetX, targetY);
+		return estimate + (estimate >>> ESTIMATE_WEIGHT_SHIFT);
+	}//estimateRouteCost
+
+	/**
+	 * Estimates the cost from a point to the goal of the search of a cluster (0 when every state is being searched)
+	 * @param xIn The X coordinate of the point
+	 * @param yIn The Y coordinate of the point
+	 * @param directionIn The direction the robot is facing at the point (DirectionEnum ordinal)
+	 * @return The estimated cost
+	 */
+	private int estimateClusterCost(int xIn, int yIn, int directionIn)
+	{
+		return (goalX == -1) ? 0 : estimateCost(xIn, yIn, directionIn, goalX, goalY);
+	}//estimateClusterCost
+
+	/**
+	 * Estimates the cost from a point to a target point: the distance plus the fewest turns the robot could make
+	 * if there were no obstacles in the way (this is never more than the real cost)
+	 * @param xIn The X coordinate of the point
+	 * @param yIn The Y coordinate of the point
+	 * @param directionIn The direction the robot is facing at the point (DirectionEnum ordinal)
+	 * @param targetXIn The X coordinate of the target point
+	 * @param targetYIn The Y coordinate of the target point
+	 * @return The estimated cost
+	 */
+	private static int estimateCost(int xIn, int yIn, int directionIn, int targetXIn, int targetYIn)
+	{
+		int across = (targetXIn > xIn) ? DirectionEnum.EAST.ordinal() :
+				((targetXIn < xIn) ? DirectionEnum.WEST.ordinal() : -1);
+		int down = (targetYIn > yIn) ? DirectionEnum.SOUTH.ordinal() :
+				((targetYIn < yIn) ? DirectionEnum.NORTH.ordinal() : -1);
+		int turns;
+		if(across == -1 && down == -1)
+		{
+			turns = 0;
+		}//if
+		else if(across == -1 || down == -1)
+		{
+			//the target is straight ahead, to one side or behind
+			int towards = Math.max(across, down);
+			turns = (directionIn == towards) ? 0 : ((directionIn == ((towards + 2) & 3)) ? 2 : 1);
+		}//else if
+		else
+		{
+			//the robot has to go both across and down, turning at least once
+			turns = (directionIn == across || directionIn == down) ? 1 : 2;
+		}//else
+
+		return Math.abs(targetXIn - xIn) + Math.abs(targetYIn - yIn) + turns;
+	}//estimateCost
+
+	/**
+	 * Gets a state of the cluster being searched
+	 * @param xIn The X coordinate of the point (which must be in the cluster)
+	 * @param yIn The Y coordinate of the point
+	 * @param directionIn The direction the robot is facing (DirectionEnum ordinal)
+	 * @return The state (the point's position in the cluster followed by the direction)
+	 */
+	private static int getState(int xIn, int yIn, int directionIn)
+	{
+		return (ChunkedGrid.getOffset(xIn, yIn) << 2) | directionIn;
+	}//getState
+
+	/**
+	 * Brings the part of the abstract graph in a cluster up to date: the crossings on its four borders and then, if
+	 * the cluster's version has moved on since the edges of its nodes were worked out, forgets them (so they are
+	 * worked out again when needed)
+	 * @param clusterIn The chunk index of the cluster
+	 * @return The cluster
+	 */
+	private Cluster updateCluster(int clusterIn)
+	{
+		Cluster cluster = updateBorders(clusterIn);
+		//the version is read before any edges are worked out, so any change while they are moves it on
+		int version = versions.get(clusterIn);
+		if(cluster.edgesVersion != version)
+		{
+			Arrays.fill(cluster.noOfEdges, EDGES_UNKNOWN);
+			cluster.noOfEdgesUsed = 0;
+			cluster.edgesVersion = version;
+		}//if
+
+		return cluster;
+	}//updateCluster
+
+	/**
+	 * Brings the crossings on the four borders of a cluster up to date, if they haven't been already in this search
+	 * (so the nodes of the cluster don't change during the search, unless the map changes)
+	 * @param clusterIn The chunk index of the cluster
+	 * @return The cluster
+	 */
+	private Cluster updateBorders(int clusterIn)
+	{
+		Cluster cluster = clusters.getOrMakeChunk(clusterIn);
+		if(cluster.updateStamp == generation)
+		{
+			return cluster;
+		}//if
+
+		cluster.updateStamp = generation;
+		for(int role=0; role<4; role++)
+		{
+			int owner = getBorderOwner(clusterIn, role);
+			if(owner != -1)
+			{
+				updateBorder(owner, role & 1);
+			}//if
+		}//for
+
+		return cluster;
+	}//updateBorders
+
+	/**
+	 * Works out the crossings on a border again if it has changed, moving on the versions of the clusters on both
+	 * sides of it if the crossings are not the same as before (so their edges are worked out again)
+	 * @param ownerIn The chunk index of the cluster owning the border
+	 * @param borderIn ACROSS for the border with the cluster to the east, DOWN for the one with the cluster to the south
+	 */
+	private void updateBorder(int ownerIn, int borderIn)
+	{
+		Cluster owner = clusters.getOrMakeChunk(ownerIn);
+		if(takeChanges(ownerIn, (borderIn == ACROSS) ? ACROSS_CHANGED : DOWN_CHANGED) == 0)
+		{
+			return;
+		}//if
+
+		int x = clusters.getChunkXCoord(ownerIn);
+		int y = clusters.getChunkYCoord(ownerIn);
+		//the first point on the owning cluster's side of the border, and the step along it
+		int sideX = (borderIn == ACROSS) ? x + ChunkedGrid.CHUNK_SIZE - 1 : x;
+		int sideY = (borderIn == ACROSS) ? y : y + ChunkedGrid.CHUNK_SIZE - 1;
+		int stepX = (borderIn == ACROSS) ? 0 : 1;
+		int stepY = (borderIn == ACROSS) ? 1 : 0;
+		int acrossX = 1 - stepX;
+		int acrossY = 1 - stepY;
+
+		int[] transitions = owner.transitions[borderIn];
+		int oldNoOfTransitions = owner.noOfTransitions[borderIn];
+		int[] oldTransitions = Arrays.copyOf(transitions, oldNoOfTransitions);
+		int noOfTransitions = 0;
+		int runStart = -1;
+		for(int position=0; position<=ChunkedGrid.CHUNK_SIZE; position++)
+		{
+			int pointX = sideX + (position * stepX);
+			int pointY = sideY + (position * stepY);
+			boolean open = position < ChunkedGrid.CHUNK_SIZE &&
+					knownMap.getStatus(pointX, pointY) == PointStatusEnum.OPEN &&
+					knownMap.getStatus(pointX + acrossX, pointY + acrossY) == PointStatusEnum.OPEN;
+			if(open && runStart == -1)
+			{
+				runStart = position;
+			}//if
+			else if(!open && runStart != -1)
+			{
+				transitions[noOfTransitions++] = (runStart + position - 1) / 2;
+				runStart = -1;
+			}//else if
+		}//for
+		owner.noOfTransitions[borderIn] = noOfTransitions;
+
+		if(!Arrays.equals(oldTransitions, 0, oldNoOfTransitions, transitions, 0, noOfTransitions))
+		{
+			versions.incrementAndGet(ownerIn);
+			versions.incrementAndGet(clusters.getChunkIndex(sideX + acrossX, sideY + acrossY));
+		}//if
+	}//updateBorder
+
+	/**
+	 * Works out the edges from a node to every crossing out of its cluster, searching every state of the cluster
+	 * @param clusterIn The chunk index of the cluster the node is in
+	 * @param clusterInfoIn The cluster
+	 * @param nodeIn The node
+	 */
+	private void findEdges(int clusterIn, Cluster clusterInfoIn, int nodeIn)
+	{
+		int slot = getSlot(nodeIn);
+		clusterInfoIn.edgeStarts[slot] = clusterInfoIn.noOfEdgesUsed;
+		clusterInfoIn.noOfEdges[slot] = 0;
+		searchCluster(clusterIn, getNodeXCoord(nodeIn), getNodeYCoord(nodeIn), getNodeDirection(nodeIn), -1, -1);
+
+		for(int role=0; role<4; role++)
+		{
+			int owner = getBorderOwner(clusterIn, role);
+			for(int transition=0; owner!=-1 && transition<clusters.getChunk(owner).noOfTransitions[role & 1]; transition++)
+			{
+				int exit = getNode(owner, role, transition);
+				int cost = getExitCost(getNodeXCoord(exit), getNodeYCoord(exit), (getNodeDirection(exit) + 2) & 3);
+				//going straight back out where the robot came in is never part of the cheapest route
+				if(exit != nodeIn && cost < INFINITY)
+				{
+					int edge = clusterInfoIn.noOfEdgesUsed++;
+					if(edge == clusterInfoIn.edgeTargets.length)
+					{
+						clusterInfoIn.edgeTargets = Arrays.copyOf(clusterInfoIn.edgeTargets, edge * 2);
+						clusterInfoIn.edgeCosts = Arrays.copyOf(clusterInfoIn.edgeCosts, edge * 2);
+					}//if
+					//the edge goes to the node on the other side of the border
+					clusterInfoIn.edgeTargets[edge] = exit ^ 1;
+					clusterInfoIn.edgeCosts[edge] = cost;
+					clusterInfoIn.noOfEdges[slot]++;
+				}//if
+			}//for
+		}//for
+	}//findEdges
+
+	/**
+	 * Adds a node to the open list of the abstract graph, unless it has already been reached for as little
+	 * @param nodeIn The node
+	 * @param gScoreIn The cost to get to the node from the start point
+	 * @param parentIn The node before this one (START if it was reached straight from the start point)
+	 */
+	private void reachNode(int nodeIn, int gScoreIn, int parentIn)
+	{
+		Cluster owner = clusters.getChunk(nodeIn >>> NODE_BITS);
+		int index = nodeIn & (NODES_PER_OWNER - 1);
+		if(owner.nodeStamps[index] == generation && owner.nodeParents[index] == START_ESTIMATE)
+		{
+			//the estimate is less than the real cost from the start point, so that has to be found to compare with
+			searchStartNode(nodeIn);
+		}//if
+		if(owner.nodeStamps[index] == generation && owner.nodeGScores[index] <= gScoreIn)
+		{
+			return;
+		}//if
+
+		owner.nodeStamps[index] = generation;
+		owner.nodeGScores[index] = gScoreIn;
+		owner.nodeParents[index] = parentIn;
+		int fScore = gScoreIn + estimateRouteCost(getNodeXCoord(nodeIn), getNodeYCoord(nodeIn), getNodeDirection(nodeIn));
+		push(nodeIn, ((long) fScore << 32) | (INFINITY - gScoreIn));
+	}//reachNode
+
+	/**
+	 * Adds a node just outside the start point's cluster to the open list, with an estimate of the cost from the
+	 * start point that is never more than the real cost (so the route to it is only searched for if A* gets to it)
+	 * @param nodeIn The node
+	 */
+	private void estimateStartNode(int nodeIn)
+	{
+		Cluster owner = clusters.getChunk(nodeIn >>> NODE_BITS);
+		int index = nodeIn & (NODES_PER_OWNER - 1);
+		int x = getNodeXCoord(nodeIn);
+		int y = getNodeYCoord(nodeIn);
+		int gScore = estimateCost(startX, startY, startDirection, x, y);
+		owner.nodeStamps[index] = generation;
+		owner.nodeGScores[index] = gScore;
+		owner.nodeParents[index] = START_ESTIMATE;
+		int fScore = gScore + estimateRouteCost(x, y, getNodeDirection(nodeIn));
+		push(nodeIn, ((long) fScore << 32) | (INFINITY - gScore));
+	}//estimateStartNode
+
+	/**
+	 * Searches the start point's cluster for the cheapest route to a node only joined to the start point by an
+	 * estimate so far, and adds the node to the open list again with the real cost (if there is a route). As the
+	 * node is just outside the cluster, the only way the search can get to it is across the node's crossing. A
+	 * search that doesn't get to the node has searched every state it could get to, so the real costs of the other
+	 * nodes still joined by an estimate are found from it as well. Once MAX_START_SEARCHES nodes have been searched
+	 * for, every state of the cluster is searched instead, and the real costs of all of them found at once
+	 * @param nodeIn The node
+	 */
+	private void searchStartNode(int nodeIn)
+	{
+		if(noOfStartSearches < MAX_START_SEARCHES)
+		{
+			noOfStartSearches++;
+			int gScore = searchCluster(startCluster, startX, startY, startDirection, getNodeXCoord(nodeIn), getNodeYCoord(nodeIn));
+			if(gScore < INFINITY)
+			{
+				setStartNode(nodeIn, gScore);
+				return;
+			}//if
+		}//if
+		else
+		{
+			searchCluster(startCluster, startX, startY, startDirection, -1, -1);
+		}//else
+
+		for(int role=0; role<4; role++)
+		{
+			int owner = getBorderOwner(startCluster, role);
+			for(int transition=0; owner!=-1 && transition<clusters.getChunk(owner).noOfTransitions[role & 1]; transition++)
+			{
+				int exit = getNode(owner, role, transition);
+				int index = (exit ^ 1) & (NODES_PER_OWNER - 1);
+				if(clusters.getChunk(owner).nodeStamps[index] == generation && 
+						clusters.getChunk(owner).nodeParents[index] == START_ESTIMATE)
+				{
+					setStartNode(exit ^ 1, getExitCost(getNodeXCoord(exit), getNodeYCoord(exit), getNodeDirection(exit ^ 1)));
+				}//if
+			}//for
+		}//for
+	}//searchStartNode
+
+	/**
+	 * Sets the real cost from the start point of a node that was only joined to it by an estimate, and adds the
+	 * node to the open list again (if there is a route to it)
+	 * @param nodeIn The node
+	 * @param gScoreIn The cost of the cheapest route from the start point to the node (INFINITY if there isn't one)
+	 */
+	private void setStartNode(int nodeIn, int gScoreIn)
+	{
+		Cluster owner = clusters.getChunk(nodeIn >>> NODE_BITS);
+		int index = nodeIn & (NODES_PER_OWNER - 1);
+		owner.nodeGScores[index] = gScoreIn;
+		owner.nodeParents[index] = START;
+		if(gScoreIn < INFINITY)
+		{
+			int fScore = gScoreIn + estimateRouteCost(getNodeXCoord(nodeIn), getNodeYCoord(nodeIn), getNodeDirection(nodeIn));
+			push(nodeIn, ((long) fScore << 32) | (INFINITY - gScoreIn));
+		}//if
+	}//setStartNode
+
+	/**
+	 * Finds the clusters a route can get to the target from: the cluster holding it and those holding its neighbours
+	 */
+	private void findGoalClusters()
+	{
+		noOfGoalClusters = 0;
+		goalClusters[noOfGoalClusters++] = clusters.getChunkIndex(targetX, targetY);
+		for(int direction=0; direction<4; direction++)
+		{
+			int x = targetX + X_STEPS[direction];
+			int y = targetY + Y_STEPS[direction];
+			if(clusters.inBounds(x, y) && !isGoalCluster(clusters.getChunkIndex(x, y)))
+			{
+				goalClusters[noOfGoalClusters++] = clusters.getChunkIndex(x, y);
+			}//if
+		}//for
+	}//findGoalClusters
+
+	/**
+	 * Checks if a route can get to the target from a cluster
+	 * @param clusterIn The chunk index of the cluster
+	 * @return True if the cluster holds the target or one of its neighbours, false otherwise
+	 */
+	private boolean isGoalCluster(int clusterIn)
+	{
+		for(int a=0; a<noOfGoalClusters; a++)
+		{
+			if(goalClusters[a] == clusterIn)
+			{
+				return true;
+			}//if
+		}//for
+
+		return false;
+	}//isGoalCluster
+
+	/**
+	 * Gets the cluster owning one of the four borders of a cluster
+	 * @param clusterIn The chunk index of the cluster
+	 * @param roleIn Which border: 0 for the east border, 1 for the south border, 2 for the west border and 3 for
+	 * the north border (so the lowest bit is the border of the owning cluster, and the other bit the side it is on)
+	 * @return The chunk index of the owning cluster, or -1 if the cluster is on the edge of the map there
+	 */
+	private int getBorderOwner(int clusterIn, int roleIn)
+	{
+		int x = clusters.getChunkXCoord(clusterIn);
+		int y = clusters.getChunkYCoord(clusterIn);
+		if(roleIn == 0)
+		{
+			return clusters.inBounds(x + ChunkedGrid.CHUNK_SIZE, y) ? clusterIn : -1;
+		}//if
+		else if(roleIn == 1)
+		{
+			return clusters.inBounds(x, y + ChunkedGrid.CHUNK_SIZE) ? clusterIn : -1;
+		}//else if
+		else if(roleIn == 2)
+		{
+			return (x > 0) ? clusterIn - 1 : -1;
+		}//else if
+		else
+		{
+			return (y > 0) ? clusterIn - clustersX : -1;
+		}//else
+	}//getBorderOwner
+
+	/**
+	 * Gets the node at a transition of a border
+	 * @param ownerIn The chunk index of the cluster owning the border
+	 * @param roleIn The role of the border for the cluster the node is in (see getBorderOwner)
+	 * @param transitionIn The transition
+	 * @return The node
+	 */
+	private static int getNode(int ownerIn, int roleIn, int transitionIn)
+	{
+		return (ownerIn << NODE_BITS) | ((roleIn & 1) << BORDER_BIT) | (transitionIn << 1) | (roleIn >>> 1);
+	}//getNode
+
+	/**
+	 * Checks if a node is still one of the crossings of its border
+	 * @param nodeIn The node
+	 * @return True if the node's transition is still on the border, false otherwise
+	 */
+	private boolean isNode(int nodeIn)
+	{
+		return ((nodeIn >>> 1) & (MAX_TRANSITIONS - 1)) < clusters.getChunk(nodeIn >>> NODE_BITS).noOfTransitions[(nodeIn >>> BORDER_BIT) & 1];
+	}//isNode
+
+	/**
+	 * Gets the position of a node among the nodes of the cluster it is in (its role followed by its transition)
+	 * @param nodeIn The node
+	 * @return The slot of the node
+	 */
+	private static int getSlot(int nodeIn)
+	{
+		int role = ((nodeIn & 1) << 1) | ((nodeIn >>> BORDER_BIT) & 1);
+		return (role * MAX_TRANSITIONS) + ((nodeIn >>> 1) & (MAX_TRANSITIONS - 1));
+	}//getSlot
+
+	/**
+	 * Gets the cluster a node is in
+	 * @param nodeIn The node
+	 * @return The chunk index of the cluster
+	 */
+	private int getNodeCluster(int nodeIn)
+	{
+		int owner = nodeIn >>> NODE_BITS;
+		if((nodeIn & 1) == 0)
+		{
+			return owner;
+		}//if
+
+		return (((nodeIn >>> BORDER_BIT) & 1) == ACROSS) ? owner + 1 : owner + clustersX;
+	}//getNodeCluster
+
+	/**
+	 * Gets the X coordinate of a node's point
+	 * @param nodeIn The node
+	 * @return The X coordinate
+	 */
+	private int getNodeXCoord(int nodeIn)
+	{
+		int owner = nodeIn >>> NODE_BITS;
+		if(((nodeIn >>> BORDER_BIT) & 1) == ACROSS)
+		{
+			return clusters.getChunkXCoord(owner) + ChunkedGrid.CHUNK_SIZE - 1 + (nodeIn & 1);
+		}//if
+
+		return clusters.getChunkXCoord(owner) + clusters.getChunk(owner).transitions[DOWN][(nodeIn >>> 1) & (MAX_TRANSITIONS - 1)];
+	}//getNodeXCoord
+
+	/**
+	 * Gets the Y coordinate of a node's point
+	 * @param nodeIn The node
+	 * @return The Y coordinate
+	 */
+	private int getNodeYCoord(int nodeIn)
+	{
+		int owner = nodeIn >>> NODE_BITS;
+		if(((nodeIn >>> BORDER_BIT) & 1) == DOWN)
+		{
+			return clusters.getChunkYCoord(owner) + ChunkedGrid.CHUNK_SIZE - 1 + (nodeIn & 1);
+		}//if
+
+		return clusters.getChunkYCoord(owner) + clusters.getChunk(owner).transitions[ACROSS][(nodeIn >>> 1) & (MAX_TRANSITIONS - 1)];
+	}//getNodeYCoord
+
+	/**
+	 * Gets the direction the robot faces at a node, having just crossed the border into the node's cluster
+	 * @param nodeIn The node
+	 * @return The direction (DirectionEnum ordinal)
+	 */
+	private static int getNodeDirection(int nodeIn)
+	{
+		if(((nodeIn >>> BORDER_BIT) & 1) == ACROSS)
+		{
+			return ((nodeIn & 1) == 0) ? DirectionEnum.WEST.ordinal() : DirectionEnum.EAST.ordinal();
+		}//if
+
+		return ((nodeIn & 1) == 0) ? DirectionEnum.NORTH.ordinal() : DirectionEnum.SOUTH.ordinal();
+	}//getNodeDirection
+
+	/**
+	 * Marks something as changed in a chunk
+	 * @param clusterIn The chunk index
+	 * @param flagsIn The flags to set
+	 */
+	private void markChanged(int clusterIn, int flagsIn)
+	{
+		while(true)
+		{
+			int flags = changes.get(clusterIn);
+			if((flags | flagsIn) == flags || changes.compareAndSet(clusterIn, flags, flags | flagsIn))
+			{
+				return;
+			}//if
+		}//while
+	}//markChanged
+
+	/**
+	 * Clears flags of what has changed in a chunk, before the graph is worked out again there (so anything changed
+	 * while it is being worked out is marked again)
+	 * @param clusterIn The chunk index
+	 * @param flagsIn The flags to clear
+	 * @return The flags which were set
+	 */
+	private int takeChanges(int clusterIn, int flagsIn)
+	{
+		while(true)
+		{
+			int flags = changes.get(clusterIn);
+			if((flags & flagsIn) == 0 || changes.compareAndSet(clusterIn, flags, flags & ~flagsIn))
+			{
+				return flags & flagsIn;
+			}//if
+		}//while
+	}//takeChanges
+
+	/**
+	 * Starts a new search of the abstract graph by moving on to the next generation, so everything from the last
+	 * search is ignored
+	 */
+	private void startSearch()
+	{
+		generation++;
+		if(generation == 0)
+		{
+			//the generation number has wrapped around, so old stamps could match it
+			for(int a=0; a<clusters.getNoOfChunks(); a++)
+			{
+				Cluster cluster = clusters.getChunk(a);
+				if(cluster != null)
+				{
+					Arrays.fill(cluster.nodeStamps, 0);
+					cluster.updateStamp = 0;
+				}//if
+			}//for
+			generation = 1;
+		}//if
+		heapSize = 0;
+	}//startSearch
+
+	/**
+	 * Adds a node to the open list of the abstract graph
+	 * @param nodeIn The node
+	 * @param keyIn The key of the node (its f score in the high 32 bits)
+	 */
+	private void push(int nodeIn, long keyIn)
+	{
+		if(heapSize == heap.length)
+		{
+			heap = Arrays.copyOf(heap, heapSize * 2);
+			heapKeys = Arrays.copyOf(heapKeys, heapSize * 2);
+		}//if
+
+		int index = heapSize++;
+		while(index > 0 && keyIn < heapKeys[(index - 1) >>> 1])
+		{
+			int parentIndex = (index - 1) >>> 1;
+			heap[index] = heap[parentIndex];
+			heapKeys[index] = heapKeys[parentIndex];
+			index = parentIndex;
+		}//while
+		heap[index] = nodeIn;
+		heapKeys[index] = keyIn;
+	}//push
+
+	/**
+	 * Removes the node with the lowest f score from the open list of the abstract graph
+	 * @return The node
+	 */
+	private int poll()
+	{
+		int top = heap[0];
+		heapSize--;
+		int node = heap[heapSize];
+		long key = heapKeys[heapSize];
+		int index = 0;
+		while(true)
+		{
+			int childIndex = (index * 2) + 1;
+			if(childIndex >= heapSize)
+			{
+				break;
+			}//if
+			if(childIndex + 1 < heapSize && heapKeys[childIndex + 1] < heapKeys[childIndex])
+			{
+				childIndex++;
+			}//if
+			if(heapKeys[childIndex] >= key)
+			{
+				break;
+			}//if
+			heap[index] = heap[childIndex];
+			heapKeys[index] = heapKeys[childIndex];
+			index = childIndex;
+		}//while
+		heap[index] = node;
+		heapKeys[index] = key;
+
+		return top;
+	}//poll
+
+	/**
+	 * The part of the abstract graph held for one cluster: the crossings on the two borders it owns, the edges from
+	 * the nodes in it, and the search information for the nodes on its borders
+	 * @author Paul Monk
+	 * @version 12/03/2014
+	 */
+	private static class Cluster
+	{
+		//The positions along the borders with the clusters to the east (ACROSS) and south (DOWN) of each transition
+		final int[][] transitions = new int[2][MAX_TRANSITIONS];
+		final int[] noOfTransitions = new int[2];
+		//The generation of the last search the cluster was brought up to date in
+		int updateStamp = 0;
+		//The version of the cluster its edges were worked out for
+		int edgesVersion = -1;
+		//Where the edges from each node in the cluster (indexed by its slot) start in the edge arrays, and how many
+		//there are (EDGES_UNKNOWN until they have been worked out)
+		final int[] edgeStarts = new int[4 * MAX_TRANSITIONS];
+		final int[] noOfEdges = new int[4 * MAX_TRANSITIONS];
+		//The node at the end of each edge, and its cost, in the order they were worked out
+		int[] edgeTargets = new int[64];
+		int[] edgeCosts = new int[64];
+		int noOfEdgesUsed = 0;
+		//Search information for the nodes on the cluster's borders (indexed by the last 7 bits of the node, only valid
+		//where the stamp matches the current generation)
+		final int[] nodeStamps = new int[NODES_PER_OWNER];
+		final int[] nodeGScores = new int[NODES_PER_OWNER];
+		final int[] nodeParents = new int[NODES_PER_OWNER];
+
+		/**
+		 * Makes a cluster none of whose edges have been worked out
+		 */
+		Cluster()
+		{
+			Arrays.fill(noOfEdges, EDGES_UNKNOWN);
+		}//constructor
+	}//Cluster
+}//end
@@ -0,0 +1,1049 @@
+package robotExplorartion;
+
+import java.util.Arrays;
+
+/**
+ * Plans a robot's route to a target with D* Lite, keeping the search from one plan to the next so that when the
+ * robots find new obstacles only the part of the search they affect is worked out again, rather than the whole
+ * route being planned from scratch. One planner is owned by each robot thread.
+ *
+ * Points which haven't been found to be obstacles are assumed to be clear, so a route can go through points
+ * nobody has looked at yet. The search goes backwards from the target, over a point and the direction the robot
+ * faces there, with the same costs as the robot's movements (1 to move forwards, 2 for a 90 degree turn and a move
+ * forwards, 3 for two 90 degree turns and a move forwards). Each state keeps its cost to the target (g) and the
+ * cost worked out from its neighbours (rhs), and only states where the two differ are in the open list. When a
+ * point becomes an obstacle the states next to it have their rhs worked out again, and the search carries on
+ * until the robot's own state is right again. The estimate of the cost from the robot to a state counts the turns
+ * the robot would have to make as well as the distance, so on open maps the search stays close to the cheapest route.
+ * As the robot moves the keys of the open list would all change, so instead the estimated cost of the robot's
+ * moves is added to the keys of states put into the open list from then on. The keys already in the list can then
+ * be too low, and are put right one at a time as they reach the top; once a sixty-fourth of the list has been put
+ * right like this, every key is worked out again from where the robot is. A repair then takes out little more than the
+ * states the change affects, instead of every state whose out of date key is close to the robot's own.
+ *
+ * The planner listens to the known map, recording the points which become (or stop being) obstacles while it has
+ * a route, whichever robot found them; the changes are only applied on the robot's own thread, when the route is
+ * repaired. Like RoutePlanner, the search information is held in 64 by 64 chunks which are only made when the
+ * search first reaches them, with a generation stamp so the arrays never have to be cleared. When a new search
+ * starts the chunks the last search didn't reach are let go (a few are kept to be used again), so a planner only
+ * holds the chunks around its last two routes rather than every chunk it has ever searched
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+public class IncrementalPlanner implements KnownMapListener
+{
+	//The change in X and Y coordinates for a move in each direction (in the order of DirectionEnum)
+	private static final int[] X_STEPS = {0, 1, 0, -1};
+	private static final int[] Y_STEPS = {-1, 0, 1, 0};
+	//The cost of a move, indexed by how many quarter turns (clockwise) the robot has to make before moving
+	private static final int[] MOVE_COSTS = {1, 2, 3, 2};
+	//The cost of a state the target can't be reached from (small enough that adding to it can't overflow)
+	private static final int INFINITY = Integer.MAX_VALUE / 4;
+	//Value of a heap index for a state which isn't in the open list
+	private static final int NOT_IN_HEAP = -1;
+	//The search information held for each state in a chunk, in this order
+	private static final int STAMP = 0;
+	private static final int G_SCORE = 1;
+	private static final int RHS = 2;
+	private static final int HEAP_INDEX = 3;
+	private static final int FIELDS = 4;
+	//States are identified by their chunk index followed by their point's position in the chunk (12 bits) and
+	//the direction the robot faces (2 bits)
+	private static final int STATE_OFFSET_BITS = 14;
+	private static final int STATE_OFFSET_MASK = (1 << STATE_OFFSET_BITS) - 1;
+	//The most chunks a map can have for its states to be identified by an int
+	private static final int MAX_CHUNKS = 1 << (31 - STATE_OFFSET_BITS);
+	//Where a chunk holds the generation of the last search to reach it, after the search information of its states
+	private static final int CHUNK_GENERATION = ChunkedGrid.POINTS_PER_CHUNK * 4 * FIELDS;
+	//Every key in the open list is worked out again once the keys put right one at a time come to this share of
+	//it (as a shift, 6 for a sixty-fourth)
+	private static final int STALE_KEYS_SHIFT = 6;
+	//The most chunks the search no longer reaches which are kept to be used again, rather than let go
+	private static final int MAX_SPARE_CHUNKS = 4;
+	//The cost of the turns (and any extra moves) needed to get from one state to another on a map with no
+	//obstacles, over and above the distance between them. It only depends on the direction faced at each state and
+	//which side of the first point the second is on, indexed by [first direction][second direction][sign of the X
+	//distance + 1][sign of the Y distance + 1]
+	private static final int[][][][] TURN_COSTS = makeTurnCosts();
+
+	private final KnownMap knownMap;
+	private final int width;
+	//Search information for each state (only valid where the stamp matches the current generation)
+	private final ChunkedGrid<int[]> chunks;
+	private int generation = 0;
+	//True while the planner has a route, so the search is kept up to date
+	private boolean routing = false;
+	//Set while the changes to the map are being recorded (read by the robot threads which change the map)
+	private volatile boolean recording = false;
+	//The target point of the route
+	private int targetX = -1;
+	private int targetY = -1;
+	//Where the robot was, and the direction it faced, when the search was last brought up to date
+	private int lastX;
+	private int lastY;
+	private int lastDirection;
+	//The estimated cost of the robot's moves since the keys were all worked out, added to the first key of every state
+	private int keyModifier;
+	//The number of keys put right one at a time since the keys were all worked out
+	private int noOfStaleKeys;
+	//The open list, a binary heap of states along with their keys (the first key in the high 32 bits)
+	private int[] heap = new int[256];
+	private long[] heapKeys = new long[256];
+	private int heapSize;
+	//The points (y * width + x) which have become, or stopped being, obstacles since the changes were last applied
+	//(guarded by the planner's lock, as any robot thread can add to them)
+	private int[] changedPoints = new int[64];
+	private int noOfChangedPoints = 0;
+	//The points being applied, swapped with changedPoints so the lock is only held while swapping
+	private int[] appliedPoints = new int[64];
+	//The route, from the point before the target back to the start point
+	private int[] path = new int[64];
+	private int pathLength = 0;
+	//The indexes of the chunks which have been made, so the ones the search no longer reaches can be let go
+	private int[] madeChunks = new int[16];
+	private int noOfMadeChunks = 0;
+	//Chunks the search no longer reaches, kept to be used again (their stamps are all from earlier generations)
+	private final int[][] spareChunks = new int[MAX_SPARE_CHUNKS][];
+	private int noOfSpareChunks = 0;
+
+	/**
+	 * Makes a planner for routes across a known map (the map must have no more than 2^17 chunks, see canPlan)
+	 * @param knownMapIn The map routes will be planned across
+	 */
+	public IncrementalPlanner(KnownMap knownMapIn)
+	{
+		if(!canPlan(knownMapIn))
+		{
+			throw new IllegalArgumentException("The map is too big for its states to be numbered");
+		}//if
+
+		knownMap = knownMapIn;
+		width = knownMapIn.getWidth();
+		chunks = new ChunkedGrid<int[]>(knownMapIn.getWidth(), knownMapIn.getHeight(),
+				chunkIndex -> makeChunk());
+		knownMapIn.addListener(this);
+	}//constructor
+
+	/**
+	 * Checks if routes can be planned across a map, which needs every state to be identified by an int
+	 * (maps up to about 23000 by 23000 squares)
+	 * @param knownMapIn The map
+	 * @return True if the map is small enough, false otherwise
+	 */
+	public static boolean canPlan(KnownMap knownMapIn)
+	{
+		long noOfChunks = (long) ((knownMapIn.getWidth() + ChunkedGrid.CHUNK_SIZE - 1) >>> ChunkedGrid.CHUNK_SHIFT) *
+				((knownMapIn.getHeight() + ChunkedGrid.CHUNK_SIZE - 1) >>> ChunkedGrid.CHUNK_SHIFT);
+		return noOfChunks <= MAX_CHUNKS;
+	}//canPlan
+
+	/**
+	 * Records the points which become, or stop being, obstacles while the planner has a route
+	 */
+	@Override
+	public void pointChanged(int x, int y, PointStatusEnum oldStatusIn, PointStatusEnum newStatusIn)
+	{
+		if(!recording || (oldStatusIn == PointStatusEnum.OBSTACLE) == (newStatusIn == PointStatusEnum.OBSTACLE))
+		{
+			return;
+		}//if
+
+		synchronized(this)
+		{
+			if(noOfChangedPoints == changedPoints.length)
+			{
+				changedPoints = Arrays.copyOf(changedPoints, noOfChangedPoints * 2);
+			}//if
+			changedPoints[noOfChangedPoints++] = (y * width) + x;
+		}//synchronized
+	}//pointChanged
+
+	/**
+	 * Plans a route from a start point to a target point, through any point that isn't known to be an obstacle.
+	 * The target point itself can have any status. If the planner already has a route to the same target the
+	 * search is brought up to date rather than started again
+	 * @param startXIn The X coordinate of the start point
+	 * @param startYIn The Y coordinate of the start point
+	 * @param startDirectionIn The direction the robot is facing at the start point
+	 * @param targetXIn The X coordinate of the target point
+	 * @param targetYIn The Y coordinate of the target point
+	 * @return True if a route was found (it can then be read with getPathLength and getPathPoint, and is kept up
+	 * to date with repairRoute), false otherwise
+	 */
+	public boolean planRoute(int startXIn, int startYIn, DirectionEnum startDirectionIn, int targetXIn, int targetYIn)
+	{
+		pathLength = 0;
+		if(startXIn == targetXIn && startYIn == targetYIn)
+		{
+			endRoute();
+			return true;
+		}//if
+
+		if(!routing || targetXIn != targetX || targetYIn != targetY)
+		{
+			startSearch(startXIn, startYIn, startDirectionIn.ordinal(), targetXIn, targetYIn);
+		}//if
+		else
+		{
+			moveStart(startXIn, startYIn, startDirectionIn.ordinal());
+			applyChanges();
+		}//else
+
+		return planFrom(startXIn, startYIn, startDirectionIn.ordinal());
+	}//planRoute
+
+	/**
+	 * Applies the changes to the map found since the route was last planned, and plans the rest of the route again
+	 * from where the robot is now if any of them affect the search. Only the states next to the changed points are
+	 * worked out again, and the search only goes on as far as it has to for the robot's route to be right
+	 * @param startXIn The X coordinate of the robot's position
+	 * @param startYIn The Y coordinate of the robot's position
+	 * @param startDirectionIn The direction the robot is facing
+	 * @return True if the route was planned again (it can then be read with getPathLength and getPathPoint, and
+	 * is empty if there is no longer a route), false if nothing affecting it has changed (or there is no route)
+	 */
+	public boolean repairRoute(int startXIn, int startYIn, DirectionEnum startDirectionIn)
+	{
+		if(!routing)
+		{
+			return false;
+		}//if
+
+		moveStart(startXIn, startYIn, startDirectionIn.ordinal());
+		if(!applyChanges())
+		{
+			return false;
+		}//if
+
+		planFrom(startXIn, startYIn, startDirectionIn.ordinal());
+		return true;
+	}//repairRoute
+
+	/**
+	 * Checks if the planner has a route it is keeping up to date
+	 * @return True if it has a route, false otherwise
+	 */
+	public boolean hasRoute()
+	{
+		return routing;
+	}//hasRoute
+
+	/**
+	 * Stops keeping the route up to date, once the robot has got to the end of it (or given up on it)
+	 */
+	public void endRoute()
+	{
+		routing = false;
+		recording = false;
+	}//endRoute
+
+	/**
+	 * Gets the X coordinate of the target point of the last route planned
+	 * @return The X coordinate
+	 */
+	public int getTargetX()
+	{
+		return targetX;
+	}//getTargetX
+
+	/**
+	 * Gets the Y coordinate of the target point of the last route planned
+	 * @return The Y coordinate
+	 */
+	public int getTargetY()
+	{
+		return targetY;
+	}//getTargetY
+
+	/**
+	 * Gets the number of points in the route
+	 * @return The number of points in the route
+	 */
+	public int getPathLength()
+	{
+		return pathLength;
+	}//getPathLength
+
+	/**
+	 * Gets a point on the route. The route starts from the end: the last point is the start point and the first
+	 * point is the point next to the target
+	 * @param positionIn The position of the point in the route
+	 * @return The index of the point on the map (y * width + x)
+	 */
+	public int getPathPoint(int positionIn)
+	{
+		return path[positionIn];
+	}//getPathPoint
+
+	/**
+	 * Starts a new search towards a target, moving on to the next generation so everything from the last search
+	 * is ignored
+	 * @param startXIn The X coordinate of the start point
+	 * @param startYIn The Y coordinate of the start point
+	 * @param startDirectionIn The direction the robot is facing at the start point (DirectionEnum ordinal)
+	 * @param targetXIn The X coordinate of the target point
+	 * @param targetYIn The Y coordinate of the target point
+	 */
+	private void startSearch(int startXIn, int startYIn, int startDirectionIn, int targetXIn, int targetYIn)
+	{
+		releaseUnusedChunks();
+		generation++;
+		if(generation == 0)
+		{
+			//the generation number has wrapped around, so old stamps could match it
+			Arrays.fill(spareChunks, null);
+			noOfSpareChunks = 0;
+			for(int a=0; a<chunks.getNoOfChunks(); a++)
+			{
+				int[] chunk = chunks.getChunk(a);
+				for(int b=0; chunk!=null && b<ChunkedGrid.POINTS_PER_CHUNK * 4; b++)
+				{
+					chunk[(b * FIELDS) + STAMP] = 0;
+				}//for
+			}//for
+			generation = 1;
+		}//if
+		heapSize = 0;
+		keyModifier = 0;
+		noOfStaleKeys = 0;
+		lastX = startXIn;
+		lastY = startYIn;
+		lastDirection = startDirectionIn;
+		targetX = targetXIn;
+		targetY = targetYIn;
+		routing = true;
+
+		//changes made before the map is searched are seen in the map, any made after are recorded
+		recording = true;
+		synchronized(this)
+		{
+			noOfChangedPoints = 0;
+		}//synchronized
+
+		//the robot has got to the target whichever way it is facing
+		for(int direction=0; direction<4; direction++)
+		{
+			int goal = getState(targetXIn, targetYIn, direction);
+			touch(goal);
+			setField(goal, RHS, 0);
+			updateState(goal, targetXIn, targetYIn);
+		}//for
+	}//startSearch
+
+	/**
+	 * Lets go of the chunks the last search didn't reach (the generation hasn't moved on to the new search yet)
+	 */
+	private void releaseUnusedChunks()
+	{
+		int noOfKeptChunks = 0;
+		for(int a=0; a<noOfMadeChunks; a++)
+		{
+			int chunkIndex = madeChunks[a];
+			if(chunks.getChunk(chunkIndex)[CHUNK_GENERATION] == generation)
+			{
+				madeChunks[noOfKeptChunks++] = chunkIndex;
+			}//if
+			else
+			{
+				if(noOfSpareChunks < MAX_SPARE_CHUNKS)
+				{
+					spareChunks[noOfSpareChunks++] = chunks.getChunk(chunkIndex);
+				}//if
+				chunks.removeChunk(chunkIndex);
+			}//else
+		}//for
+		noOfMadeChunks = noOfKeptChunks;
+	}//releaseUnusedChunks
+
+	/**
+	 * Makes a chunk of search information, using a spare chunk if there is one
+	 * @return The chunk
+	 */
+	private int[] makeChunk()
+	{
+		if(noOfSpareChunks == 0)
+		{
+			return new int[CHUNK_GENERATION + 1];
+		}//if
+
+		int[] chunk = spareChunks[--noOfSpareChunks];
+		spareChunks[noOfSpareChunks] = null;
+		return chunk;
+	}//makeChunk
+
+	/**
+	 * Adds the estimated cost of the robot's moves since the search was last brought up to date to the keys of the
+	 * states put in the open list from now on (the keys already in it are then never too high)
+	 * @param startXIn The X coordinate of the robot's position
+	 * @param startYIn The Y coordinate of the robot's position
+	 * @param startDirectionIn The direction the robot is facing (DirectionEnum ordinal)
+	 */
+	private void moveStart(int startXIn, int startYIn, int startDirectionIn)
+	{
+		keyModifier += estimateCost(lastX, lastY, lastDirection, startXIn, startYIn, startDirectionIn);
+		lastX = startXIn;
+		lastY = startYIn;
+		lastDirection = startDirectionIn;
+	}//moveStart
+
+	/**
+	 * Works out the rhs again of every state next to a point that has become (or stopped being) an obstacle
+	 * @return True if the changes reached any state of the search, false otherwise
+	 */
+	private boolean applyChanges()
+	{
+		int[] points;
+		int noOfPoints;
+		synchronized(this)
+		{
+			points = changedPoints;
+			noOfPoints = noOfChangedPoints;
+			changedPoints = appliedPoints;
+			appliedPoints = points;
+			noOfChangedPoints = 0;
+		}//synchronized
+
+		boolean changed = false;
+		for(int a=0; a<noOfPoints; a++)
+		{
+			int x = points[a] % width;
+			int y = points[a] / width;
+			//a point that has been cleared can lower the cost of states the search hasn't reached yet
+			boolean cleared = !isBlocked(x, y);
+
+			//the moves out of the point itself, and into it from each neighbour
+			changed |= updateStates(x, y, cleared);
+			for(int direction=0; direction<4; direction++)
+			{
+				changed |= updateStates(x - X_STEPS[direction], y - Y_STEPS[direction], cleared);
+			}//for
+		}//for
+
+		return changed;
+	}//applyChanges
+
+	/**
+	 * Works out the rhs again of the states of a point (one for each direction the robot can face there)
+	 * @param xIn The X coordinate of the point
+	 * @param yIn The Y coordinate of the point
+	 * @param allIn True to work out states the search hasn't reached yet as well
+	 * @return True if any of the states had been reached by the search, false otherwise
+	 */
+	private boolean updateStates(int xIn, int yIn, boolean allIn)
+	{
+		if(!chunks.inBounds(xIn, yIn) || (xIn == targetX && yIn == targetY))
+		{
+			return false;
+		}//if
+
+		boolean reached = false;
+		for(int direction=0; direction<4; direction++)
+		{
+			int state = getState(xIn, yIn, direction);
+			boolean touched = isTouched(state);
+			if(touched || allIn)
+			{
+				touch(state);
+				setField(state, RHS, getBestCost(xIn, yIn, direction));
+				updateState(state, xIn, yIn);
+				reached |= touched;
+			}//if
+		}//for
+
+		return reached;
+	}//updateStates
+
+	/**
+	 * Carries on the search until the robot's state is right, then maps out the route from it
+	 * @param startXIn The X coordinate of the robot's position
+	 * @param startYIn The Y coordinate of the robot's position
+	 * @param startDirectionIn The direction the robot is facing (DirectionEnum ordinal)
+	 * @return True if there is a route, false otherwise (the planner then has no route)
+	 */
+	private boolean planFrom(int startXIn, int startYIn, int startDirectionIn)
+	{
+		int start = getState(startXIn, startYIn, startDirectionIn);
+		computeCosts(start, startXIn, startYIn);
+		if(!mapPath(startXIn, startYIn, startDirectionIn))
+		{
+			pathLength = 0;
+			endRoute();
+			return false;
+		}//if
+
+		return true;
+	}//planFrom
+
+	/**
+	 * Takes states out of the open list, lowest key first, until none of them could change the robot's cost
+	 * @param startIn The robot's state
+	 * @param startXIn The X coordinate of the robot's position
+	 * @param startYIn The Y coordinate of the robot's position
+	 */
+	private void computeCosts(int startIn, int startXIn, int startYIn)
+	{
+		while(heapSize > 0)
+		{
+			int startGScore = getField(startIn, G_SCORE);
+			int startRhs = getField(startIn, RHS);
+			if(heapKeys[0] >= getKey(Math.min(startGScore, startRhs), startXIn, startYIn, startIn & 3) && startRhs <= startGScore)
+			{
+				break;
+			}//if
+
+			int current = heap[0];
+			int currentX = getXCoord(current);
+			int currentY = getYCoord(current);
+			int currentDirection = current & 3;
+			int gScore = getField(current, G_SCORE);
+			int rhs = getField(current, RHS);
+			long newKey = getKey(Math.min(gScore, rhs), currentX, currentY, currentDirection);
+
+			if(heapKeys[0] < newKey)//the robot has moved since the state was put in the open list
+			{
+				heapKeys[0] = newKey;
+				noOfStaleKeys++;
+				if(noOfStaleKeys > (heapSize >>> STALE_KEYS_SHIFT))
+				{
+					//so many keys have been out of date that the rest are worth putting right all at once
+					rekeyHeap();
+				}//if
+				else
+				{
+					siftDown(0);
+				}//else
+			}//if
+			else if(gScore > rhs)//a cheaper way to the target has been found from this state
+			{
+				setField(current, G_SCORE, rhs);
+				removeEntry(0);
+				int fromX = currentX - X_STEPS[currentDirection];
+				int fromY = currentY - Y_STEPS[currentDirection];
+				for(int direction=0; direction<4 && chunks.inBounds(fromX, fromY); direction++)
+				{
+					int cost = getMoveCost(fromX, fromY, direction, currentDirection);
+					if(cost < INFINITY && !(fromX == targetX && fromY == targetY))
+					{
+						int from = getState(fromX, fromY, direction);
+						touch(from);
+						if(cost + rhs < getField(from, RHS))
+						{
+							setField(from, RHS, cost + rhs);
+							updateState(from, fromX, fromY);
+						}//if
+					}//if
+				}//for
+			}//else if
+			else//the way to the target from this state has got dearer
+			{
+				setField(current, G_SCORE, INFINITY);
+				updateState(current, currentX, currentY);
+				int fromX = currentX - X_STEPS[currentDirection];
+				int fromY = currentY - Y_STEPS[currentDirection];
+				for(int direction=0; direction<4 && chunks.inBounds(fromX, fromY); direction++)
+				{
+					int from = getState(fromX, fromY, direction);
+					if(isTouched(from) && !(fromX == targetX && fromY == targetY) &&
+							getField(from, RHS) == getMoveCost(fromX, fromY, direction, currentDirection) + gScore)
+					{
+						//the state's cheapest way to the target was through this one
+						setField(from, RHS, getBestCost(fromX, fromY, direction));
+						updateState(from, fromX, fromY);
+					}//if
+				}//for
+			}//else
+		}//while
+	}//computeCosts
+
+	/**
+	 * Maps out the route from the robot's state, always making the move with the lowest cost plus g score
+	 * @param startXIn The X coordinate of the robot's position
+	 * @param startYIn The Y coordinate of the robot's position
+	 * @param startDirectionIn The direction the robot is facing (DirectionEnum ordinal)
+	 * @return True if the route was mapped out, false if there isn't one
+	 */
+	private boolean mapPath(int startXIn, int startYIn, int startDirectionIn)
+	{
+		pathLength = 0;
+		int remaining = getField(getState(startXIn, startYIn, startDirectionIn), RHS);
+		int x = startXIn;
+		int y = startYIn;
+		int currentDirection = startDirectionIn;
+
+		while(remaining < INFINITY)
+		{
+			addToPath((y * width) + x);
+
+			int bestDirection = -1;
+			int bestCost = INFINITY;
+			int bestGScore = INFINITY;
+			for(int direction=0; direction<4; direction++)
+			{
+				int nextX = x + X_STEPS[direction];
+				int nextY = y + Y_STEPS[direction];
+				int gScore;
+				if(nextX == targetX && nextY == targetY)
+				{
+					gScore = 0;
+				}//if
+				else if(isBlocked(nextX, nextY))
+				{
+					continue;
+				}//else if
+				else
+				{
+					gScore = getField(getState(nextX, nextY, direction), G_SCORE);
+				}//else
+				int cost = MOVE_COSTS[(direction - currentDirection) & 3] + gScore;
+				if(cost < bestCost)
+				{
+					bestDirection = direction;
+					bestCost = cost;
+					bestGScore = gScore;
+				}//if
+			}//for
+
+			//the cost to the target has to go down with every move, or the search isn't finished
+			if(bestDirection == -1 || bestGScore >= remaining)
+			{
+				return false;
+			}//if
+			x += X_STEPS[bestDirection];
+			y += Y_STEPS[bestDirection];
+			if(x == targetX && y == targetY)
+			{
+				//the route is held from the end back to the start
+				for(int a=0, b=pathLength-1; a<b; a++, b--)
+				{
+					int point = path[a];
+					path[a] = path[b];
+					path[b] = point;
+				}//for
+				return true;
+			}//if
+			currentDirection = bestDirection;
+			remaining = bestGScore;
+		}//while
+
+		return false;
+	}//mapPath
+
+	/**
+	 * Adds a point to the end of the route
+	 * @param pointIn The index of the point on the map (y * width + x)
+	 */
+	private void addToPath(int pointIn)
+	{
+		if(pathLength == path.length)
+		{
+			path = Arrays.copyOf(path, pathLength * 2);
+		}//if
+		path[pathLength++] = pointIn;
+	}//addToPath
+
+	/**
+	 * Works out the lowest cost to the target from a state through any of its neighbours (its rhs)
+	 * @param xIn The X coordinate of the state's point
+	 * @param yIn The Y coordinate of the state's point
+	 * @param directionIn The direction the robot faces (DirectionEnum ordinal)
+	 * @return The lowest cost, or INFINITY if the target can't be reached from the state
+	 */
+	private int getBestCost(int xIn, int yIn, int directionIn)
+	{
+		int bestCost = INFINITY;
+		for(int direction=0; direction<4; direction++)
+		{
+			int cost = getMoveCost(xIn, yIn, directionIn, direction);
+			if(cost < INFINITY)
+			{
+				int gScore = getField(getState(xIn + X_STEPS[direction], yIn + Y_STEPS[direction], direction), G_SCORE);
+				bestCost = Math.min(bestCost, cost + gScore);
+			}//if
+		}//for
+
+		return Math.min(bestCost, INFINITY);
+	}//getBestCost
+
+	/**
+	 * Gets the cost of a move from one state to the next point in a direction
+	 * @param xIn The X coordinate of the point moved from
+	 * @param yIn The Y coordinate of the point moved from
+	 * @param fromDirectionIn The direction the robot faces before the move (DirectionEnum ordinal)
+	 * @param directionIn The direction of the move (DirectionEnum ordinal)
+	 * @return The cost, or INFINITY if either point is an obstacle (the target can have any status)
+	 */
+	private int getMoveCost(int xIn, int yIn, int fromDirectionIn, int directionIn)
+	{
+		int x = xIn + X_STEPS[directionIn];
+		int y = yIn + Y_STEPS[directionIn];
+		if(isBlocked(xIn, yIn) || (!(x == targetX && y == targetY) && isBlocked(x, y)))
+		{
+			return INFINITY;
+		}//if
+
+		return MOVE_COSTS[(directionIn - fromDirectionIn) & 3];
+	}//getMoveCost
+
+	/**
+	 * Checks if the robot can't go through a point
+	 * @param x The X coordinate of the point
+	 * @param y The Y coordinate of the point
+	 * @return True if the point is outside the map or known to be an obstacle, false otherwise
+	 */
+	private boolean isBlocked(int x, int y)
+	{
+		return !knownMap.inBounds(x, y) || knownMap.getStatus(x, y) == PointStatusEnum.OBSTACLE;
+	}//isBlocked
+
+	/**
+	 * Puts a state in the open list if its g score and rhs differ, and takes it out (or moves it) otherwise
+	 * @param stateIn The identifier of the state
+	 * @param xIn The X coordinate of the state's point
+	 * @param yIn The Y coordinate of the state's point
+	 */
+	private void updateState(int stateIn, int xIn, int yIn)
+	{
+		int gScore = getField(stateIn, G_SCORE);
+		int rhs = getField(stateIn, RHS);
+		int heapIndex = getField(stateIn, HEAP_INDEX);
+
+		if(gScore != rhs)
+		{
+			long key = getKey(Math.min(gScore, rhs), xIn, yIn, stateIn & 3);
+			if(heapIndex == NOT_IN_HEAP)
+			{
+				push(stateIn, key);
+			}//if
+			else
+			{
+				heapKeys[heapIndex] = key;
+				siftUp(heapIndex);
+				siftDown(heapIndex);
+			}//else
+		}//if
+		else if(heapIndex != NOT_IN_HEAP)
+		{
+			removeEntry(heapIndex);
+		}//else if
+	}//updateState
+
+	/**
+	 * Works out the key of a state in the open list: the first key is its cost plus the estimated cost of getting
+	 * to it from the robot (plus the estimated cost of the robot's moves so far), and the second, for breaking
+	 * ties, is its cost
+	 * @param costIn The lower of the state's g score and rhs
+	 * @param xIn The X coordinate of the state's point
+	 * @param yIn The Y coordinate of the state's point
+	 * @param directionIn The direction the robot faces at the state (DirectionEnum ordinal)
+	 * @return Both keys, with the first in the high 32 bits
+	 */
+	private long getKey(int costIn, int xIn, int yIn, int directionIn)
+	{
+		long firstKey = costIn + estimateCost(lastX, lastY, lastDirection, xIn, yIn, directionIn) + keyModifier;
+		return (firstKey << 32) | costIn;
+	}//getKey
+
+	/**
+	 * Estimates the cost of getting from one state to another, as the cost there would be if the map had no
+	 * obstacles. This is never more than the real cost, and going through a third state never makes it less, as
+	 * D* Lite needs
+	 * @param fromXIn The X coordinate of the first state's point
+	 * @param fromYIn The Y coordinate of the first state's point
+	 * @param fromDirectionIn The direction the robot faces at the first state (DirectionEnum ordinal)
+	 * @param toXIn The X coordinate of the second state's point
+	 * @param toYIn The Y coordinate of the second state's point
+	 * @param toDirectionIn The direction the robot faces at the second state (DirectionEnum ordinal)
+	 * @return The estimated cost
+	 */
+	private static int estimateCost(int fromXIn, int fromYIn, int fromDirectionIn, int toXIn, int toYIn, int toDirectionIn)
+	{
+		int xDistance = toXIn - fromXIn;
+		int yDistance = toYIn - fromYIn;
+		if(xDistance == 0 && yDistance == 0 && fromDirectionIn == toDirectionIn)
+		{
+			return 0;
+		}//if
+
+		return Math.abs(xDistance) + Math.abs(yDistance) + 
+				TURN_COSTS[fromDirectionIn][toDirectionIn][Integer.signum(xDistance) + 1][Integer.signum(yDistance) + 1];
+	}//estimateCost
+
+	/**
+	 * Works out TURN_COSTS, by finding the cost of getting to every state near a point on a map with no obstacles
+	 * (from each direction the robot could face at the point). Points two squares away on either side are as far
+	 * as any of the costs need to look
+	 * @return The turn costs
+	 */
+	private static int[][][][] makeTurnCosts()
+	{
+		final int size = 9;
+		final int centre = size / 2;
+		int[][][][] turnCosts = new int[4][4][3][3];
+		int[] costs = new int[size * size * 4];
+
+		for(int fromDirection=0; fromDirection<4; fromDirection++)
+		{
+			Arrays.fill(costs, INFINITY);
+			costs[(((centre * size) + centre) << 2) | fromDirection] = 0;
+			//the costs are lowered until none of them can be lowered any more
+			boolean changed = true;
+			while(changed)
+			{
+				changed = false;
+				for(int state=0; state<costs.length; state++)
+				{
+					int x = (state >>> 2) % size;
+					int y = (state >>> 2) / size;
+					for(int direction=0; direction<4 && costs[state]<INFINITY; direction++)
+					{
+						int nextX = x + X_STEPS[direction];
+						int nextY = y + Y_STEPS[direction];
+						int cost = costs[state] + MOVE_COSTS[(direction - (state & 3)) & 3];
+						if(nextX >= 0 && nextY >= 0 && nextX < size && nextY < size && 
+								cost < costs[(((nextY * size) + nextX) << 2) | direction])
+						{
+							costs[(((nextY * size) + nextX) << 2) | direction] = cost;
+							changed = true;
+						}//if
+					}//for
+				}//for
+			}//while
+
+			for(int toDirection=0; toDirection<4; toDirection++)
+			{
+				for(int xSign=-1; xSign<=1; xSign++)
+				{
+					for(int ySign=-1; ySign<=1; ySign++)
+					{
+						int x = centre + (xSign * 2);
+						int y = centre + (ySign * 2);
+						turnCosts[fromDirection][toDirection][xSign + 1][ySign + 1] = 
+								costs[(((y * size) + x) << 2) | toDirection] - ((Math.abs(xSign) + Math.abs(ySign)) * 2);
+					}//for
+				}//for
+			}//for
+		}//for
+
+		return turnCosts;
+	}//makeTurnCosts
+
+	/**
+	 * Gets the planner's identifier for a state
+	 * @param x The X coordinate of the point
+	 * @param y The Y coordinate of the point
+	 * @param directionIn The direction the robot faces (DirectionEnum ordinal)
+	 * @return The identifier of the state
+	 */
+	private int getState(int x, int y, int directionIn)
+	{
+		return (chunks.getChunkIndex(x, y) << STATE_OFFSET_BITS) | (ChunkedGrid.getOffset(x, y) << 2) | directionIn;
+	}//getState
+
+	/**
+	 * Gets the X coordinate of a state's point
+	 * @param stateIn The identifier of the state
+	 * @return The X coordinate
+	 */
+	private int getXCoord(int stateIn)
+	{
+		return chunks.getChunkXCoord(stateIn >>> STATE_OFFSET_BITS) + ((stateIn >>> 2) & (ChunkedGrid.CHUNK_SIZE - 1));
+	}//getXCoord
+
+	/**
+	 * Gets the Y coordinate of a state's point
+	 * @param stateIn The identifier of the state
+	 * @return The Y coordinate
+	 */
+	private int getYCoord(int stateIn)
+	{
+		return chunks.getChunkYCoord(stateIn >>> STATE_OFFSET_BITS) +
+				((stateIn & STATE_OFFSET_MASK) >>> (2 + ChunkedGrid.CHUNK_SHIFT));
+	}//getYCoord
+
+	/**
+	 * Checks if the search has reached a state
+	 * @param stateIn The identifier of the state
+	 * @return True if the state has been reached in this search, false otherwise
+	 */
+	private boolean isTouched(int stateIn)
+	{
+		int[] chunk = chunks.getChunk(stateIn >>> STATE_OFFSET_BITS);
+		return chunk != null && chunk[((stateIn & STATE_OFFSET_MASK) * FIELDS) + STAMP] == generation;
+	}//isTouched
+
+	/**
+	 * Sets up a state the first time the search reaches it, as a state the target can't be reached from
+	 * @param stateIn The identifier of the state
+	 */
+	private void touch(int stateIn)
+	{
+		int chunkIndex = stateIn >>> STATE_OFFSET_BITS;
+		int[] chunk = chunks.getChunk(chunkIndex);
+		if(chunk == null)
+		{
+			chunk = chunks.getOrMakeChunk(chunkIndex);
+			if(noOfMadeChunks == madeChunks.length)
+			{
+				madeChunks = Arrays.copyOf(madeChunks, noOfMadeChunks * 2);
+			}//if
+			madeChunks[noOfMadeChunks++] = chunkIndex;
+		}//if
+		chunk[CHUNK_GENERATION] = generation;
+		int base = (stateIn & STATE_OFFSET_MASK) * FIELDS;
+		if(chunk[base + STAMP] != generation)
+		{
+			chunk[base + STAMP] = generation;
+			chunk[base + G_SCORE] = INFINITY;
+			chunk[base + RHS] = INFINITY;
+			chunk[base + HEAP_INDEX] = NOT_IN_HEAP;
+		}//if
+	}//touch
+
+	/**
+	 * Gets a piece of the search information of a state
+	 * @param stateIn The identifier of the state
+	 * @param fieldIn Which piece of information (G_SCORE, RHS or HEAP_INDEX)
+	 * @return The information, as it is for a state the search hasn't reached if it hasn't been reached
+	 */
+	private int getField(int stateIn, int fieldIn)
+	{
+		if(!isTouched(stateIn))
+		{
+			return (fieldIn == HEAP_INDEX) ? NOT_IN_HEAP : INFINITY;
+		}//if
+
+		return chunks.getChunk(stateIn >>> STATE_OFFSET_BITS)[((stateIn & STATE_OFFSET_MASK) * FIELDS) + fieldIn];
+	}//getField
+
+	/**
+	 * Sets a piece of the search information of a state (which the search must have reached)
+	 * @param stateIn The identifier of the state
+	 * @param fieldIn Which piece of information (G_SCORE, RHS or HEAP_INDEX)
+	 * @param valueIn The new value
+	 */
+	private void setField(int stateIn, int fieldIn, int valueIn)
+	{
+		chunks.getChunk(stateIn >>> STATE_OFFSET_BITS)[((stateIn & STATE_OFFSET_MASK) * FIELDS) + fieldIn] = valueIn;
+	}//setField
+
+	/**
+	 * Adds a state to the open list
+	 * @param stateIn The identifier of the state
+	 * @param keyIn The state's keys
+	 */
+	private void push(int stateIn, long keyIn)
+	{
+		if(heapSize == heap.length)
+		{
+			heap = Arrays.copyOf(heap, heapSize * 2);
+			heapKeys = Arrays.copyOf(heapKeys, heapSize * 2);
+		}//if
+		heapSize++;
+		setEntry(heapSize - 1, stateIn, keyIn);
+		siftUp(heapSize - 1);
+	}//push
+
+	/**
+	 * Takes a state out of the open list
+	 * @param indexIn The position of the state in the heap
+	 */
+	private void removeEntry(int indexIn)
+	{
+		setField(heap[indexIn], HEAP_INDEX, NOT_IN_HEAP);
+		heapSize--;
+		if(indexIn < heapSize)
+		{
+			setEntry(indexIn, heap[heapSize], heapKeys[heapSize]);
+			//the state moved into the gap can belong either above or below it
+			siftUp(indexIn);
+			siftDown(indexIn);
+		}//if
+	}//removeEntry
+
+	/**
+	 * Moves a state towards the top of the heap until its parent comes before it
+	 * @param indexIn The position of the state in the heap
+	 */
+	private void siftUp(int indexIn)
+	{
+		int state = heap[indexIn];
+		long key = heapKeys[indexIn];
+
+		while(indexIn > 0)
+		{
+			int parentIndex = (indexIn - 1) >>> 1;
+			if(heapKeys[parentIndex] <= key)
+			{
+				break;
+			}//if
+			setEntry(indexIn, heap[parentIndex], heapKeys[parentIndex]);
+			indexIn = parentIndex;
+		}//while
+
+		setEntry(indexIn, state, key);
+	}//siftUp
+
+	/**
+	 * Moves a state towards the bottom of the heap until both of its children come after it
+	 * @param indexIn The position of the state in the heap
+	 */
+	private void siftDown(int indexIn)
+	{
+		int state = heap[indexIn];
+		long key = heapKeys[indexIn];
+
+		while(true)
+		{
+			int childIndex = (indexIn * 2) + 1;
+			if(childIndex >= heapSize)
+			{
+				break;
+			}//if
+			if(childIndex + 1 < heapSize && heapKeys[childIndex + 1] < heapKeys[childIndex])
+			{
+				childIndex++;
+			}//if
+			if(heapKeys[childIndex] >= key)
+			{
+				break;
+			}//if
+			setEntry(indexIn, heap[childIndex], heapKeys[childIndex]);
+			indexIn = childIndex;
+		}//while
+
+		setEntry(indexIn, state, key);
+	}//siftDown
+
+	/**
+	 * Works out the key of every state in the open list again from where the robot is now, and puts the heap back
+	 * in order, so none of the keys are out of date
+	 */
+	private void rekeyHeap()
+	{
+		keyModifier = 0;
+		noOfStaleKeys = 0;
+		for(int a=0; a<heapSize; a++)
+		{
+			//the second key is the state's cost, which is kept up to date while it is in the open list
+			int state = heap[a];
+			heapKeys[a] = getKey((int) heapKeys[a], getXCoord(state), getYCoord(state), state & 3);
+		}//for
+		for(int a=(heapSize >>> 1) - 1; a>=0; a--)
+		{
+			siftDown(a);
+		}//for
+	}//rekeyHeap
+
+	/**
+	 * Puts a state into a position of the heap, updating its heap index
+	 * @param indexIn The position in the heap
+	 * @param stateIn The identifier of the state
+	 * @param keyIn The state's keys
+	 */
+	private void setEntry(int indexIn, int stateIn, long keyIn)
+	{
+		heap[indexIn] = stateIn;
+		heapKeys[indexIn] = keyIn;
+		setField(stateIn, HEAP_INDEX, indexIn);
+	}//setEntry
+}//end
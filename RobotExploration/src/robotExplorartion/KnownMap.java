@@ -0,0 +1,207 @@
+package robotExplorartion;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * The map the robots have built up of the area they are exploring. Every point of the map is stored
+ * as a single byte, so looking up a point doesn't need any boxing or hashing. The bytes are held in
+ * 64 by 64 chunks which are only made once a point in them is found, so a huge map only uses memory for
+ * the area the robots have reached. Each point is read and written atomically, so the map can be shared
+ * by several robot threads
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+public class KnownMap
+{
+	//Access to single bytes of the grid with memory ordering guarantees
+	private static final VarHandle CELLS = MethodHandles.arrayElementVarHandle(byte[].class);
+	//Value stored for a point which isn't on the map yet
+	private static final byte UNKNOWN = 0;
+	//Statuses indexed by their stored value - 1
+	private static final PointStatusEnum[] STATUSES = PointStatusEnum.values();
+
+	private final int width;
+	private final int height;
+	//One byte per point (0 = unknown, otherwise the status ordinal + 1), in chunks made when they are first written
+	private final ChunkedGrid<byte[]> cells;
+	//Told about every change to the map (copied on write, so it can be read without locking)
+	private volatile KnownMapListener[] listeners = new KnownMapListener[0];
+
+	/**
+	 * Makes an empty map, where none of the points are known yet
+	 * @param widthIn The width of the map (in squares)
+	 * @param heightIn The height of the map (in squares)
+	 */
+	public KnownMap(int widthIn, int heightIn)
+	{
+		width = widthIn;
+		height = heightIn;
+		cells = new ChunkedGrid<byte[]>(widthIn, heightIn, chunkIndex -> new byte[ChunkedGrid.POINTS_PER_CHUNK]);
+	}//constructor
+
+	/**
+	 * Gets the width of the map
+	 * @return The width of the map (in squares)
+	 */
+	public int getWidth()
+	{
+		return width;
+	}//getWidth
+
+	/**
+	 * Gets the height of the map
+	 * @return The height of the map (in squares)
+	 */
+	public int getHeight()
+	{
+		return height;
+	}//getHeight
+	
+	/**
+	 * Gets the number of 64 by 64 chunks of the map which have had points found in them
+	 * @return The number of chunks in use
+	 */
+	public int getNoOfChunksUsed()
+	{
+		return cells.getNoOfMadeChunks();
+	}//getNoOfChunksUsed
+
+	/**
+	 * Adds a listener which will be told about every change made to the map from now on
+	 * @param listenerIn The listener to add
+	 */
+	public synchronized void addListener(KnownMapListener listenerIn)
+	{
+		KnownMapListener[] newListeners = Arrays.copyOf(listeners, listeners.length + 1);
+		newListeners[listeners.length] = listenerIn;
+		listeners = newListeners;
+	}//addListener
+	
+	/**
+	 * Checks if a point lies inside the map
+	 * @param x The X coordinate of the point
+	 * @param y The Y coordinate of the point
+	 * @return True if the point is inside the map, false otherwise
+	 */
+	public boolean inBounds(int x, int y)
+	{
+		return x >= 0 && y >= 0 && x < width && y < height;
+	}//inBounds
+
+	/**
+	 * Gets the status of a point on the map
+	 * @param x The X coordinate of the point
+	 * @param y The Y coordinate of the point
+	 * @return The status of the point, or null if the point isn't on the map yet
+	 */
+	public PointStatusEnum getStatus(int x, int y)
+	{
+		if(!inBounds(x, y))
+		{
+			return null;
+		}//if
+
+		byte[] chunk = cells.getChunk(cells.getChunkIndex(x, y));
+		if(chunk == null)
+		{
+			//nothing has been found in this part of the map
+			return null;
+		}//if
+
+		byte value = (byte) CELLS.getAcquire(chunk, ChunkedGrid.getOffset(x, y));
+		if(value == UNKNOWN)
+		{
+			return null;
+		}//if
+
+		return STATUSES[value - 1];
+	}//getStatus
+
+	/**
+	 * Checks if any point has been found in the 64 by 64 chunk a point is in, so areas where nothing has been
+	 * found can be skipped without looking at each point
+	 * @param x The X coordinate of the point
+	 * @param y The Y coordinate of the point
+	 * @return True if a point in the chunk has been found, false otherwise (or if the point is outside the map)
+	 */
+	public boolean isChunkUsed(int x, int y)
+	{
+		return inBounds(x, y) && cells.getChunk(cells.getChunkIndex(x, y)) != null;
+	}//isChunkUsed
+
+	/**
+	 * Checks if a point has been added to the map
+	 * @param x The X coordinate of the point
+	 * @param y The Y coordinate of the point
+	 * @return True if the point is on the map, false otherwise
+	 */
+	public boolean contains(int x, int y)
+	{
+		return getStatus(x, y) != null;
+	}//contains
+
+	/**
+	 * Sets the status of a point on the map, replacing any status it already had
+	 * (points outside the map are ignored)
+	 * @param x The X coordinate of the point
+	 * @param y The Y coordinate of the point
+	 * @param statusIn The new status of the point
+	 */
+	public void setStatus(int x, int y, PointStatusEnum statusIn)
+	{
+		if(inBounds(x, y))
+		{
+			byte[] chunk = cells.getOrMakeChunk(cells.getChunkIndex(x, y));
+			byte oldValue = (byte) CELLS.getAndSetRelease(chunk, ChunkedGrid.getOffset(x, y), 
+					(byte) (statusIn.ordinal() + 1));
+			PointStatusEnum oldStatus = (oldValue == UNKNOWN) ? null : STATUSES[oldValue - 1];
+			
+			if(oldStatus != statusIn)
+			{
+				firePointChanged(x, y, oldStatus, statusIn);
+			}//if
+		}//if
+	}//setStatus
+
+	/**
+	 * Adds a point to the map, but only if the point isn't on the map already
+	 * @param x The X coordinate of the point
+	 * @param y The Y coordinate of the point
+	 * @param statusIn The status of the new point
+	 * @return True if the point was added, false if it was already on the map (or is outside the map)
+	 */
+	public boolean addIfAbsent(int x, int y, PointStatusEnum statusIn)
+	{
+		if(!inBounds(x, y))
+		{
+			return false;
+		}//if
+
+		byte[] chunk = cells.getOrMakeChunk(cells.getChunkIndex(x, y));
+		if(CELLS.compareAndSet(chunk, ChunkedGrid.getOffset(x, y), UNKNOWN, (byte) (statusIn.ordinal() + 1)))
+		{
+			firePointChanged(x, y, null, statusIn);
+			return true;
+		}//if
+		
+		return false;
+	}//addIfAbsent
+	
+	/**
+	 * Tells all the listeners that a point has changed
+	 * @param x The X coordinate of the point
+	 * @param y The Y coordinate of the point
+	 * @param oldStatusIn The status the point had before (null if it wasn't on the map)
+	 * @param newStatusIn The status the point has now
+	 */
+	private void firePointChanged(int x, int y, PointStatusEnum oldStatusIn, PointStatusEnum newStatusIn)
+	{
+		KnownMapListener[] currentListeners = listeners;
+		for(int a=0; a<currentListeners.length; a++)
+		{
+			currentListeners[a].pointChanged(x, y, oldStatusIn, newStatusIn);
+		}//for
+	}//firePointChanged
+}//end
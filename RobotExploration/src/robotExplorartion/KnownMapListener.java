@@ -0,0 +1,18 @@
+package robotExplorartion;
+
+/**
+ * Receives a call every time the status of a point on a known map changes
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+public interface KnownMapListener
+{
+	/**
+	 * Called after the status of a point has changed (it is called on the thread that made the change)
+	 * @param x The X coordinate of the point
+	 * @param y The Y coordinate of the point
+	 * @param oldStatusIn The status the point had before, or null if the point wasn't on the map
+	 * @param newStatusIn The status the point has now
+	 */
+	public void pointChanged(int x, int y, PointStatusEnum oldStatusIn, PointStatusEnum newStatusIn);
+}//end
@@ -0,0 +1,285 @@
+package robotExplorartion;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Generates whole world maps. Each kind of map (noise, caves, rooms and corridors, mazes) is a subclass which
+ * fills in a bitset of the map, one long[] per row with one bit per square (set for an obstacle).
+ *
+ * The work is split into bands of 64 rows which are generated in parallel. Every band has its own random
+ * number generator, split off one root generator in band order before any band starts, so the map made
+ * only depends on the seed and the size of the map, never on how many threads there are or which band
+ * finishes first. The finished map always has walls around its edges, and a path is cleared from each of the
+ * default robot start squares so robots placed there aren't shut in
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+public abstract class MapGenerator
+{
+	//The number of rows in each band (the same as the chunk size, so bands never share a chunk row)
+	protected static final int BAND_HEIGHT = ChunkedGrid.CHUNK_SIZE;
+
+	//How dense the map is (0-100), what this means depends on the kind of map
+	private final int density;
+
+	/**
+	 * Sets up a generator
+	 * @param densityIn How dense the map is (0-100)
+	 */
+	protected MapGenerator(int densityIn)
+	{
+		if(densityIn < 0 || densityIn > 100)
+		{
+			throw new IllegalArgumentException("The density must be between 0 and 100");
+		}//if
+
+		density = densityIn;
+	}//constructor
+
+	/**
+	 * Makes a generator from its name
+	 * @param nameIn The kind of map: noise, caves, rooms or maze
+	 * @param densityIn How dense the map is (0-100)
+	 * @return The generator
+	 */
+	public static MapGenerator forName(String nameIn, int densityIn)
+	{
+		if(nameIn.equalsIgnoreCase("noise"))
+		{
+			return new NoiseMapGenerator(densityIn);
+		}//if
+		else if(nameIn.equalsIgnoreCase("caves"))
+		{
+			return new CaveMapGenerator(densityIn);
+		}//else if
+		else if(nameIn.equalsIgnoreCase("rooms"))
+		{
+			return new RoomsMapGenerator(densityIn);
+		}//else if
+		else if(nameIn.equalsIgnoreCase("maze"))
+		{
+			return new MazeMapGenerator(densityIn);
+		}//else if
+
+		throw new IllegalArgumentException("There isn't a map generator called " + nameIn);
+	}//forName
+
+	/**
+	 * Gets the name of the kind of map made
+	 * @return The name (as used by forName)
+	 */
+	public abstract String getName();
+
+	/**
+	 * Gets how dense the maps made are
+	 * @return The density (0-100)
+	 */
+	public int getDensity()
+	{
+		return density;
+	}//getDensity
+
+	/**
+	 * Generates a map. The same seed and size always make the same map
+	 * @param widthIn The width of the map (in squares)
+	 * @param heightIn The height of the map (in squares)
+	 * @param seedIn The seed the map is made from
+	 * @return The map
+	 */
+	public WorldMap generate(int widthIn, int heightIn, long seedIn)
+	{
+		if(widthIn < 3 || heightIn < 3)
+		{
+			throw new IllegalArgumentException("A generated map must be at least 3 by 3 squares");
+		}//if
+
+		int wordsPerRow = (widthIn + 63) >>> 6;
+		long[][] rows = new long[heightIn][wordsPerRow];
+		fill(rows, widthIn, heightIn, seedIn);
+
+		WorldMap worldMap = new WorldMap(widthIn, heightIn);
+		forEachBand(heightIn, (band, startY, endY) ->
+		{
+			for(int y=startY; y<endY; y++)
+			{
+				if(y == 0 || y == heightIn-1)
+				{
+					setSquares(rows[y], 0, widthIn);
+				}//if
+				else
+				{
+					setSquares(rows[y], 0, 1);
+					setSquares(rows[y], widthIn-1, widthIn);
+				}//else
+				for(int a=0; a<wordsPerRow; a++)
+				{
+					if(rows[y][a] != 0)
+					{
+						worldMap.orMask(a << 6, y, rows[y][a]);
+					}//if
+				}//for
+			}//for
+		});
+
+		Robot[] robots = ExplorationEngine.makeDefaultRobots(4, widthIn, heightIn);
+		for(int a=0; a<robots.length; a++)
+		{
+			clearPathFrom(worldMap, robots[a].getXCoord(), robots[a].getYCoord());
+		}//for
+
+		return worldMap;
+	}//generate
+
+	/**
+	 * Fills in the obstacles of a map (the walls around the edges are added afterwards)
+	 * @param rowsIn The map, one bitset per row with every bit clear to start with (bits past the right
+	 * hand edge are ignored)
+	 * @param widthIn The width of the map (in squares)
+	 * @param heightIn The height of the map (in squares)
+	 * @param seedIn The seed the map is made from
+	 */
+	protected abstract void fill(long[][] rowsIn, int widthIn, int heightIn, long seedIn);
+
+	/**
+	 * Runs a task for every band of rows, in parallel
+	 * @param heightIn The number of rows
+	 * @param taskIn The task to run for each band
+	 */
+	protected static void forEachBand(int heightIn, BandTask taskIn)
+	{
+		int noOfBands = getNoOfBands(heightIn);
+		IntStream.range(0, noOfBands).parallel().forEach(band ->
+				taskIn.run(band, band * BAND_HEIGHT, Math.min((band + 1) * BAND_HEIGHT, heightIn)));
+	}//forEachBand
+
+	/**
+	 * Gets the number of bands needed to cover a number of rows
+	 * @param heightIn The number of rows
+	 * @return The number of bands
+	 */
+	protected static int getNoOfBands(int heightIn)
+	{
+		return (heightIn + BAND_HEIGHT - 1) / BAND_HEIGHT;
+	}//getNoOfBands
+
+	/**
+	 * Makes a random number generator for each part of the work, split off a root generator one after another,
+	 * so each part gets the same generator however the parts are run
+	 * @param seedIn The seed of the root generator
+	 * @param countIn The number of generators needed
+	 * @return The generators
+	 */
+	protected static SplittableRandom[] splitRandoms(long seedIn, int countIn)
+	{
+		SplittableRandom root = new SplittableRandom(seedIn);
+		SplittableRandom[] randoms = new SplittableRandom[countIn];
+		for(int a=0; a<countIn; a++)
+		{
+			randoms[a] = root.split();
+		}//for
+
+		return randoms;
+	}//splitRandoms
+
+	/**
+	 * Puts obstacles on a run of squares in a row
+	 * @param rowIn The row
+	 * @param fromXIn The X coordinate of the first square
+	 * @param toXIn The X coordinate after the last square
+	 */
+	protected static void setSquares(long[] rowIn, int fromXIn, int toXIn)
+	{
+		for(int x=fromXIn; x<toXIn; )
+		{
+			int word = x >>> 6;
+			int end = Math.min(toXIn, (word + 1) << 6);
+			rowIn[word] |= rangeMask(x, end);
+			x = end;
+		}//for
+	}//setSquares
+
+	/**
+	 * Clears obstacles off a run of squares in a row
+	 * @param rowIn The row
+	 * @param fromXIn The X coordinate of the first square
+	 * @param toXIn The X coordinate after the last square
+	 */
+	protected static void clearSquares(long[] rowIn, int fromXIn, int toXIn)
+	{
+		for(int x=fromXIn; x<toXIn; )
+		{
+			int word = x >>> 6;
+			int end = Math.min(toXIn, (word + 1) << 6);
+			rowIn[word] &= ~rangeMask(x, end);
+			x = end;
+		}//for
+	}//clearSquares
+
+	/**
+	 * Makes a mask of the bits for a run of squares within one word
+	 * @param fromXIn The X coordinate of the first square
+	 * @param toXIn The X coordinate after the last square (in the same word)
+	 * @return The mask
+	 */
+	private static long rangeMask(int fromXIn, int toXIn)
+	{
+		long mask = -1L << (fromXIn & 63);
+		if((toXIn & 63) != 0)
+		{
+			mask &= -1L >>> (64 - (toXIn & 63));
+		}//if
+
+		return mask;
+	}//rangeMask
+
+	/**
+	 * Clears a path from a start square towards the middle of the map, until it reaches a square that was
+	 * already free (so a robot starting there isn't shut in by the squares around it)
+	 * @param worldMapIn The map
+	 * @param xCoordIn The X coordinate of the start square
+	 * @param yCoordIn The Y coordinate of the start square
+	 */
+	private static void clearPathFrom(WorldMap worldMapIn, int xCoordIn, int yCoordIn)
+	{
+		int middleX = worldMapIn.getWidth() / 2;
+		int middleY = worldMapIn.getHeight() / 2;
+		int x = xCoordIn;
+		int y = yCoordIn;
+		worldMapIn.setObstacle(x, y, false);
+
+		while(x != middleX || y != middleY)
+		{
+			//steps diagonally (as a staircase), so the path reaches open space sooner than going along a whole row
+			if(Math.abs(middleX - x) >= Math.abs(middleY - y))
+			{
+				x += Integer.signum(middleX - x);
+			}//if
+			else
+			{
+				y += Integer.signum(middleY - y);
+			}//else
+
+			if(!worldMapIn.isObstacle(x, y))
+			{
+				return;
+			}//if
+			worldMapIn.setObstacle(x, y, false);
+		}//while
+	}//clearPathFrom
+
+	/**
+	 * Generates one band of rows
+	 */
+	@FunctionalInterface
+	protected interface BandTask
+	{
+		/**
+		 * Generates one band of rows
+		 * @param bandIn The number of the band
+		 * @param startYIn The first row of the band
+		 * @param endYIn The row after the last row of the band
+		 */
+		public void run(int bandIn, int startYIn, int endYIn);
+	}//BandTask
+}//end
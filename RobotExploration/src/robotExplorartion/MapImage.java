@@ -0,0 +1,94 @@
+package robotExplorartion;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+
+/**
+ * An image of the map being explored, with one pixel per square. The pixels are written straight into the
+ * image's buffer whenever a point on the known map changes (on the robot thread that changed it), so showing
+ * the map is a single scaled drawImage rather than a fillRect for every square
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+public class MapImage implements KnownMapListener
+{
+	//The colour of each kind of square (unexplored squares show what is really there)
+	private static final int UNEXPLORED_OBSTACLE = Color.red.getRGB();
+	private static final int UNEXPLORED_OPEN = Color.black.getRGB();
+	private static final int FRONTIER = Color.gray.getRGB();
+	private static final int EXPLORED_OBSTACLE = Color.blue.getRGB();
+	private static final int EXPLORED_OPEN = Color.white.getRGB();
+
+	private final int width;
+	private final BufferedImage image;
+	//The pixels of the image, stored row by row
+	private final int[] pixels;
+
+	/**
+	 * Makes an image of the map an engine's robots are exploring, and starts following the changes to its known map
+	 * @param engineIn The engine running the simulation
+	 */
+	public MapImage(ExplorationEngine engineIn)
+	{
+		width = engineIn.getWidth();
+		int height = engineIn.getHeight();
+		image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+
+		for(int y=0; y<height; y++)
+		{
+			for(int x=0; x<width; x++)
+			{
+				pixels[(y * width) + x] = engineIn.isObstacle(x, y) ? UNEXPLORED_OBSTACLE : UNEXPLORED_OPEN;
+			}//for
+		}//for
+
+		KnownMap knownMap = engineIn.getKnownMap();
+		knownMap.addListener(this);
+		//points found before this image was made
+		for(int y=0; y<height; y++)
+		{
+			for(int x=0; x<width; x++)
+			{
+				PointStatusEnum status = knownMap.getStatus(x, y);
+				if(status != null)
+				{
+					pointChanged(x, y, null, status);
+				}//if
+			}//for
+		}//for
+	}//constructor
+
+	/**
+	 * Gets the image of the map
+	 * @return The image, one pixel per square
+	 */
+	public Image getImage()
+	{
+		return image;
+	}//getImage
+
+	/**
+	 * Changes the colour of a point's pixel when its status on the known map changes
+	 */
+	@Override
+	public void pointChanged(int x, int y, PointStatusEnum oldStatusIn, PointStatusEnum newStatusIn)
+	{
+		int colour;
+		if(newStatusIn == PointStatusEnum.UNEXPLORED)
+		{
+			colour = FRONTIER;
+		}//if
+		else if(newStatusIn == PointStatusEnum.OBSTACLE)
+		{
+			colour = EXPLORED_OBSTACLE;
+		}//else if
+		else
+		{
+			colour = EXPLORED_OPEN;
+		}//else
+
+		pixels[(y * width) + x] = colour;
+	}//pointChanged
+}//end
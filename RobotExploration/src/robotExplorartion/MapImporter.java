@@ -0,0 +1,391 @@
+package robotExplorartion;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads real floorplans into world maps, from PGM occupancy images or plain ASCII grids. The files are streamed
+ * through a small buffer a byte at a time and each row is put straight into the map 64 squares at a time, so
+ * the file is never held in memory as a whole (or as a String).
+ *
+ * PGM images can be binary (P5, 8 or 16 bits per pixel) or text (P2). As with ROS occupancy grids a pixel is
+ * free if it is light enough that its occupancy, (maxval - value) / maxval, is below 0.196; darker pixels and
+ * the grey used for unknown areas are obstacles.
+ *
+ * ASCII grids have one line per row. '.', ' ', '0', 'G' and 'S' are free squares and every other character is
+ * an obstacle, so rows shorter than the longest row are padded with obstacles. Grids from the Moving AI
+ * benchmark sets (starting with a "type" line, then "height", "width" and "map") are read as well.
+ *
+ * Floorplans don't always have walls around their edges, so every imported map is surrounded by a wall one
+ * square thick: the map is two squares wider and higher than the file, and the square at (x, y) in the file is
+ * at (x + 1, y + 1) on the map
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+public class MapImporter
+{
+	//The size of the buffer the file is read through
+	private static final int BUFFER_SIZE = 1 << 16;
+	//Pixels with an occupancy below this are free
+	private static final double FREE_THRESHOLD = 0.196;
+
+	/**
+	 * Reads a map from a PGM image or an ASCII grid, working out which it is from the start of the file
+	 * @param pathIn The file to read
+	 * @return The map, surrounded by a wall
+	 * @throws IOException If the file can't be read or isn't a map that can be imported
+	 */
+	public static WorldMap importMap(Path pathIn) throws IOException
+	{
+		try(FileChannel channel = FileChannel.open(pathIn, StandardOpenOption.READ))
+		{
+			ByteSource source = new ByteSource(channel);
+			int first = source.read();
+			int second = source.read();
+			source.rewind();
+
+			if(first == 'P' && (second == '5' || second == '2'))
+			{
+				return readPgm(source, pathIn);
+			}//if
+			return readAsciiGrid(source, pathIn);
+		}//try
+	}//importMap
+
+	/**
+	 * Reads a PGM image (P5 or P2)
+	 * @param sourceIn The file, from its start
+	 * @param pathIn The file's path (for error messages)
+	 * @return The map, surrounded by a wall
+	 * @throws IOException If the file can't be read or isn't a PGM image
+	 */
+	private static WorldMap readPgm(ByteSource sourceIn, Path pathIn) throws IOException
+	{
+		sourceIn.read();
+		boolean binary = sourceIn.read() == '5';
+		int width = readHeaderNumber(sourceIn, pathIn);
+		int height = readHeaderNumber(sourceIn, pathIn);
+		int maxValue = readHeaderNumber(sourceIn, pathIn);
+		if(width < 1 || height < 1 || maxValue < 1 || maxValue > 65535)
+		{
+			throw new IOException(pathIn + " has a bad PGM header");
+		}//if
+		//the single whitespace character between the header and the pixels was used up reading maxValue
+
+		//values above this are free
+		int freeAbove = (int) Math.floor(maxValue * (1 - FREE_THRESHOLD));
+		WorldMap worldMap = makeWalledMap(width, height);
+
+		for(int y=0; y<height; y++)
+		{
+			long mask = 0;
+			int maskStart = 0;
+			for(int x=0; x<width; x++)
+			{
+				int value;
+				if(!binary)
+				{
+					value = readNumber(sourceIn);
+				}//if
+				else if(maxValue < 256)
+				{
+					value = sourceIn.read();
+				}//else if
+				else
+				{
+					int high = sourceIn.read();
+					value = (high < 0) ? -1 : ((high << 8) | sourceIn.read());
+				}//else
+				if(value < 0)
+				{
+					throw new IOException(pathIn + " ends before all of its pixels");
+				}//if
+
+				if(value <= freeAbove)
+				{
+					mask |= 1L << (x - maskStart);
+				}//if
+				if(x - maskStart == 63 || x == width-1)
+				{
+					worldMap.orMask(maskStart + 1, y + 1, mask);
+					mask = 0;
+					maskStart = x + 1;
+				}//if
+			}//for
+		}//for
+
+		return worldMap;
+	}//readPgm
+
+	/**
+	 * Reads an ASCII grid, either a plain grid or a Moving AI map
+	 * @param sourceIn The file, from its start
+	 * @param pathIn The file's path (for error messages)
+	 * @return The map, surrounded by a wall
+	 * @throws IOException If the file can't be read or is empty
+	 */
+	private static WorldMap readAsciiGrid(ByteSource sourceIn, Path pathIn) throws IOException
+	{
+		int headerLines = 0;
+		int width = 0;
+		int height = 0;
+
+		if(sourceIn.read() == 't')
+		{
+			//a Moving AI map: type, height, width and map lines come before the grid
+			sourceIn.rewind();
+			for(headerLines=1; headerLines<=4; headerLines++)
+			{
+				String line = readHeaderLine(sourceIn);
+				if(line.startsWith("height "))
+				{
+					height = Integer.parseInt(line.substring(7).trim());
+				}//if
+				else if(line.startsWith("width "))
+				{
+					width = Integer.parseInt(line.substring(6).trim());
+				}//else if
+			}//for
+			headerLines--;
+		}//if
+		else
+		{
+			//a plain grid, the file is read through once to find the longest row and the number of rows
+			sourceIn.rewind();
+			int lineLength = 0;
+			int character = sourceIn.read();
+			while(character >= 0)
+			{
+				if(character == '\n')
+				{
+					width = Math.max(width, lineLength);
+					height++;
+					lineLength = 0;
+				}//if
+				else if(character != '\r')
+				{
+					lineLength++;
+				}//else if
+				character = sourceIn.read();
+			}//while
+			if(lineLength > 0)
+			{
+				//the last row doesn't end with a new line
+				width = Math.max(width, lineLength);
+				height++;
+			}//if
+		}//else
+
+		if(width < 1 || height < 1)
+		{
+			throw new IOException(pathIn + " doesn't have a map in it");
+		}//if
+
+		sourceIn.rewind();
+		for(int a=0; a<headerLines; a++)
+		{
+			readHeaderLine(sourceIn);
+		}//for
+
+		WorldMap worldMap = makeWalledMap(width, height);
+		for(int y=0; y<height; y++)
+		{
+			//every square starts as an obstacle, so a row that ends early is padded with obstacles
+			long mask = -1L;
+			int maskStart = 0;
+			int x = 0;
+			int character = sourceIn.read();
+			while(character >= 0 && character != '\n')
+			{
+				if(character != '\r' && x < width)
+				{
+					if(isFree(character))
+					{
+						mask &= ~(1L << (x - maskStart));
+					}//if
+					x++;
+					if(x - maskStart == 64)
+					{
+						worldMap.orMask(maskStart + 1, y + 1, mask);
+						mask = -1L;
+						maskStart = x;
+					}//if
+				}//if
+				character = sourceIn.read();
+			}//while
+
+			for(int start=maskStart; start<width; start+=64)
+			{
+				worldMap.orMask(start + 1, y + 1, mask);
+				mask = -1L;
+			}//for
+		}//for
+
+		return worldMap;
+	}//readAsciiGrid
+
+	/**
+	 * Checks if a character of an ASCII grid is a free square
+	 * @param characterIn The character
+	 * @return True if the square is free, false if it is an obstacle
+	 */
+	private static boolean isFree(int characterIn)
+	{
+		return characterIn == '.' || characterIn == ' ' || characterIn == '0' || characterIn == 'G' || characterIn == 'S';
+	}//isFree
+
+	/**
+	 * Makes a map big enough for the imported squares, with a wall all the way around them.
+	 * Squares are free until obstacles are put in them
+	 * @param widthIn The width of the imported squares
+	 * @param heightIn The height of the imported squares
+	 * @return The map, with only its walls
+	 */
+	private static WorldMap makeWalledMap(int widthIn, int heightIn)
+	{
+		WorldMap worldMap = new WorldMap(widthIn + 2, heightIn + 2);
+		for(int a=0; a<widthIn+2; a+=64)
+		{
+			worldMap.orMask(a, 0, -1L);
+			worldMap.orMask(a, heightIn+1, -1L);
+		}//for
+		for(int a=1; a<heightIn+1; a++)
+		{
+			worldMap.setObstacle(0, a, true);
+			worldMap.setObstacle(widthIn+1, a, true);
+		}//for
+
+		return worldMap;
+	}//makeWalledMap
+
+	/**
+	 * Reads a number from a PGM header, skipping whitespace and comments before it
+	 * @param sourceIn The file
+	 * @param pathIn The file's path (for error messages)
+	 * @return The number
+	 * @throws IOException If the file can't be read or there isn't a number
+	 */
+	private static int readHeaderNumber(ByteSource sourceIn, Path pathIn) throws IOException
+	{
+		int number = readNumber(sourceIn);
+		if(number < 0)
+		{
+			throw new IOException(pathIn + " has a bad PGM header");
+		}//if
+
+		return number;
+	}//readHeaderNumber
+
+	/**
+	 * Reads a number written in text, skipping whitespace and comments (from # to the end of the line) before it.
+	 * The character after the number is used up
+	 * @param sourceIn The file
+	 * @return The number, or -1 if the file ends or something other than a number is found
+	 * @throws IOException If the file can't be read
+	 */
+	private static int readNumber(ByteSource sourceIn) throws IOException
+	{
+		int character = sourceIn.read();
+		while(character == '#' || Character.isWhitespace(character))
+		{
+			if(character == '#')
+			{
+				while(character >= 0 && character != '\n')
+				{
+					character = sourceIn.read();
+				}//while
+			}//if
+			character = sourceIn.read();
+		}//while
+
+		if(character < '0' || character > '9')
+		{
+			return -1;
+		}//if
+
+		int number = 0;
+		while(character >= '0' && character <= '9')
+		{
+			number = (number * 10) + (character - '0');
+			character = sourceIn.read();
+		}//while
+
+		return number;
+	}//readNumber
+
+	/**
+	 * Reads one line of a header (headers are short, so the line is made into a String)
+	 * @param sourceIn The file
+	 * @return The line, without its line ending
+	 * @throws IOException If the file can't be read
+	 */
+	private static String readHeaderLine(ByteSource sourceIn) throws IOException
+	{
+		StringBuilder line = new StringBuilder();
+		int character = sourceIn.read();
+		while(character >= 0 && character != '\n')
+		{
+			if(character != '\r')
+			{
+				line.append((char) character);
+			}//if
+			character = sourceIn.read();
+		}//while
+
+		return line.toString();
+	}//readHeaderLine
+
+	/**
+	 * Reads a file a byte at a time through a buffer, so only the buffer is ever held in memory
+	 */
+	private static class ByteSource
+	{
+		private final FileChannel channel;
+		private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+		/**
+		 * Starts reading a file from its start
+		 * @param channelIn The file to read
+		 */
+		public ByteSource(FileChannel channelIn)
+		{
+			channel = channelIn;
+			buffer.flip();
+		}//constructor
+
+		/**
+		 * Reads the next byte of the file
+		 * @return The byte (0-255), or -1 if the end of the file has been reached
+		 * @throws IOException If the file can't be read
+		 */
+		public int read() throws IOException
+		{
+			if(!buffer.hasRemaining())
+			{
+				buffer.clear();
+				int bytesRead = channel.read(buffer);
+				buffer.flip();
+				if(bytesRead <= 0)
+				{
+					return -1;
+				}//if
+			}//if
+
+			return buffer.get() & 0xFF;
+		}//read
+
+		/**
+		 * Goes back to the start of the file
+		 * @throws IOException If the file can't be read
+		 */
+		public void rewind() throws IOException
+		{
+			channel.position(0);
+			buffer.clear();
+			buffer.flip();
+		}//rewind
+	}//ByteSource
+}//end
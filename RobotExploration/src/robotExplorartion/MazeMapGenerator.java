@@ -0,0 +1,92 @@
+package robotExplorartion;
+
+import java.util.SplittableRandom;
+
+/**
+ * Generates maze maps with the sidewinder algorithm. The maze's cells are the squares with odd X and Y
+ * coordinates and everything else starts as an obstacle. The top row of cells is one long corridor, and on
+ * every other row runs of cells are joined to the right, each run being closed at random and joined to the
+ * row above through one of its cells. A row of cells only ever joins itself to the row above it, so every row
+ * can be carved on its own and the bands of rows are carved in parallel.
+ *
+ * A perfect maze has exactly one path between any two cells; the density is the chance of also opening the
+ * wall to the right of a run as it is closed, which adds loops to the maze
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+public class MazeMapGenerator extends MapGenerator
+{
+	/**
+	 * Sets up a generator for maze maps
+	 * @param densityIn The chance of a loop being added where a run of cells is closed (0-100%),
+	 * 0 makes a perfect maze
+	 */
+	public MazeMapGenerator(int densityIn)
+	{
+		super(densityIn);
+	}//constructor
+
+	@Override
+	public String getName()
+	{
+		return "maze";
+	}//getName
+
+	@Override
+	protected void fill(long[][] rowsIn, int widthIn, int heightIn, long seedIn)
+	{
+		int cellsX = (widthIn - 1) / 2;
+		int cellsY = (heightIn - 1) / 2;
+		SplittableRandom[] randoms = splitRandoms(seedIn, getNoOfBands(heightIn));
+		forEachBand(heightIn, (band, startY, endY) ->
+		{
+			SplittableRandom random = randoms[band];
+			for(int y=startY; y<endY; y++)
+			{
+				setSquares(rowsIn[y], 0, widthIn);
+			}//for
+
+			//the band height is even, so both of a cell row's square rows (2j and 2j + 1) are in the same band
+			for(int j=startY/2; j<(endY+1)/2 && j<cellsY; j++)
+			{
+				carveRow(rowsIn[(2 * j) + 1], rowsIn[2 * j], j == 0, cellsX, random);
+			}//for
+		});
+	}//fill
+
+	/**
+	 * Carves one row of cells
+	 * @param rowIn The row of squares the cells are in
+	 * @param aboveIn The row of squares between these cells and the row of cells above
+	 * @param topRowIn True if this is the top row of cells
+	 * @param cellsXIn The number of cells across the maze
+	 * @param randomIn The band's random number generator
+	 */
+	private void carveRow(long[] rowIn, long[] aboveIn, boolean topRowIn, int cellsXIn, SplittableRandom randomIn)
+	{
+		int runStart = 0;
+		for(int i=0; i<cellsXIn; i++)
+		{
+			int x = (2 * i) + 1;
+			clearSquares(rowIn, x, x + 1);
+			boolean lastCell = i == cellsXIn-1;
+
+			if(!topRowIn && (lastCell || randomIn.nextBoolean()))
+			{
+				//close the run, joining it to the row above through one of its cells
+				int cell = runStart + randomIn.nextInt(i - runStart + 1);
+				clearSquares(aboveIn, (2 * cell) + 1, (2 * cell) + 2);
+				runStart = i + 1;
+
+				if(!lastCell && getDensity() > 0 && randomIn.nextInt(100) < getDensity())
+				{
+					clearSquares(rowIn, x + 1, x + 2);
+				}//if
+			}//if
+			else if(!lastCell)
+			{
+				clearSquares(rowIn, x + 1, x + 2);
+			}//else if
+		}//for
+	}//carveRow
+}//end
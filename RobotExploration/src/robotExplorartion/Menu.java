@@ -433,7 +433,7 @@ public class Menu extends JFrame
 			if(event.getActionCommand() == "Start")
 			{
 				boolean proprietaryAlgorithm;
-				boolean twoRobots;;
+				int noOfRobots;
 				boolean coordinated;
 				int obstacleProbability;
 				int noOfSimulations;
@@ -456,17 +456,17 @@ public class Menu extends JFrame
 				//Check which robot selection has been made
 				if(singleRobotButton.isSelected())
 				{
-					twoRobots = false;
+					noOfRobots = 1;
 					coordinated = false;
 				}//if
 				else if(uncoordinatedRobotButton.isSelected())
 				{
-					twoRobots = true;
+					noOfRobots = 2;
 					coordinated = false;
 				}//else if
 				else if(coordinatedRobotButton.isSelected())
 				{
-					twoRobots = true;
+					noOfRobots = 2;
 					coordinated = true;
 				}//else if
 				else
@@ -505,12 +505,11 @@ public class Menu extends JFrame
 					return;
 				}//else
 				
-				//starts the simulations using selected settings
-				for(int a=0; a<noOfSimulations; a++)
-				{
-					new Thread(new SimulationThread(a+1, proprietaryAlgorithm, 
-							twoRobots, coordinated, obstacleProbability)).run();
-				}//for
+				//starts the simulations using selected settings (on a pool of threads, so the menu isn't held up)
+				BatchRunner batch = new BatchRunner(noOfSimulations, proprietaryAlgorithm, 
+						noOfRobots, coordinated, obstacleProbability, false);
+				batch.addListener(new ConsoleBatchListener());
+				batch.start();
 			}//if
 			else
 			{
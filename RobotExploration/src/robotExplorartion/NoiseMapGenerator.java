@@ -0,0 +1,54 @@
+package robotExplorartion;
+
+import java.util.SplittableRandom;
+
+/**
+ * Generates maps with obstacles spread at random over them, like the maps the simulation has always used
+ * (one in every 100 / density squares is an obstacle)
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+public class NoiseMapGenerator extends MapGenerator
+{
+	/**
+	 * Sets up a generator for noise maps
+	 * @param densityIn The chance of obstacles occurring (0-100%)
+	 */
+	public NoiseMapGenerator(int densityIn)
+	{
+		super(densityIn);
+	}//constructor
+
+	@Override
+	public String getName()
+	{
+		return "noise";
+	}//getName
+
+	@Override
+	protected void fill(long[][] rowsIn, int widthIn, int heightIn, long seedIn)
+	{
+		if(getDensity() == 0)
+		{
+			return;
+		}//if
+
+		int obstacleSpacing = 100 / getDensity();
+		SplittableRandom[] randoms = splitRandoms(seedIn, getNoOfBands(heightIn));
+		forEachBand(heightIn, (band, startY, endY) ->
+		{
+			SplittableRandom random = randoms[band];
+			for(int y=startY; y<endY; y++)
+			{
+				long[] row = rowsIn[y];
+				for(int x=0; x<widthIn; x++)
+				{
+					if(random.nextInt(obstacleSpacing) == 0)
+					{
+						row[x >>> 6] |= 1L << x;
+					}//if
+				}//for
+			}//for
+		});
+	}//fill
+}//end
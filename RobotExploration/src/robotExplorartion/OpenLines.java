@@ -0,0 +1,158 @@
+package robotExplorartion;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps track of which points on a known map are open as bitsets, one for each row and one for each column of every
+ * 64 by 64 chunk, so how far a robot could go in a straight line from a point is found 64 points at a time rather
+ * than by looking at each point. The bitsets are updated whenever a point changes to or from open, and are only
+ * made for chunks where a point has been opened.
+ *
+ * A bit can be out of date for a short time while a robot is changing the point, so a line can look a point
+ * longer or shorter than it is, just as a route can be planned across a point another robot is about to change
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+public class OpenLines implements KnownMapListener
+{
+	//The change in X and Y coordinates for a move in each direction (in the order of DirectionEnum)
+	private static final int[] X_STEPS = {0, 1, 0, -1};
+	private static final int[] Y_STEPS = {-1, 0, 1, 0};
+	//Each chunk holds a word for each of its rows (bit x set if the point is open) followed by a word for each
+	//of its columns (bit y set if the point is open)
+	private static final int COLUMNS = ChunkedGrid.CHUNK_SIZE;
+	private static final int MASK = ChunkedGrid.CHUNK_SIZE - 1;
+
+	private final int width;
+	private final int height;
+	private final ChunkedGrid<AtomicLongArray> lines;
+
+	/**
+	 * Starts keeping track of the open points of a known map, including the points already open (the map
+	 * shouldn't be changed until this has finished)
+	 * @param knownMapIn The map to keep track of
+	 */
+	public OpenLines(KnownMap knownMapIn)
+	{
+		width = knownMapIn.getWidth();
+		height = knownMapIn.getHeight();
+		lines = new ChunkedGrid<AtomicLongArray>(width, height, 
+				chunkIndex -> new AtomicLongArray(ChunkedGrid.CHUNK_SIZE * 2));
+		knownMapIn.addListener(this);
+
+		for(int chunkY=0; chunkY<height; chunkY=chunkY+ChunkedGrid.CHUNK_SIZE)
+		{
+			for(int chunkX=0; chunkX<width; chunkX=chunkX+ChunkedGrid.CHUNK_SIZE)
+			{
+				for(int y=chunkY; knownMapIn.isChunkUsed(chunkX, chunkY) && y<Math.min(height, chunkY + ChunkedGrid.CHUNK_SIZE); y++)
+				{
+					for(int x=chunkX; x<Math.min(width, chunkX + ChunkedGrid.CHUNK_SIZE); x++)
+					{
+						if(knownMapIn.getStatus(x, y) == PointStatusEnum.OPEN)
+						{
+							setOpen(x, y, true);
+						}//if
+					}//for
+				}//for
+			}//for
+		}//for
+	}//constructor
+
+	/**
+	 * Updates the bitsets when a point on the known map changes
+	 */
+	@Override
+	public void pointChanged(int x, int y, PointStatusEnum oldStatusIn, PointStatusEnum newStatusIn)
+	{
+		if(newStatusIn == PointStatusEnum.OPEN)
+		{
+			setOpen(x, y, true);
+		}//if
+		else if(oldStatusIn == PointStatusEnum.OPEN)
+		{
+			setOpen(x, y, false);
+		}//else if
+	}//pointChanged
+
+	/**
+	 * Gets how far a straight line from a point goes before it reaches a point that isn't open (or the edge of
+	 * the map)
+	 * @param x The X coordinate of the point the line starts at (which must be on the map, but needn't be open)
+	 * @param y The Y coordinate of the point the line starts at (which must be on the map, but needn't be open)
+	 * @param directionIn The direction of the line (DirectionEnum ordinal)
+	 * @return The number of moves to the first point that isn't open (1 if the next point isn't open)
+	 */
+	public int getRun(int x, int y, int directionIn)
+	{
+		boolean across = X_STEPS[directionIn] != 0;
+		boolean forwards = (X_STEPS[directionIn] + Y_STEPS[directionIn]) > 0;
+		int position = across ? x : y;
+		int length = across ? width : height;
+		int word = across ? (y & MASK) : COLUMNS + (x & MASK);
+		int chunkStart = position & ~MASK;
+		//only the points past the start point count in its own chunk
+		long mask;
+		if(forwards)
+		{
+			mask = ((position & MASK) == MASK) ? 0 : (-1L << ((position & MASK) + 1));
+		}//if
+		else
+		{
+			mask = (1L << (position & MASK)) - 1;
+		}//else
+
+		while(true)
+		{
+			AtomicLongArray chunk = lines.getChunk(across ? lines.getChunkIndex(chunkStart, y) : 
+					lines.getChunkIndex(x, chunkStart));
+			long blocked = mask & ((chunk == null) ? -1L : ~chunk.get(word));
+			if(blocked != 0)
+			{
+				int end = chunkStart + (forwards ? Long.numberOfTrailingZeros(blocked) : 
+						63 - Long.numberOfLeadingZeros(blocked));
+				return Math.abs(end - position);
+			}//if
+
+			chunkStart = forwards ? chunkStart + ChunkedGrid.CHUNK_SIZE : chunkStart - ChunkedGrid.CHUNK_SIZE;
+			if(chunkStart < 0 || chunkStart >= length)
+			{
+				//the line reaches the edge of the map
+				return forwards ? length - position : position + 1;
+			}//if
+			mask = -1L;
+		}//while
+	}//getRun
+
+	/**
+	 * Sets or clears the bits of a point in its row and column
+	 * @param x The X coordinate of the point
+	 * @param y The Y coordinate of the point
+	 * @param openIn True if the point is open, false otherwise
+	 */
+	private void setOpen(int x, int y, boolean openIn)
+	{
+		AtomicLongArray chunk = lines.getOrMakeChunk(lines.getChunkIndex(x, y));
+		changeBit(chunk, y & MASK, 1L << (x & MASK), openIn);
+		changeBit(chunk, COLUMNS + (x & MASK), 1L << (y & MASK), openIn);
+	}//setOpen
+
+	/**
+	 * Sets or clears a bit of a word, without losing a change made to another bit of the word at the same time
+	 * @param chunkIn The words of the chunk
+	 * @param indexIn The index of the word
+	 * @param maskIn The bit to change
+	 * @param setIn True to set the bit, false to clear it
+	 */
+	private static void changeBit(AtomicLongArray chunkIn, int indexIn, long maskIn, boolean setIn)
+	{
+		long word = chunkIn.get(indexIn);
+		while(((word & maskIn) != 0) != setIn)
+		{
+			if(chunkIn.compareAndSet(indexIn, word, setIn ? (word | maskIn) : (word & ~maskIn)))
+			{
+				return;
+			}//if
+			word = chunkIn.get(indexIn);
+		}//while
+	}//changeBit
+}//end
@@ -0,0 +1,239 @@
+package robotExplorartion;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Keeps track of which open points on a known map are joined to each other, so a robot can tell straight away
+ * whether a route to a point exists rather than finding out by searching every open point it can reach.
+ * The open points are held in a union-find forest: each point is joined to its open neighbours as soon as it
+ * becomes open, and two points can reach each other if they have the same root.
+ *
+ * The forest is shared by the robot threads without locking. A point's parent is only ever changed with
+ * compare and set, to a point nearer the root (while finding a root) or, for a root, to the root of another
+ * tree with a lower identifier (when joining them), so the parents always form a forest. The parents are held
+ * in 64 by 64 chunks which are only made when a point in them becomes open.
+ *
+ * Points are never taken out of the forest. A point is only made an obstacle after being open if a robot gave
+ * up on it as a target, so regions joined through it may really be split; the answer can then be "reachable"
+ * when it isn't (and the route search finds out), but never "unreachable" when it is
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+public class OpenRegions implements KnownMapListener
+{
+	//Points are identified by their chunk index followed by their position in the chunk (12 bits)
+	private static final int OFFSET_BITS = 12;
+	private static final int OFFSET_MASK = (1 << OFFSET_BITS) - 1;
+	//The change in X and Y coordinates to each neighbouring point (in the order of DirectionEnum)
+	private static final int[] X_STEPS = {0, 1, 0, -1};
+	private static final int[] Y_STEPS = {-1, 0, 1, 0};
+
+	private final int width;
+	private final int height;
+	//The parent of each point, stored as ~parent so 0 means the point isn't open
+	private final ChunkedGrid<AtomicIntegerArray> parents;
+
+	/**
+	 * Starts keeping track of the open regions of a known map (the map must not have any open points yet)
+	 * @param knownMapIn The map to keep track of
+	 */
+	public OpenRegions(KnownMap knownMapIn)
+	{
+		width = knownMapIn.getWidth();
+		height = knownMapIn.getHeight();
+		parents = new ChunkedGrid<AtomicIntegerArray>(width, height,
+				chunkIndex -> new AtomicIntegerArray(ChunkedGrid.POINTS_PER_CHUNK));
+		knownMapIn.addListener(this);
+	}//constructor
+
+	/**
+	 * Adds a point to the forest when it becomes open, joining it to its open neighbours
+	 */
+	@Override
+	public void pointChanged(int x, int y, PointStatusEnum oldStatusIn, PointStatusEnum newStatusIn)
+	{
+		if(newStatusIn != PointStatusEnum.OPEN || oldStatusIn == PointStatusEnum.OPEN)
+		{
+			return;
+		}//if
+
+		int point = getPoint(x, y);
+		//a point which was open before (and given up on since) keeps its place in the forest
+		parents.getOrMakeChunk(point >>> OFFSET_BITS).compareAndSet(point & OFFSET_MASK, 0, ~point);
+
+		//a neighbour becoming open at the same time either sees this point or is seen by it
+		for(int direction=0; direction<4; direction++)
+		{
+			int neighbourX = x + X_STEPS[direction];
+			int neighbourY = y + Y_STEPS[direction];
+			if(isOpen(neighbourX, neighbourY))
+			{
+				union(point, getPoint(neighbourX, neighbourY));
+			}//if
+		}//for
+	}//pointChanged
+
+	/**
+	 * Checks if a route might exist from a point to a target point, over open points only. The target can have any
+	 * status: it can be reached if the start point is next to it or joined to one of its open neighbours
+	 * @param fromXIn The X coordinate of the start point
+	 * @param fromYIn The Y coordinate of the start point
+	 * @param toXIn The X coordinate of the target point
+	 * @param toYIn The Y coordinate of the target point
+	 * @return False if there is definitely no route, true otherwise (including when the start point isn't open,
+	 * so it isn't in the forest)
+	 */
+	public boolean canReach(int fromXIn, int fromYIn, int toXIn, int toYIn)
+	{
+		if(!isOpen(fromXIn, fromYIn) || (fromXIn == toXIn && fromYIn == toYIn))
+		{
+			return true;
+		}//if
+
+		int from = getPoint(fromXIn, fromYIn);
+		for(int direction=0; direction<4; direction++)
+		{
+			int neighbourX = toXIn + X_STEPS[direction];
+			int neighbourY = toYIn + Y_STEPS[direction];
+			if(neighbourX == fromXIn && neighbourY == fromYIn)
+			{
+				return true;
+			}//if
+			if(isOpen(neighbourX, neighbourY) && connected(from, getPoint(neighbourX, neighbourY)))
+			{
+				return true;
+			}//if
+		}//for
+
+		return false;
+	}//canReach
+
+	/**
+	 * Checks if a point is in the forest (it is open on the known map)
+	 * @param x The X coordinate of the point
+	 * @param y The Y coordinate of the point
+	 * @return True if the point is open, false otherwise (or if it is outside the map)
+	 */
+	private boolean isOpen(int x, int y)
+	{
+		if(!parents.inBounds(x, y))
+		{
+			return false;
+		}//if
+
+		AtomicIntegerArray chunk = parents.getChunk(parents.getChunkIndex(x, y));
+		return chunk != null && chunk.get(ChunkedGrid.getOffset(x, y)) != 0;
+	}//isOpen
+
+	/**
+	 * Finds the root of the tree a point is in, making each point passed on the way point at its grandparent
+	 * (so later searches are shorter)
+	 * @param pointIn The identifier of the point
+	 * @return The identifier of the root
+	 */
+	private int find(int pointIn)
+	{
+		int point = pointIn;
+		while(true)
+		{
+			int parent = getParent(point);
+			if(parent == point)
+			{
+				return point;
+			}//if
+
+			int grandparent = getParent(parent);
+			if(grandparent != parent)
+			{
+				//if another thread has already changed the parent, it has been changed to a point nearer the root
+				compareAndSetParent(point, parent, grandparent);
+			}//if
+			point = parent;
+		}//while
+	}//find
+
+	/**
+	 * Joins the trees two points are in
+	 * @param firstIn The identifier of the first point
+	 * @param secondIn The identifier of the second point
+	 */
+	private void union(int firstIn, int secondIn)
+	{
+		while(true)
+		{
+			int firstRoot = find(firstIn);
+			int secondRoot = find(secondIn);
+			if(firstRoot == secondRoot)
+			{
+				return;
+			}//if
+
+			//the root with the higher identifier joins the other tree, so the parents can never form a loop
+			int high = Math.max(firstRoot, secondRoot);
+			int low = Math.min(firstRoot, secondRoot);
+			if(compareAndSetParent(high, high, low))
+			{
+				return;
+			}//if
+			//another thread joined the higher root to a tree first, so the roots are found again
+		}//while
+	}//union
+
+	/**
+	 * Checks if two points are in the same tree
+	 * @param firstIn The identifier of the first point
+	 * @param secondIn The identifier of the second point
+	 * @return True if the points are joined, false otherwise
+	 */
+	private boolean connected(int firstIn, int secondIn)
+	{
+		while(true)
+		{
+			int firstRoot = find(firstIn);
+			int secondRoot = find(secondIn);
+			if(firstRoot == secondRoot)
+			{
+				return true;
+			}//if
+			if(getParent(firstRoot) == firstRoot)
+			{
+				//the first root was still a root after the second root was found, so the trees were separate
+				return false;
+			}//if
+		}//while
+	}//connected
+
+	/**
+	 * Gets the forest's identifier for a point (its chunk index followed by its position in the chunk)
+	 * @param x The X coordinate of the point
+	 * @param y The Y coordinate of the point
+	 * @return The identifier of the point
+	 */
+	private int getPoint(int x, int y)
+	{
+		return (parents.getChunkIndex(x, y) << OFFSET_BITS) | ChunkedGrid.getOffset(x, y);
+	}//getPoint
+
+	/**
+	 * Gets the parent of a point in the forest
+	 * @param pointIn The identifier of the point (which must be open)
+	 * @return The identifier of its parent (the point itself for a root)
+	 */
+	private int getParent(int pointIn)
+	{
+		return ~parents.getChunk(pointIn >>> OFFSET_BITS).get(pointIn & OFFSET_MASK);
+	}//getParent
+
+	/**
+	 * Changes the parent of a point, but only if it hasn't been changed by another thread
+	 * @param pointIn The identifier of the point
+	 * @param expectedParentIn The parent the point should have
+	 * @param newParentIn The new parent
+	 * @return True if the parent was changed, false otherwise
+	 */
+	private boolean compareAndSetParent(int pointIn, int expectedParentIn, int newParentIn)
+	{
+		return parents.getChunk(pointIn >>> OFFSET_BITS).compareAndSet(pointIn & OFFSET_MASK,
+				~expectedParentIn, ~newParentIn);
+	}//compareAndSetParent
+}//end
@@ -0,0 +1,66 @@
+package robotExplorartion;
+
+/**
+ * Generates a map with walls around the edges and obstacles spread at random over the rest of it. Rather than
+ * drawing numbers one after another from a random number generator, each point's random number is worked out
+ * by mixing the seed with the point's index, so any part of the map can be generated on its own (and
+ * generated again) and always comes out the same
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+public class RandomWorldGenerator implements WorldGenerator
+{
+	private final long seed;
+	//One in this many points is an obstacle
+	private final int obstacleSpacing;
+	private final int width;
+	private final int height;
+
+	/**
+	 * Sets up a generator for a random map
+	 * @param seedIn The seed the map is made from (the same seed always makes the same map)
+	 * @param obstacleProbabilityIn The chance of obstacles occurring (1-100%)
+	 * @param widthIn The width of the map (in squares)
+	 * @param heightIn The height of the map (in squares)
+	 */
+	public RandomWorldGenerator(long seedIn, int obstacleProbabilityIn, int widthIn, int heightIn)
+	{
+		if(obstacleProbabilityIn < 1 || obstacleProbabilityIn > 100)
+		{
+			throw new IllegalArgumentException("The obstacle probability must be between 1 and 100");
+		}//if
+
+		seed = seedIn;
+		obstacleSpacing = 100 / obstacleProbabilityIn;
+		width = widthIn;
+		height = heightIn;
+	}//constructor
+
+	/**
+	 * Checks if there is an obstacle at a point, the edges of the map are always walls
+	 */
+	@Override
+	public boolean isObstacle(int xCoordIn, int yCoordIn)
+	{
+		if(xCoordIn == 0 || yCoordIn == 0 || xCoordIn == width-1 || yCoordIn == height-1)
+		{
+			return true;
+		}//if
+
+		long random = mix(seed + (((long) yCoordIn * width) + xCoordIn) * 0x9E3779B97F4A7C15L);
+		return Long.remainderUnsigned(random, obstacleSpacing) == 0;
+	}//isObstacle
+
+	/**
+	 * Scrambles the bits of a number, so numbers that are close together give completely different results
+	 * (the same mixing function SplittableRandom uses)
+	 * @param valueIn The number to scramble
+	 * @return The scrambled number
+	 */
+	private static long mix(long valueIn)
+	{
+		long value = (valueIn ^ (valueIn >>> 30)) * 0xBF58476D1CE4E5B9L;
+		value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+		return value ^ (value >>> 31);
+	}//mix
+}//end
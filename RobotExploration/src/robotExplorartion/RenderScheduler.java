@@ -0,0 +1,104 @@
+package robotExplorartion;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.swing.Timer;
+
+/**
+ * Decides when a view renders a new frame. Robot threads only ask for a frame, which just sets a flag, so they
+ * never wait for the Swing event thread. A Swing timer then renders at most one frame per tick (on the event
+ * thread), however many robots asked for one since the last frame, so frames the display can't keep up with
+ * are dropped rather than queued
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+public class RenderScheduler
+{
+	//Renders a frame (run on the Swing event thread)
+	private final Runnable renderer;
+	//Fires at the maximum frame rate while frames are being rendered
+	private final Timer timer;
+	//Set when something has changed since the last frame was rendered
+	private final AtomicBoolean framePending = new AtomicBoolean(false);
+	//Set once no more frames will be asked for, so the timer can stop after the last one
+	private volatile boolean finished = false;
+
+	/**
+	 * Makes a scheduler for rendering a view's frames (it doesn't render anything until it is started)
+	 * @param maxFramesPerSecondIn The most frames that will be rendered each second
+	 * @param rendererIn Renders a frame, it is always run on the Swing event thread
+	 */
+	public RenderScheduler(int maxFramesPerSecondIn, Runnable rendererIn)
+	{
+		if(maxFramesPerSecondIn < 1)
+		{
+			throw new IllegalArgumentException("The maximum frames per second must be at least 1");
+		}//if
+
+		renderer = rendererIn;
+		timer = new Timer(1000 / maxFramesPerSecondIn, e -> renderFrame());
+		timer.setCoalesce(true);
+	}//constructor
+
+	/**
+	 * Starts rendering the frames that are asked for
+	 */
+	public void start()
+	{
+		timer.start();
+	}//start
+
+	/**
+	 * Asks for a frame to be rendered. It can be called from any thread and returns straight away,
+	 * any number of calls before the next frame only render that one frame
+	 */
+	public void requestFrame()
+	{
+		if(!framePending.get())
+		{
+			framePending.set(true);
+		}//if
+	}//requestFrame
+
+	/**
+	 * Renders one last frame for anything still waiting, then stops the timer
+	 */
+	public void finish()
+	{
+		framePending.set(true);
+		finished = true;
+	}//finish
+
+	/**
+	 * Changes the maximum frame rate
+	 * @param maxFramesPerSecondIn The most frames that will be rendered each second
+	 */
+	public void setMaxFramesPerSecond(int maxFramesPerSecondIn)
+	{
+		if(maxFramesPerSecondIn < 1)
+		{
+			throw new IllegalArgumentException("The maximum frames per second must be at least 1");
+		}//if
+
+		timer.setDelay(1000 / maxFramesPerSecondIn);
+	}//setMaxFramesPerSecond
+
+	/**
+	 * Renders a frame if one has been asked for since the last frame (called by the timer on the event thread)
+	 */
+	private void renderFrame()
+	{
+		//read before the flag is cleared, so the frame asked for by finish is always rendered before stopping
+		boolean lastFrame = finished;
+
+		if(framePending.getAndSet(false))
+		{
+			renderer.run();
+		}//if
+
+		if(lastFrame)
+		{
+			timer.stop();
+		}//if
+	}//renderFrame
+}//end
@@ -1,7 +1,5 @@
 package robotExplorartion;
 
-import java.awt.*;
-
 /**
  * A simulated robot which takes part in an exploration simulation.
  * The robot is simulated to have 3 ultrasonic sensors (front, left and right hand sides) and
@@ -12,23 +10,28 @@ import java.awt.*;
 public class Robot
 {
 	private String name;
-	private Point coordinates;
-	private int size;
+	//The number of the robot in its simulation (numbered from 0)
+	private int number;
+	//The position of the robot on the map (in squares)
+	private int xCoord;
+	private int yCoord;
 	private DirectionEnum direction;
 	public int noOfSteps;
 	
 	/**
 	 * Constructor, sets up a robot object using the information provided
 	 * @param nameIn The name of the robot
-	 * @param coordinatesIn The coordinates the robot will start at (in pixels)
-	 * @param sizeIn The size of the robot (in pixels)
+	 * @param numberIn The number of the robot in its simulation (numbered from 0)
+	 * @param xCoordIn The X coordinate the robot will start at (in squares)
+	 * @param yCoordIn The Y coordinate the robot will start at (in squares)
 	 * @param directionIn The direction the robot faces when it starts
 	 */
-	public Robot(String nameIn, Point coordinatesIn, int sizeIn, DirectionEnum directionIn)
+	public Robot(String nameIn, int numberIn, int xCoordIn, int yCoordIn, DirectionEnum directionIn)
 	{
 		name = nameIn;
-		coordinates = coordinatesIn;
-		size = sizeIn;
+		number = numberIn;
+		xCoord = xCoordIn;
+		yCoord = yCoordIn;
 		direction = directionIn;
 		noOfSteps = 0;
 	}//constructor
@@ -43,40 +46,42 @@ public class Robot
 	}//getName
 	
 	/**
-	 * Gets the current coordinates of the robot (in pixels)
-	 * @return The current coordinates of the robot
+	 * Gets the number of the robot in its simulation
+	 * @return The robot's number (numbered from 0)
 	 */
-	public Point getCoordinates()
+	public int getNumber()
 	{
-		return coordinates;
-	}//getXCoord
+		return number;
+	}//getNumber
 	
 	/**
-	 * Sets the current coordinates of the robot (in pixels)
-	 * @param coordinatesIn The coordinates of the robot
+	 * Gets the current X coordinate of the robot (in squares)
+	 * @return The current X coordinate of the robot
 	 */
-	public void setCoordinates(Point coordinatesIn)
+	public int getXCoord()
 	{
-		coordinates = coordinatesIn;
-	}//setCoordinates
+		return xCoord;
+	}//getXCoord
 	
 	/**
-	 * Gets the size of the robot (in pixels)
-	 * @return The size of the robot
+	 * Gets the current Y coordinate of the robot (in squares)
+	 * @return The current Y coordinate of the robot
 	 */
-	public int getSize()
+	public int getYCoord()
 	{
-		return size;
-	}//getSize
+		return yCoord;
+	}//getYCoord
 	
 	/**
-	 * Sets the size of the robot (in pixels)
-	 * @param sizeIn The size of the robot
+	 * Sets the current coordinates of the robot (in squares)
+	 * @param xCoordIn The X coordinate of the robot
+	 * @param yCoordIn The Y coordinate of the robot
 	 */
-	public void setSize(int sizeIn)
+	public void setCoordinates(int xCoordIn, int yCoordIn)
 	{
-		size = sizeIn;
-	}//setSize
+		xCoord = xCoordIn;
+		yCoord = yCoordIn;
+	}//setCoordinates
 	
 	/**
 	 * Gets the direction the robot is facing
@@ -97,25 +102,25 @@ public class Robot
 	}//setDirection
 	
 	/**
-	 * Moves the robot forward 1 square in the direction it is currently facing (1 square = the size of the robot in pixels)
+	 * Moves the robot forward 1 square in the direction it is currently facing
 	 */
 	public void moveForwards()
 	{
 		if(direction.equals(DirectionEnum.NORTH))
 		{
-			coordinates.y = coordinates.y - size;
+			yCoord = yCoord - 1;
 		}//if
 		else if(direction.equals(DirectionEnum.EAST))
 		{
-			coordinates.x = coordinates.x + size;
+			xCoord = xCoord + 1;
 		}//else if
 		else if(direction.equals(DirectionEnum.SOUTH))
 		{
-			coordinates.y = coordinates.y + size;
+			yCoord = yCoord + 1;
 		}//else if
 		else//facing west
 		{
-			coordinates.x = coordinates.x - size;
+			xCoord = xCoord - 1;
 		}//else
 	}//moveForwards
 	
@@ -164,47 +169,4 @@ public class Robot
 			direction = DirectionEnum.SOUTH;
 		}//else
 	}//turnLeft
-	
-	/**
-	 * Paints the robot as a triangle on the screen
-	 * @param g The graphics object the robot will be painted on
-	 */
-	public void paint(Graphics g)
-	{
-		Graphics2D g2D = (Graphics2D) g;
-		Point front = null;
-		Point backRight = null;
-		Point backLeft = null;
-		
-		if(direction.equals(DirectionEnum.NORTH))
-		{
-			front = new Point(coordinates.x+(size/2), coordinates.y);
-			backRight = new Point(coordinates.x+size, coordinates.y+size);
-			backLeft = new Point(coordinates.x, coordinates.y+size);
-		}//if
-		else if(direction.equals(DirectionEnum.EAST))
-		{
-			front = new Point(coordinates.x+size, coordinates.y+(size/2));
-			backRight = new Point(coordinates.x, coordinates.y+size);
-			backLeft = new Point(coordinates.x, coordinates.y);
-		}//else if
-		else if(direction.equals(DirectionEnum.SOUTH))
-		{
-			front = new Point(coordinates.x+(size/2), coordinates.y+size);
-			backRight = new Point(coordinates.x, coordinates.y);
-			backLeft = new Point(coordinates.x+size, coordinates.y);
-		}//else if
-		else//facing west
-		{
-			front = new Point(coordinates.x, coordinates.y+(size/2));
-			backRight = new Point(coordinates.x+size, coordinates.y);
-			backLeft = new Point(coordinates.x+size, coordinates.y+size);
-		}//else
-		
-		int[] xPoints = {front.x, backRight.x, backLeft.x};
-		int[] yPoints = {front.y, backRight.y, backLeft.y};
-		
-		g2D.setColor(Color.cyan);
-		g2D.fillPolygon(xPoints, yPoints, 3);
-	}//paint
 }//end
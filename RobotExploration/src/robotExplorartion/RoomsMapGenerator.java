@@ -0,0 +1,177 @@
+package robotExplorartion;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Generates maps of rooms joined by corridors, like the floors of a building. The map is split into cells of
+ * at least 16 by 16 squares and each cell either gets a room of random size or (if it doesn't) a single square where
+ * corridors meet. Every cell is joined to the cells to its right and below it by a corridor, going across from
+ * the middle of one and then down or up to the middle of the other.
+ *
+ * The rooms are placed first, a row of cells at a time in parallel. The squares are then carved in bands of rows
+ * in parallel, each band carving only its own rows of any room or corridor that crosses it, so bands never write
+ * to the same row
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+public class RoomsMapGenerator extends MapGenerator
+{
+	//The width and height of each cell (in squares)
+	private static final int CELL_SIZE = 16;
+	//The smallest a room is made (if it fits in the cell)
+	private static final int MIN_ROOM_SIZE = 3;
+
+	/**
+	 * Sets up a generator for maps of rooms and corridors
+	 * @param densityIn The chance of each cell having a room (0-100%)
+	 */
+	public RoomsMapGenerator(int densityIn)
+	{
+		super(densityIn);
+	}//constructor
+
+	@Override
+	public String getName()
+	{
+		return "rooms";
+	}//getName
+
+	@Override
+	protected void fill(long[][] rowsIn, int widthIn, int heightIn, long seedIn)
+	{
+		//the cells are stretched so they cover all of the squares inside the walls
+		int cellsX = Math.max(1, (widthIn - 2) / CELL_SIZE);
+		int cellsY = Math.max(1, (heightIn - 2) / CELL_SIZE);
+		int cellWidth = (widthIn - 2) / cellsX;
+		int cellHeight = (heightIn - 2) / cellsY;
+
+		//each room is stored as its left, top, right and bottom (inclusive)
+		int[] rooms = new int[cellsX * cellsY * 4];
+		SplittableRandom[] randoms = splitRandoms(seedIn, cellsY);
+		IntStream.range(0, cellsY).parallel().forEach(cellY ->
+		{
+			SplittableRandom random = randoms[cellY];
+			for(int cellX=0; cellX<cellsX; cellX++)
+			{
+				placeRoom(rooms, (cellY * cellsX) + cellX, 1 + (cellX * cellWidth), 1 + (cellY * cellHeight),
+						cellWidth, cellHeight, random);
+			}//for
+		});
+
+		forEachBand(heightIn, (band, startY, endY) ->
+		{
+			for(int y=startY; y<endY; y++)
+			{
+				setSquares(rowsIn[y], 0, widthIn);
+			}//for
+
+			//rooms are inside their own cell, corridors reach down to the middle of the cell below
+			int firstCellY = Math.max(0, ((startY - 1) / cellHeight) - 1);
+			int lastCellY = Math.min(cellsY - 1, Math.max(0, endY - 2) / cellHeight);
+			for(int cellY=firstCellY; cellY<=lastCellY; cellY++)
+			{
+				for(int cellX=0; cellX<cellsX; cellX++)
+				{
+					int room = ((cellY * cellsX) + cellX) * 4;
+					carve(rowsIn, rooms[room], rooms[room+1], rooms[room+2], rooms[room+3], startY, endY);
+					if(cellX < cellsX-1)
+					{
+						carveCorridor(rowsIn, rooms, room, room + 4, startY, endY);
+					}//if
+					if(cellY < cellsY-1)
+					{
+						carveCorridor(rowsIn, rooms, room, room + (cellsX * 4), startY, endY);
+					}//if
+				}//for
+			}//for
+		});
+	}//fill
+
+	/**
+	 * Places the room in a cell, or the square corridors meet at if the cell doesn't get a room
+	 * @param roomsIn The rooms
+	 * @param cellIn The index of the cell
+	 * @param cellXIn The X coordinate of the left hand side of the cell
+	 * @param cellYIn The Y coordinate of the top of the cell
+	 * @param cellWidthIn The width of the cell
+	 * @param cellHeightIn The height of the cell
+	 * @param randomIn The random number generator for the cell's row
+	 */
+	private void placeRoom(int[] roomsIn, int cellIn, int cellXIn, int cellYIn, int cellWidthIn, int cellHeightIn,
+			SplittableRandom randomIn)
+	{
+		int room = cellIn * 4;
+		if(getDensity() > 0 && randomIn.nextInt(100) < getDensity())
+		{
+			//rooms leave at least one square of wall between them and the edge of the cell
+			int roomWidth = randomSize(cellWidthIn - 2, randomIn);
+			int roomHeight = randomSize(cellHeightIn - 2, randomIn);
+			roomsIn[room] = cellXIn + 1 + randomIn.nextInt(Math.max(1, cellWidthIn - roomWidth - 1));
+			roomsIn[room+1] = cellYIn + 1 + randomIn.nextInt(Math.max(1, cellHeightIn - roomHeight - 1));
+			roomsIn[room+2] = roomsIn[room] + roomWidth - 1;
+			roomsIn[room+3] = roomsIn[room+1] + roomHeight - 1;
+		}//if
+		else
+		{
+			roomsIn[room] = cellXIn + (cellWidthIn / 2);
+			roomsIn[room+1] = cellYIn + (cellHeightIn / 2);
+			roomsIn[room+2] = roomsIn[room];
+			roomsIn[room+3] = roomsIn[room+1];
+		}//else
+	}//placeRoom
+
+	/**
+	 * Picks the width or height of a room
+	 * @param maxSizeIn The most room there is
+	 * @param randomIn The random number generator
+	 * @return The size, between MIN_ROOM_SIZE and maxSizeIn (or maxSizeIn if that is smaller, but at least 1)
+	 */
+	private static int randomSize(int maxSizeIn, SplittableRandom randomIn)
+	{
+		if(maxSizeIn <= MIN_ROOM_SIZE)
+		{
+			return Math.max(1, maxSizeIn);
+		}//if
+
+		return MIN_ROOM_SIZE + randomIn.nextInt(maxSizeIn - MIN_ROOM_SIZE + 1);
+	}//randomSize
+
+	/**
+	 * Carves a corridor between the middles of two rooms, across from the first and then up or down to the second
+	 * @param rowsIn The map
+	 * @param roomsIn The rooms
+	 * @param fromIn The index of the first room in roomsIn
+	 * @param toIn The index of the second room in roomsIn
+	 * @param startYIn The first row that may be carved
+	 * @param endYIn The row after the last row that may be carved
+	 */
+	private static void carveCorridor(long[][] rowsIn, int[] roomsIn, int fromIn, int toIn, int startYIn, int endYIn)
+	{
+		int fromX = (roomsIn[fromIn] + roomsIn[fromIn+2]) / 2;
+		int fromY = (roomsIn[fromIn+1] + roomsIn[fromIn+3]) / 2;
+		int toX = (roomsIn[toIn] + roomsIn[toIn+2]) / 2;
+		int toY = (roomsIn[toIn+1] + roomsIn[toIn+3]) / 2;
+
+		carve(rowsIn, Math.min(fromX, toX), fromY, Math.max(fromX, toX), fromY, startYIn, endYIn);
+		carve(rowsIn, toX, Math.min(fromY, toY), toX, Math.max(fromY, toY), startYIn, endYIn);
+	}//carveCorridor
+
+	/**
+	 * Clears the obstacles off a rectangle of squares, only within a band of rows
+	 * @param rowsIn The map
+	 * @param leftIn The X coordinate of the left hand side of the rectangle
+	 * @param topIn The Y coordinate of the top of the rectangle
+	 * @param rightIn The X coordinate of the right hand side of the rectangle (inclusive)
+	 * @param bottomIn The Y coordinate of the bottom of the rectangle (inclusive)
+	 * @param startYIn The first row that may be carved
+	 * @param endYIn The row after the last row that may be carved
+	 */
+	private static void carve(long[][] rowsIn, int leftIn, int topIn, int rightIn, int bottomIn, int startYIn, int endYIn)
+	{
+		for(int y=Math.max(topIn, startYIn); y<=bottomIn && y<endYIn; y++)
+		{
+			clearSquares(rowsIn[y], leftIn, rightIn + 1);
+		}//for
+	}//carve
+}//end
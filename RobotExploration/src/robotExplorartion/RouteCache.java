@@ -0,0 +1,304 @@
+package robotExplorartion;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Keeps the routes the robots have planned, so a route asked for again from the same point, facing the same way,
+ * to the same target is reused rather than searched for again. The cache is shared by all of the robots in a
+ * simulation and holds a limited number of routes, letting go of the one used least recently when it is full.
+ *
+ * The map is split into 64 by 64 regions (the same as the chunks of a ChunkedGrid), each with a version number
+ * which goes up every time a point in it becomes open or stops being open. A route records the version of every
+ * region it passes through when it is added, so while none of them have changed it can be used straight away.
+ * When one has, the points of the route in that region are checked again: the route is thrown away if any of them
+ * is no longer open, and kept (with the new version) otherwise. A route is only thrown away when a point on it
+ * changes, so it can cost more than a route planned now would, where the map has opened up around it since
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+public class RouteCache implements KnownMapListener
+{
+	private final KnownMap knownMap;
+	private final int width;
+	//The number of regions across the map
+	private final int regionsX;
+	//How many times whether points are open has changed in each region, indexed row by row
+	private final AtomicIntegerArray versions;
+	//The routes, by start point, start direction and target point, least recently used first
+	private final LinkedHashMap<Long, Route> routes;
+	//The number of routes found in the cache, not found in it, and thrown away because the map changed
+	private long noOfHits = 0;
+	private long noOfMisses = 0;
+	private long noOfInvalidations = 0;
+
+	/**
+	 * Sets up an empty cache, which keeps itself up to date with a known map
+	 * @param knownMapIn The map the routes are planned across
+	 * @param capacityIn The most routes the cache holds
+	 */
+	public RouteCache(KnownMap knownMapIn, int capacityIn)
+	{
+		if(capacityIn < 1)
+		{
+			throw new IllegalArgumentException("A route cache can't hold " + capacityIn + " routes");
+		}//if
+
+		knownMap = knownMapIn;
+		width = knownMapIn.getWidth();
+		regionsX = (width + ChunkedGrid.CHUNK_SIZE - 1) >>> ChunkedGrid.CHUNK_SHIFT;
+		int regionsY = (knownMapIn.getHeight() + ChunkedGrid.CHUNK_SIZE - 1) >>> ChunkedGrid.CHUNK_SHIFT;
+		versions = new AtomicIntegerArray(regionsX * regionsY);
+		routes = new LinkedHashMap<Long, Route>(16, 0.75f, true)
+		{
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, Route> eldestIn)
+			{
+				return size() > capacityIn;
+			}//removeEldestEntry
+		};
+		knownMapIn.addListener(this);
+	}//constructor
+
+	/**
+	 * Moves the version of a point's region on when the point becomes open or stops being open
+	 */
+	@Override
+	public void pointChanged(int x, int y, PointStatusEnum oldStatusIn, PointStatusEnum newStatusIn)
+	{
+		if((oldStatusIn == PointStatusEnum.OPEN) != (newStatusIn == PointStatusEnum.OPEN))
+		{
+			versions.incrementAndGet(getRegion(x, y));
+		}//if
+	}//pointChanged
+
+	/**
+	 * Looks for a route in the cache, and gives it to a planner if one is found which can still be followed
+	 * @param startXIn The X coordinate of the start point
+	 * @param startYIn The Y coordinate of the start point
+	 * @param startDirectionIn The direction the robot is facing at the start point
+	 * @param targetXIn The X coordinate of the target point
+	 * @param targetYIn The Y coordinate of the target point
+	 * @param plannerIn The planner to leave the route in (it can then be read with getPathLength and getPathPoint)
+	 * @return True if the route was found, false otherwise
+	 */
+	public synchronized boolean getRoute(int startXIn, int startYIn, DirectionEnum startDirectionIn, int targetXIn,
+			int targetYIn, RoutePlanner plannerIn)
+	{
+		Long key = getKey(startXIn, startYIn, startDirectionIn, targetXIn, targetYIn);
+		Route route = routes.get(key);
+		if(route == null)
+		{
+			noOfMisses++;
+			return false;
+		}//if
+
+		for(int a=0; a<route.regions.length; a++)
+		{
+			int version = versions.get(route.regions[a]);
+			if(version != route.versions[a])
+			{
+				if(!isOpen(route.path, route.regions[a]))
+				{
+					routes.remove(key);
+					noOfInvalidations++;
+					noOfMisses++;
+					return false;
+				}//if
+				route.versions[a] = version;
+			}//if
+		}//for
+
+		noOfHits++;
+		plannerIn.setPath(route.path);
+		return true;
+	}//getRoute
+
+	/**
+	 * Adds the route a planner has just found to the cache (unless the map has already changed under it)
+	 * @param startXIn The X coordinate of the start point
+	 * @param startYIn The Y coordinate of the start point
+	 * @param startDirectionIn The direction the robot is facing at the start point
+	 * @param targetXIn The X coordinate of the target point
+	 * @param targetYIn The Y coordinate of the target point
+	 * @param plannerIn The planner holding the route
+	 */
+	public synchronized void addRoute(int startXIn, int startYIn, DirectionEnum startDirectionIn, int targetXIn,
+			int targetYIn, RoutePlanner plannerIn)
+	{
+		int[] path = new int[plannerIn.getPathLength()];
+		int[] regions = new int[4];
+		int noOfRegions = 0;
+		for(int a=0; a<path.length; a++)
+		{
+			path[a] = plannerIn.getPathPoint(a);
+			int region = getRegion(path[a] % width, path[a] / width);
+			if(noOfRegions == 0 || regions[noOfRegions-1] != region)
+			{
+				int b = 0;
+				while(b < noOfRegions && regions[b] != region)
+				{
+					b++;
+				}//while
+				if(b == noOfRegions)
+				{
+					if(noOfRegions == regions.length)
+					{
+						regions = Arrays.copyOf(regions, noOfRegions * 2);
+					}//if
+					regions[noOfRegions++] = region;
+				}//if
+			}//if
+		}//for
+
+		//the versions are read before the points are checked, so any change after the check moves them on
+		int[] regionVersions = new int[noOfRegions];
+		for(int a=0; a<noOfRegions; a++)
+		{
+			regionVersions[a] = versions.get(regions[a]);
+		}//for
+		for(int a=0; a<noOfRegions; a++)
+		{
+			if(!isOpen(path, regions[a]))
+			{
+				return;
+			}//if
+		}//for
+
+		routes.put(getKey(startXIn, startYIn, startDirectionIn, targetXIn, targetYIn),
+				new Route(path, Arrays.copyOf(regions, noOfRegions), regionVersions));
+	}//addRoute
+
+	/**
+	 * Gets the number of times a route was found in the cache
+	 * @return The number of hits
+	 */
+	public synchronized long getNoOfHits()
+	{
+		return noOfHits;
+	}//getNoOfHits
+
+	/**
+	 * Gets the number of times a route wasn't found in the cache (including routes thrown away as the map changed)
+	 * @return The number of misses
+	 */
+	public synchronized long getNoOfMisses()
+	{
+		return noOfMisses;
+	}//getNoOfMisses
+
+	/**
+	 * Gets the number of routes thrown away because a point on them stopped being open
+	 * @return The number of routes thrown away
+	 */
+	public synchronized long getNoOfInvalidations()
+	{
+		return noOfInvalidations;
+	}//getNoOfInvalidations
+
+	/**
+	 * Gets the share of the routes asked for which were found in the cache
+	 * @return The hit rate (0 to 1, 0 if no routes have been asked for)
+	 */
+	public synchronized double getHitRate()
+	{
+		long lookups = noOfHits + noOfMisses;
+		return (lookups == 0) ? 0 : (double) noOfHits / lookups;
+	}//getHitRate
+
+	/**
+	 * Gets the share of the routes asked for which weren't found in the cache
+	 * @return The miss rate (0 to 1, 0 if no routes have been asked for)
+	 */
+	public synchronized double getMissRate()
+	{
+		long lookups = noOfHits + noOfMisses;
+		return (lookups == 0) ? 0 : (double) noOfMisses / lookups;
+	}//getMissRate
+
+	/**
+	 * Gets the number of routes held
+	 * @return The number of routes
+	 */
+	public synchronized int getNoOfRoutes()
+	{
+		return routes.size();
+	}//getNoOfRoutes
+
+	/**
+	 * Checks that every point of a route in a region is open
+	 * @param pathIn The points of the route (y * width + x)
+	 * @param regionIn The index of the region
+	 * @return True if they are all open, false otherwise
+	 */
+	private boolean isOpen(int[] pathIn, int regionIn)
+	{
+		for(int a=0; a<pathIn.length; a++)
+		{
+			int x = pathIn[a] % width;
+			int y = pathIn[a] / width;
+			if(getRegion(x, y) == regionIn && knownMap.getStatus(x, y) != PointStatusEnum.OPEN)
+			{
+				return false;
+			}//if
+		}//for
+
+		return true;
+	}//isOpen
+
+	/**
+	 * Gets the index of the region a point is in
+	 * @param x The X coordinate of the point
+	 * @param y The Y coordinate of the point
+	 * @return The index of the region
+	 */
+	private int getRegion(int x, int y)
+	{
+		return ((y >>> ChunkedGrid.CHUNK_SHIFT) * regionsX) + (x >>> ChunkedGrid.CHUNK_SHIFT);
+	}//getRegion
+
+	/**
+	 * Gets the key a route is held under
+	 * @param startXIn The X coordinate of the start point
+	 * @param startYIn The Y coordinate of the start point
+	 * @param startDirectionIn The direction the robot is facing at the start point
+	 * @param targetXIn The X coordinate of the target point
+	 * @param targetYIn The Y coordinate of the target point
+	 * @return The key (the start point, then the direction, then the target point, each y * width + x)
+	 */
+	private Long getKey(int startXIn, int startYIn, DirectionEnum startDirectionIn, int targetXIn, int targetYIn)
+	{
+		long start = ((long) startYIn * width) + startXIn;
+		long target = ((long) targetYIn * width) + targetXIn;
+		return (start << 33) | ((long) startDirectionIn.ordinal() << 31) | target;
+	}//getKey
+
+	/**
+	 * A route held in the cache
+	 * @author Paul Monk
+	 * @version 12/03/2014
+	 */
+	private static class Route
+	{
+		//The points of the route, in the same order as RoutePlanner.getPathPoint
+		private final int[] path;
+		//The regions the route passes through, and their versions when it was last checked
+		private final int[] regions;
+		private final int[] versions;
+
+		/**
+		 * Sets up a route
+		 * @param pathIn The points of the route
+		 * @param regionsIn The regions the route passes through
+		 * @param versionsIn The versions of the regions
+		 */
+		private Route(int[] pathIn, int[] regionsIn, int[] versionsIn)
+		{
+			path = pathIn;
+			regions = regionsIn;
+			versions = versionsIn;
+		}//constructor
+	}//Route
+}//end
@@ -0,0 +1,1139 @@
+package robotExplorartion;
+
+import java.util.Arrays;
+
+/**
+ * Plans routes across a known map using the A* path finding algorithm. One planner is owned by each robot thread
+ * and is reused for every route that robot plans: all of the search information is held in int arrays with one
+ * entry per point on the map, and the arrays are never cleared. Instead every search has its own generation number,
+ * and an entry only counts as part of the current search if its stamp matches the current generation.
+ * The arrays are split into 64 by 64 chunks which are only made when a search first reaches them, so a planner
+ * on a huge map only uses memory for the area its searches cover. Once the chunks have been made, planning
+ * a route doesn't allocate any memory.
+ *
+ * The costs are the same as the robot's movements: 1 to move forwards, 2 for a 90 degree turn and a move forwards,
+ * 3 for two 90 degree turns and a move forwards. Points with the same f score are searched most recent first.
+ *
+ * The planner can also find the nearest frontier point by how far the robot really has to travel to it, rather
+ * than in a straight line. This spreads a wavefront out from the robot in order of cost (with the same costs
+ * as the routes), stopping at the first frontier point it reaches, so the point and the route to it are
+ * found together. As the costs are all 1 to 3 the wavefront is held in 4 buckets, one for each cost modulo 4,
+ * instead of a heap.
+ *
+ * Routes can also be planned with jump point search, which finds routes of exactly the lowest cost while putting
+ * far fewer points in the open list. The search is over a point and the direction the robot faces there, and it
+ * jumps along straight lines rather than stepping one point at a time, only stopping where the route might have to
+ * turn. The cheapest route can always be changed, without costing any more, so each of its turns is as early as it
+ * can be: a turn is never needed where the robot could have turned one point earlier and still got through, so a
+ * jump only stops where the line it would turn onto, moved back one point, runs into an obstacle (or where the
+ * target is along that line). The estimate of the cost still to go counts the turns the robot has to make as well
+ * as the distance, so on open maps only the points along the cheapest route are searched.
+ *
+ * Long routes can also be planned on an abstract graph of the places routes can cross from one 64 by 64 chunk to
+ * the next (see HierarchicalPlanner), which is kept by the planner and worked out as the map is explored. Routes
+ * to targets in or next to the start point's chunk are still planned with A*, as they don't search much of the map.
+ * Only the first leg of a long route (as far as the next chunk) is planned at first, and the robot moves on to each
+ * of the others with continueRoute
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+public class RoutePlanner
+{
+	//The change in X and Y coordinates for a move in each direction (in the order of DirectionEnum)
+	private static final int[] X_STEPS = {0, 1, 0, -1};
+	private static final int[] Y_STEPS = {-1, 0, 1, 0};
+	//The cost of a move, indexed by how many quarter turns (clockwise) the robot has to make before moving
+	private static final int[] MOVE_COSTS = {1, 2, 3, 2};
+	//Value of a heap index for a point in the closed list
+	private static final int CLOSED = -1;
+	//The search information held for each point in a chunk, in this order
+	private static final int STAMP = 0;
+	private static final int G_SCORE = 1;
+	private static final int PARENT = 2;
+	private static final int DIRECTION = 3;
+	//Position of the point in the open list heap, or CLOSED
+	private static final int HEAP_INDEX = 4;
+	private static final int FIELDS = 5;
+	//Points are identified by their chunk index followed by their position in the chunk (12 bits)
+	private static final int OFFSET_BITS = 12;
+	private static final int OFFSET_MASK = (1 << OFFSET_BITS) - 1;
+	//Jump point search states are identified by their point followed by their direction (2 bits), and hold a
+	//stamp, g score and parent state (in the same positions as the points' fields) and the state's heap index
+	private static final int STATE_OFFSET_BITS = OFFSET_BITS + 2;
+	private static final int STATE_OFFSET_MASK = (1 << STATE_OFFSET_BITS) - 1;
+	private static final int STATE_HEAP_INDEX = 3;
+	private static final int STATE_FIELDS = 4;
+	//The most chunks a map can have for its states to be identified by an int
+	private static final int MAX_JUMP_CHUNKS = 1 << (31 - STATE_OFFSET_BITS);
+	//How much the estimated cost of a route through the point a jump has got to can go up before the jump stops
+	//(one move away from the target), as a jump that stops too soon only has to be carried on later
+	private static final int JUMP_SLACK = 2;
+	//The distance kept for each point during a jump point search (after the stamp) to the next point a route
+	//going in each direction might turn at
+	private static final int NEXT_TURN = 1;
+	private static final int TURN_FIELDS = 5;
+	//Value of a distance that hasn't been found yet, and of a line where a route can't turn again
+	private static final int UNKNOWN = -1;
+	private static final int NO_TURN = Integer.MAX_VALUE;
+
+	private final KnownMap knownMap;
+	private final int width;
+	//Search information for each point on the map (only valid where the stamp matches the current generation)
+	private final ChunkedGrid<int[]> chunks;
+	//Search information for each state of jump point search (made the first time a jump point search reaches them)
+	private final ChunkedGrid<int[]> stateChunks;
+	//Distances to the next point a route might turn at, found during a jump point search
+	private final ChunkedGrid<int[]> turnChunks;
+	//How far the robot could go in a straight line from each point (made the first time jump point search is used,
+	//unless it is shared)
+	private OpenLines openLines;
+	//Plans long routes on an abstract graph of the chunks (made the first time hierarchical search is used)
+	private HierarchicalPlanner hierarchicalPlanner;
+	//True while the route is a leg of a route planned with hierarchical search, whose later legs are still to come
+	private boolean followingLegs = false;
+	//True while the open list holds jump point search states rather than points
+	private boolean jumping = false;
+	//The target point of the current jump point search
+	private int targetX;
+	private int targetY;
+	//The open list, a binary heap of points along with their f scores and when they were added
+	private int[] heap = new int[256];
+	private int[] heapFScores = new int[256];
+	private int[] heapSequences = new int[256];
+	private int heapSize;
+	private int generation = 0;
+	private int sequence;
+	//The wavefront, one stack of points for each cost modulo 4 (points can be in it more than once, only the entry
+	//with the point's current g score counts)
+	private final int[][] buckets = new int[4][256];
+	private final int[] bucketSizes = new int[4];
+	//The last route found, from the point before the target back to the start point
+	private int[] path = new int[64];
+	private int pathLength = 0;
+
+	/**
+	 * Makes a planner for routes across a known map
+	 * @param knownMapIn The map routes will be planned across
+	 */
+	public RoutePlanner(KnownMap knownMapIn)
+	{
+		this(knownMapIn, null);
+	}//constructor
+
+	/**
+	 * Makes a planner for routes across a known map, sharing the open lines of the map with other planners
+	 * @param knownMapIn The map routes will be planned across
+	 * @param openLinesIn The open lines of the map, used by jump point search (null to make them the first time
+	 * jump point search is used)
+	 */
+	public RoutePlanner(KnownMap knownMapIn, OpenLines openLinesIn)
+	{
+		knownMap = knownMapIn;
+		width = knownMapIn.getWidth();
+		chunks = new ChunkedGrid<int[]>(knownMapIn.getWidth(), knownMapIn.getHeight(), 
+				chunkIndex -> new int[ChunkedGrid.POINTS_PER_CHUNK * FIELDS]);
+		stateChunks = new ChunkedGrid<int[]>(knownMapIn.getWidth(), knownMapIn.getHeight(), 
+				chunkIndex -> new int[ChunkedGrid.POINTS_PER_CHUNK * 4 * STATE_FIELDS]);
+		turnChunks = new ChunkedGrid<int[]>(knownMapIn.getWidth(), knownMapIn.getHeight(), 
+				chunkIndex -> new int[ChunkedGrid.POINTS_PER_CHUNK * TURN_FIELDS]);
+		openLines = openLinesIn;
+	}//constructor
+
+	/**
+	 * Plans a route from a start point to a target point, only travelling over open points. The target
+	 * point itself can have any status
+	 * @param startXIn The X coordinate of the start point
+	 * @param startYIn The Y coordinate of the start point
+	 * @param startDirectionIn The direction the robot is facing at the start point
+	 * @param targetXIn The X coordinate of the target point
+	 * @param targetYIn The Y coordinate of the target point
+	 * @return True if a route was found (it can then be read with getPathLength and getPathPoint), false otherwise
+	 */
+	public boolean findRoute(int startXIn, int startYIn, DirectionEnum startDirectionIn, int targetXIn, int targetYIn)
+	{
+		pathLength = 0;
+		followingLegs = false;
+		if(startXIn == targetXIn && startYIn == targetYIn)
+		{
+			return true;
+		}//if
+
+		startSearch();
+		jumping = false;
+		int start = getPoint(startXIn, startYIn);
+		touch(start, 0, -1, startDirectionIn.ordinal());
+		push(start, 0);
+		int targetParent = -1;
+
+		while(targetParent == -1)
+		{
+			if(heapSize == 0)
+			{
+				//no path found to target point
+				return false;
+			}//if
+
+			int current = poll();
+			int[] currentChunk = chunks.getChunk(current >>> OFFSET_BITS);
+			int currentBase = (current & OFFSET_MASK) * FIELDS;
+			currentChunk[currentBase + HEAP_INDEX] = CLOSED;
+			int currentX = getXCoord(current);
+			int currentY = getYCoord(current);
+			int currentDirection = currentChunk[currentBase + DIRECTION];
+			int currentGScore = currentChunk[currentBase + G_SCORE];
+
+			for(int direction=0; direction<4; direction++)
+			{
+				int x = currentX + X_STEPS[direction];
+				int y = currentY + Y_STEPS[direction];
+				int gScore = currentGScore + MOVE_COSTS[(direction - currentDirection) & 3];
+
+				if(x == targetXIn && y == targetYIn)
+				{
+					//target point found, the search finishes once this point has been expanded
+					targetParent = current;
+				}//if
+				else if(knownMap.getStatus(x, y) == PointStatusEnum.OPEN)
+				{
+					int point = getPoint(x, y);
+					int[] chunk = chunks.getOrMakeChunk(point >>> OFFSET_BITS);
+					int base = (point & OFFSET_MASK) * FIELDS;
+					if(chunk[base + STAMP] != generation)//point hasn't been seen in this search
+					{
+						int hScore = Math.abs(x - targetXIn) + Math.abs(y - targetYIn);
+						touch(point, gScore, current, direction);
+						push(point, gScore + hScore);
+					}//if
+					else if(chunk[base + HEAP_INDEX] != CLOSED && gScore < chunk[base + G_SCORE])//a better path to an open point
+					{
+						int heapIndex = chunk[base + HEAP_INDEX];
+						heapFScores[heapIndex] = heapFScores[heapIndex] - chunk[base + G_SCORE] + gScore;
+						heapSequences[heapIndex] = sequence++;
+						chunk[base + G_SCORE] = gScore;
+						chunk[base + PARENT] = current;
+						chunk[base + DIRECTION] = direction;
+						siftUp(heapIndex);
+					}//else if
+				}//else if
+			}//for
+		}//while
+
+		mapPath(targetParent);
+		return true;
+	}//findRoute
+
+	/**
+	 * Plans a route from a start point to a target point with jump point search, only travelling over open points.
+	 * The target point itself can have any status. The route always has the lowest cost there is (which findRoute
+	 * doesn't quite promise, as it only keeps the cheapest way to each point whichever way the robot faces there).
+	 * Maps with more than 2^17 chunks (such as 23000 by 23000 squares) have too many states to number, so their
+	 * routes are planned by findRoute instead
+	 * @param startXIn The X coordinate of the start point
+	 * @param startYIn The Y coordinate of the start point
+	 * @param startDirectionIn The direction the robot is facing at the start point
+	 * @param targetXIn The X coordinate of the target point
+	 * @param targetYIn The Y coordinate of the target point
+	 * @return True if a route was found (it can then be read with getPathLength and getPathPoint), false otherwise
+	 */
+	public boolean findJumpPointRoute(int startXIn, int startYIn, DirectionEnum startDirectionIn, 
+			int targetXIn, int targetYIn)
+	{
+		if(stateChunks.getNoOfChunks() > MAX_JUMP_CHUNKS)
+		{
+			return findRoute(startXIn, startYIn, startDirectionIn, targetXIn, targetYIn);
+		}//if
+
+		pathLength = 0;
+		followingLegs = false;
+		if(startXIn == targetXIn && startYIn == targetYIn)
+		{
+			return true;
+		}//if
+		if(openLines == null)
+		{
+			openLines = new OpenLines(knownMap);
+		}//if
+
+		startSearch();
+		jumping = true;
+		targetX = targetXIn;
+		targetY = targetYIn;
+		int startState = (getPoint(startXIn, startYIn) << 2) | startDirectionIn.ordinal();
+		reachState(startState, 0, -1);
+
+		while(heapSize > 0)
+		{
+			int current = poll();
+			int[] currentChunk = stateChunks.getChunk(current >>> STATE_OFFSET_BITS);
+			int currentBase = (current & STATE_OFFSET_MASK) * STATE_FIELDS;
+			currentChunk[currentBase + STATE_HEAP_INDEX] = CLOSED;
+			int currentX = getXCoord(current >>> 2);
+			int currentY = getYCoord(current >>> 2);
+			if(currentX == targetXIn && currentY == targetYIn)
+			{
+				mapJumpPath(current);
+				return true;
+			}//if
+			int currentGScore = currentChunk[currentBase + G_SCORE];
+			if(isDominated(currentChunk, current, currentGScore))
+			{
+				//the point was reached for less, facing another way, after this state was added
+				continue;
+			}//if
+
+			int currentDirection = current & 3;
+			int currentFScore = currentGScore + estimateCost(currentX, currentY, currentDirection, targetX, targetY);
+			for(int direction=0; direction<4; direction++)
+			{
+				//turning back is never cheaper than turning earlier, except at the start
+				if(current == startState || direction != ((currentDirection + 2) & 3))
+				{
+					int firstGScore = currentGScore + MOVE_COSTS[(direction - currentDirection) & 3];
+					int point = jump(currentX, currentY, direction, current == startState, firstGScore, currentFScore);
+					if(point != -1)
+					{
+						int distance = Math.abs(getXCoord(point) - currentX) + Math.abs(getYCoord(point) - currentY);
+						reachState((point << 2) | direction, firstGScore + distance - 1, current);
+					}//if
+				}//if
+			}//for
+		}//while
+
+		//no path found to target point
+		return false;
+	}//findJumpPointRoute
+
+	/**
+	 * Plans a route from a start point to a target point with hierarchical search, only travelling over open points.
+	 * The target point itself can have any status. A long route is planned on the abstract graph of the chunks, and
+	 * costs a little more than the cheapest route at most where it crosses from one chunk to the next. Only its first
+	 * leg is left to be read, and once the robot has got to the end of it hasRouteLeft is true until continueRoute
+	 * has moved on to the last leg. A route to a target in or next to the start point's chunk, or one the abstract
+	 * graph can't refine because the map changed while it was planned, is planned by findRoute instead
+	 * @param startXIn The X coordinate of the start point
+	 * @param startYIn The Y coordinate of the start point
+	 * @param startDirectionIn The direction the robot is facing at the start point
+	 * @param targetXIn The X coordinate of the target point
+	 * @param targetYIn The Y coordinate of the target point
+	 * @return True if a route was found (it can then be read with getPathLength and getPathPoint), false otherwise
+	 */
+	public boolean findHierarchicalRoute(int startXIn, int startYIn, DirectionEnum startDirectionIn, 
+			int targetXIn, int targetYIn)
+	{
+		if(!HierarchicalPlanner.isLongRoute(startXIn, startYIn, targetXIn, targetYIn))
+		{
+			return findRoute(startXIn, startYIn, startDirectionIn, targetXIn, targetYIn);
+		}//if
+		if(hierarchicalPlanner == null)
+		{
+			hierarchicalPlanner = new HierarchicalPlanner(knownMap);
+		}//if
+		if(!hierarchicalPlanner.findRoute(startXIn, startYIn, startDirectionIn, targetXIn, targetYIn))
+		{
+			//the abstract graph only misses a route the map has if the map changes while it is searched
+			return findRoute(startXIn, startYIn, startDirectionIn, targetXIn, targetYIn);
+		}//if
+
+		copyLeg();
+		return true;
+	}//findHierarchicalRoute
+
+	/**
+	 * Checks if the route was planned with findHierarchicalRoute and has legs after the one that can be read now
+	 * @return True if the route has legs left, false otherwise
+	 */
+	public boolean hasRouteLeft()
+	{
+		return followingLegs && hierarchicalPlanner.hasNextLeg();
+	}//hasRouteLeft
+
+	/**
+	 * Moves on to the next leg of a route planned with findHierarchicalRoute, once the robot has got to the end of the
+	 * leg before it (and only if hasRouteLeft is true). If the map has changed so the leg no longer gets through its
+	 * chunk, a new route to the same target is planned from where the robot is instead
+	 * @param startXIn The X coordinate of the robot, at the end of the leg before
+	 * @param startYIn The Y coordinate of the robot
+	 * @param startDirectionIn The direction the robot is facing
+	 * @return True if there is still a route to the target (its next leg can then be read with getPathLength and
+	 * getPathPoint), false otherwise
+	 */
+	public boolean continueRoute(int startXIn, int startYIn, DirectionEnum startDirectionIn)
+	{
+		if(hierarchicalPlanner.refineNextLeg())
+		{
+			copyLeg();
+			return true;
+		}//if
+
+		return findHierarchicalRoute(startXIn, startYIn, startDirectionIn, hierarchicalPlanner.getTargetXCoord(), 
+				hierarchicalPlanner.getTargetYCoord());
+	}//continueRoute
+
+	/**
+	 * Finds the frontier (unexplored) point the robot can reach for the lowest cost, and the route to it, travelling
+	 * over open points only. When the robots are coordinated the point is claimed for the robot, and points claimed
+	 * by other robots are passed over
+	 * @param startXIn The X coordinate of the start point
+	 * @param startYIn The Y coordinate of the start point
+	 * @param startDirectionIn The direction the robot is facing at the start point
+	 * @param claimsIn The claims the robots have made (null if points aren't claimed)
+	 * @param robotIn The number of the robot
+	 * @param tickIn The current tick
+	 * @return The index of the frontier point (y * width + x), with the route to it left to be read with
+	 * getPathLength and getPathPoint, or -1 if the robot can't reach any frontier point it could claim
+	 */
+	public int findNearestFrontier(int startXIn, int startYIn, DirectionEnum startDirectionIn, 
+			FrontierClaims claimsIn, int robotIn, int tickIn)
+	{
+		pathLength = 0;
+		followingLegs = false;
+		startSearch();
+		Arrays.fill(bucketSizes, 0);
+		int start = getPoint(startXIn, startYIn);
+		reach(start, 0, -1, startDirectionIn.ordinal());
+		int noOfWaiting = 1;
+
+		for(int cost=0; noOfWaiting>0; cost++)
+		{
+			//points reached from this bucket cost 1 to 3 more, so they always go into one of the other buckets
+			int[] bucket = buckets[cost & 3];
+			while(bucketSizes[cost & 3] > 0)
+			{
+				int current = bucket[--bucketSizes[cost & 3]];
+				noOfWaiting--;
+				int[] currentChunk = chunks.getChunk(current >>> OFFSET_BITS);
+				int currentBase = (current & OFFSET_MASK) * FIELDS;
+				if(currentChunk[currentBase + HEAP_INDEX] == CLOSED || currentChunk[currentBase + G_SCORE] != cost)
+				{
+					//the point has already been reached for less
+					continue;
+				}//if
+				currentChunk[currentBase + HEAP_INDEX] = CLOSED;
+				int currentX = getXCoord(current);
+				int currentY = getYCoord(current);
+
+				PointStatusEnum currentStatus = (current == start) ? PointStatusEnum.OPEN : knownMap.getStatus(currentX, currentY);
+				if(currentStatus == PointStatusEnum.UNEXPLORED)
+				{
+					int target = (currentY * width) + currentX;
+					if(claimsIn == null || claimsIn.claim(target, robotIn, tickIn))
+					{
+						mapPath(currentChunk[currentBase + PARENT]);
+						return target;
+					}//if
+					//another robot claimed the point first
+					continue;
+				}//if
+				else if(currentStatus != PointStatusEnum.OPEN)
+				{
+					//another robot has found an obstacle at the point since it was reached
+					continue;
+				}//else if
+
+				int currentDirection = currentChunk[currentBase + DIRECTION];
+				for(int direction=0; direction<4; direction++)
+				{
+					int x = currentX + X_STEPS[direction];
+					int y = currentY + Y_STEPS[direction];
+					PointStatusEnum status = knownMap.getStatus(x, y);
+					if(status == PointStatusEnum.OPEN || (status == PointStatusEnum.UNEXPLORED && 
+							(claimsIn == null || !claimsIn.isClaimedByOther((y * width) + x, robotIn, tickIn))))
+					{
+						int gScore = cost + MOVE_COSTS[(direction - currentDirection) & 3];
+						int point = getPoint(x, y);
+						int[] chunk = chunks.getOrMakeChunk(point >>> OFFSET_BITS);
+						int base = (point & OFFSET_MASK) * FIELDS;
+						if(chunk[base + STAMP] != generation)//point hasn't been reached in this search
+						{
+							reach(point, gScore, current, direction);
+							noOfWaiting++;
+						}//if
+						else if(chunk[base + HEAP_INDEX] != CLOSED && gScore < chunk[base + G_SCORE])//a cheaper way to the point
+						{
+							chunk[base + G_SCORE] = gScore;
+							chunk[base + PARENT] = current;
+							chunk[base + DIRECTION] = direction;
+							addToWavefront(point, gScore);
+							noOfWaiting++;
+						}//else if
+					}//if
+				}//for
+			}//while
+		}//for
+
+		//no frontier point can be reached
+		return -1;
+	}//findNearestFrontier
+
+	/**
+	 * Gets the number of points in the last route found
+	 * @return The number of points in the route
+	 */
+	public int getPathLength()
+	{
+		return pathLength;
+	}//getPathLength
+
+	/**
+	 * Gets a point on the last route found. The route starts from the end: the last point is the start point
+	 * and the first point is the point next to the target
+	 * @param positionIn The position of the point in the route
+	 * @return The index of the point on the map (y * width + x)
+	 */
+	public int getPathPoint(int positionIn)
+	{
+		return path[positionIn];
+	}//getPathPoint
+
+	/**
+	 * Sets the route to one planned earlier (such as one kept by a RouteCache), as if it had just been found
+	 * @param pathIn The points of the route, in the same order as getPathPoint
+	 */
+	public void setPath(int[] pathIn)
+	{
+		if(path.length < pathIn.length)
+		{
+			path = Arrays.copyOf(path, pathIn.length);
+		}//if
+		System.arraycopy(pathIn, 0, path, 0, pathIn.length);
+		pathLength = pathIn.length;
+		followingLegs = false;
+	}//setPath
+
+	/**
+	 * Copies the leg of a route the hierarchical planner has just refined into the route
+	 */
+	private void copyLeg()
+	{
+		pathLength = 0;
+		for(int a=0; a<hierarchicalPlanner.getPathLength(); a++)
+		{
+			if(pathLength == path.length)
+			{
+				path = Arrays.copyOf(path, pathLength * 2);
+			}//if
+			path[pathLength++] = hierarchicalPlanner.getPathPoint(a);
+		}//for
+		followingLegs = true;
+	}//copyLeg
+
+	/**
+	 * Maps out the route found, following the parent points back to the start point
+	 * @param lastPointIn The identifier of the last point of the route (the point before the target)
+	 */
+	private void mapPath(int lastPointIn)
+	{
+		for(int point=lastPointIn; point!=-1; point=getParent(point))
+		{
+			if(pathLength == path.length)
+			{
+				path = Arrays.copyOf(path, pathLength * 2);
+			}//if
+			path[pathLength++] = (getYCoord(point) * width) + getXCoord(point);
+		}//for
+	}//mapPath
+
+	/**
+	 * Jumps from a point in a straight line, passing every point where the route wouldn't have to turn. The jump
+	 * also stops once the estimated cost of a route through the point it has got to goes up by more than
+	 * JUMP_SLACK, so a jump away from the target goes no further until the search has run out of cheaper routes
+	 * (the jump is carried on from the point it stopped at)
+	 * @param xIn The X coordinate of the point jumped from
+	 * @param yIn The Y coordinate of the point jumped from
+	 * @param directionIn The direction of the jump (DirectionEnum ordinal)
+	 * @param fromStartIn True if the jump is from the start point (the robot may have to turn straight away, so
+	 * the jump stops at the first point)
+	 * @param gScoreIn The cost to get to the first point of the jump
+	 * @param fScoreIn The estimated cost of a route through the point jumped from
+	 * @return The identifier of the point jumped to, or -1 if the line runs into an obstacle (or unexplored point) first
+	 */
+	private int jump(int xIn, int yIn, int directionIn, boolean fromStartIn, int gScoreIn, int fScoreIn)
+	{
+		int x = xIn + X_STEPS[directionIn];
+		int y = yIn + Y_STEPS[directionIn];
+		int gScore = gScoreIn;
+		while(true)
+		{
+			if(x == targetX && y == targetY)
+			{
+				return getPoint(x, y);
+			}//if
+			if(knownMap.getStatus(x, y) != PointStatusEnum.OPEN)
+			{
+				return -1;
+			}//if
+			if(fromStartIn || gScore + estimateCost(x, y, directionIn, targetX, targetY) > fScoreIn + JUMP_SLACK || 
+					isTurnNeeded(x, y, directionIn, (directionIn + 1) & 3) || 
+					isTurnNeeded(x, y, directionIn, (directionIn + 3) & 3))
+			{
+				return getPoint(x, y);
+			}//if
+			x = x + X_STEPS[directionIn];
+			y = y + Y_STEPS[directionIn];
+			gScore++;
+		}//while
+	}//jump
+
+	/**
+	 * Checks if a route might have to turn at a point, rather than one point earlier. Turning one point earlier
+	 * costs the same as long as the line turned onto, moved back one point, is clear as far as the route goes
+	 * along it (the route then turns back the way it was going one point later). So a turn is only needed if the
+	 * target is along the line turned onto, or if the line moved back runs into an obstacle first and the route
+	 * could turn again after that. Turning again is itself only needed where turning one point earlier wouldn't
+	 * get through (see canTurnAgain), except straight after the first turn, where it makes a sidestep
+	 * @param xIn The X coordinate of the point
+	 * @param yIn The Y coordinate of the point
+	 * @param directionIn The direction the robot is going in (DirectionEnum ordinal)
+	 * @param sideIn The direction the robot would turn to (DirectionEnum ordinal)
+	 * @return True if the route might have to turn at the point, false otherwise
+	 */
+	private boolean isTurnNeeded(int xIn, int yIn, int directionIn, int sideIn)
+	{
+		if(isTargetAlong(xIn, yIn, sideIn))
+		{
+			return true;
+		}//if
+
+		int run = openLines.getRun(xIn, yIn, sideIn);
+		int backRun = openLines.getRun(xIn - X_STEPS[directionIn], yIn - Y_STEPS[directionIn], sideIn);
+		if(backRun >= run)
+		{
+			return false;
+		}//if
+		if(backRun == 1)
+		{
+			return true;
+		}//if
+
+		return getNextTurn(xIn + (backRun * X_STEPS[sideIn]), yIn + (backRun * Y_STEPS[sideIn]), sideIn) != NO_TURN;
+	}//isTurnNeeded
+
+	/**
+	 * Checks if a route going through a point might have to turn to either side there (rather than one point
+	 * earlier), because the target is along the line turned onto or the same line one point back runs into an
+	 * obstacle first
+	 * @param xIn The X coordinate of the point
+	 * @param yIn The Y coordinate of the point
+	 * @param directionIn The direction the robot is going in (DirectionEnum ordinal)
+	 * @return True if the route might turn at the point, false otherwise
+	 */
+	private boolean canTurnAgain(int xIn, int yIn, int directionIn)
+	{
+		int backX = xIn - X_STEPS[directionIn];
+		int backY = yIn - Y_STEPS[directionIn];
+		for(int turn=1; turn<4; turn=turn+2)
+		{
+			int side = (directionIn + turn) & 3;
+			if(isTargetAlong(xIn, yIn, side) || openLines.getRun(backX, backY, side) < openLines.getRun(xIn, yIn, side))
+			{
+				return true;
+			}//if
+		}//for
+
+		return false;
+	}//canTurnAgain
+
+	/**
+	 * Checks if the target point is along a line from a point, before the line runs into an obstacle (the target
+	 * can be the obstacle)
+	 * @param xIn The X coordinate of the point
+	 * @param yIn The Y coordinate of the point
+	 * @param directionIn The direction of the line (DirectionEnum ordinal)
+	 * @return True if the target is along the line, false otherwise
+	 */
+	private boolean isTargetAlong(int xIn, int yIn, int directionIn)
+	{
+		int distance = ((targetX - xIn) * X_STEPS[directionIn]) + ((targetY - yIn) * Y_STEPS[directionIn]);
+		boolean inLine = (X_STEPS[directionIn] == 0) ? targetX == xIn : targetY == yIn;
+		return inLine && distance > 0 && distance <= openLines.getRun(xIn, yIn, directionIn);
+	}//isTargetAlong
+
+	/**
+	 * Gets how far along a line of open points the first point is where a route going along it might turn again
+	 * (see canTurnAgain). Every point passed has its distance kept until the end of the search
+	 * @param xIn The X coordinate of the point the line starts at (which must be open)
+	 * @param yIn The Y coordinate of the point the line starts at (which must be open)
+	 * @param directionIn The direction of the line (DirectionEnum ordinal)
+	 * @return The number of moves to the point, or NO_TURN if the line runs into an obstacle first
+	 */
+	private int getNextTurn(int xIn, int yIn, int directionIn)
+	{
+		int x = xIn;
+		int y = yIn;
+		int length = 0;
+		int endTurn = getTurnField(x, y, directionIn);
+		while(endTurn == UNKNOWN)
+		{
+			if(canTurnAgain(x, y, directionIn))
+			{
+				endTurn = 0;
+			}//if
+			else if(knownMap.getStatus(x + X_STEPS[directionIn], y + Y_STEPS[directionIn]) != PointStatusEnum.OPEN)
+			{
+				endTurn = NO_TURN;
+			}//else if
+			else
+			{
+				x = x + X_STEPS[directionIn];
+				y = y + Y_STEPS[directionIn];
+				length++;
+				endTurn = getTurnField(x, y, directionIn);
+			}//else
+		}//while
+
+		for(int a=length; a>=0; a--)
+		{
+			setTurnField(xIn + (a * X_STEPS[directionIn]), yIn + (a * Y_STEPS[directionIn]), directionIn, 
+					(endTurn == NO_TURN) ? NO_TURN : endTurn + length - a);
+		}//for
+
+		return endTurn;
+	}//getNextTurn
+
+	/**
+	 * Gets the distance to the next point a route might turn at, if it has been found for a point in this search
+	 * @param xIn The X coordinate of the point
+	 * @param yIn The Y coordinate of the point
+	 * @param directionIn The direction the route is going in (DirectionEnum ordinal)
+	 * @return The distance, or UNKNOWN if it hasn't been found yet in this search
+	 */
+	private int getTurnField(int xIn, int yIn, int directionIn)
+	{
+		int[] chunk = turnChunks.getChunk(turnChunks.getChunkIndex(xIn, yIn));
+		int base = ChunkedGrid.getOffset(xIn, yIn) * TURN_FIELDS;
+		if(chunk == null || chunk[base + STAMP] != generation)
+		{
+			return UNKNOWN;
+		}//if
+
+		return chunk[base + NEXT_TURN + directionIn];
+	}//getTurnField
+
+	/**
+	 * Keeps the distance to the next point a route might turn at for a point, until the end of this search
+	 * @param xIn The X coordinate of the point
+	 * @param yIn The Y coordinate of the point
+	 * @param directionIn The direction the route is going in (DirectionEnum ordinal)
+	 * @param valueIn The distance
+	 */
+	private void setTurnField(int xIn, int yIn, int directionIn, int valueIn)
+	{
+		int[] chunk = turnChunks.getOrMakeChunk(turnChunks.getChunkIndex(xIn, yIn));
+		int base = ChunkedGrid.getOffset(xIn, yIn) * TURN_FIELDS;
+		if(chunk[base + STAMP] != generation)
+		{
+			//the point's distances are from an old search
+			Arrays.fill(chunk, base + NEXT_TURN, base + TURN_FIELDS, UNKNOWN);
+			chunk[base + STAMP] = generation;
+		}//if
+		chunk[base + NEXT_TURN + directionIn] = valueIn;
+	}//setTurnField
+
+	/**
+	 * Estimates the cost from a point to the target point: the distance plus the fewest turns the robot could make
+	 * if there were no obstacles in the way (this is never more than the real cost)
+	 * @param xIn The X coordinate of the point
+	 * @param yIn The Y coordinate of the point
+	 * @param directionIn The direction the robot is facing at the point (DirectionEnum ordinal)
+	 * @param targetXIn The X coordinate of the target point
+	 * @param targetYIn The Y coordinate of the target point
+	 * @return The estimated cost
+	 */
+	private static int estimateCost(int xIn, int yIn, int directionIn, int targetXIn, int targetYIn)
+	{
+		int across = (targetXIn > xIn) ? DirectionEnum.EAST.ordinal() : 
+				((targetXIn < xIn) ? DirectionEnum.WEST.ordinal() : -1);
+		int down = (targetYIn > yIn) ? DirectionEnum.SOUTH.ordinal() : 
+				((targetYIn < yIn) ? DirectionEnum.NORTH.ordinal() : -1);
+		int turns;
+		if(across == -1 && down == -1)
+		{
+			turns = 0;
+		}//if
+		else if(across == -1 || down == -1)
+		{
+			//the target is straight ahead, to one side or behind
+			int towards = Math.max(across, down);
+			turns = (directionIn == towards) ? 0 : ((directionIn == ((towards + 2) & 3)) ? 2 : 1);
+		}//else if
+		else
+		{
+			//the robot has to go both across and down, turning at least once
+			turns = (directionIn == across || directionIn == down) ? 1 : 2;
+		}//else
+
+		return Math.abs(targetXIn - xIn) + Math.abs(targetYIn - yIn) + turns;
+	}//estimateCost
+
+	/**
+	 * Adds a jump point search state to the open list, or lowers its g score if it has been reached for less
+	 * @param stateIn The identifier of the state (its point followed by its direction)
+	 * @param gScoreIn The cost to get to the state from the start state
+	 * @param parentIn The state jumped from (-1 for the start state)
+	 */
+	private void reachState(int stateIn, int gScoreIn, int parentIn)
+	{
+		int[] chunk = stateChunks.getOrMakeChunk(stateIn >>> STATE_OFFSET_BITS);
+		int base = (stateIn & STATE_OFFSET_MASK) * STATE_FIELDS;
+		if(isDominated(chunk, stateIn, gScoreIn))
+		{
+			return;
+		}//if
+		if(chunk[base + STAMP] != generation)//state hasn't been seen in this search
+		{
+			chunk[base + STAMP] = generation;
+			chunk[base + G_SCORE] = gScoreIn;
+			chunk[base + PARENT] = parentIn;
+			push(stateIn, gScoreIn + estimateCost(getXCoord(stateIn >>> 2), getYCoord(stateIn >>> 2), stateIn & 3, 
+					targetX, targetY));
+		}//if
+		else if(chunk[base + STATE_HEAP_INDEX] != CLOSED && gScoreIn < chunk[base + G_SCORE])//a better path to an open state
+		{
+			int heapIndex = chunk[base + STATE_HEAP_INDEX];
+			heapFScores[heapIndex] = heapFScores[heapIndex] - chunk[base + G_SCORE] + gScoreIn;
+			heapSequences[heapIndex] = sequence++;
+			chunk[base + G_SCORE] = gScoreIn;
+			chunk[base + PARENT] = parentIn;
+			siftUp(heapIndex);
+		}//else if
+	}//reachState
+
+	/**
+	 * Checks if the robot can already get to the point of a jump point search state, facing another way, for so
+	 * much less that it could turn to face the same way and still not cost any more. Any route on from the state
+	 * is then no cheaper than the same route on from the other state, so the state needn't be searched
+	 * @param chunkIn The search information of the chunk the state is in
+	 * @param stateIn The identifier of the state
+	 * @param gScoreIn The cost to get to the state from the start state
+	 * @return True if another state at the point is at least as good, false otherwise
+	 */
+	private boolean isDominated(int[] chunkIn, int stateIn, int gScoreIn)
+	{
+		for(int turn=1; turn<4; turn++)
+		{
+			int other = (stateIn & ~3) | ((stateIn + turn) & 3);
+			int base = (other & STATE_OFFSET_MASK) * STATE_FIELDS;
+			//turning costs 1 more for each quarter turn, the same as the extra cost of a move after turning
+			if(chunkIn[base + STAMP] == generation && chunkIn[base + G_SCORE] + MOVE_COSTS[turn] - 1 <= gScoreIn)
+			{
+				return true;
+			}//if
+		}//for
+
+		return false;
+	}//isDominated
+
+	/**
+	 * Maps out the route found by jump point search, filling in the points along each jump back to the start point
+	 * @param targetStateIn The identifier of the state at the target point
+	 */
+	private void mapJumpPath(int targetStateIn)
+	{
+		int x = getXCoord(targetStateIn >>> 2);
+		int y = getYCoord(targetStateIn >>> 2);
+		for(int state=targetStateIn; getStateParent(state)!=-1; state=getStateParent(state))
+		{
+			int parent = getStateParent(state);
+			int parentX = getXCoord(parent >>> 2);
+			int parentY = getYCoord(parent >>> 2);
+			do
+			{
+				x = x - X_STEPS[state & 3];
+				y = y - Y_STEPS[state & 3];
+				if(pathLength == path.length)
+				{
+					path = Arrays.copyOf(path, pathLength * 2);
+				}//if
+				path[pathLength++] = (y * width) + x;
+			}//do
+			while(x != parentX || y != parentY);
+		}//for
+	}//mapJumpPath
+
+	/**
+	 * Gets the state jumped from to reach a jump point search state
+	 * @param stateIn The identifier of the state
+	 * @return The identifier of the state jumped from (-1 for the start state)
+	 */
+	private int getStateParent(int stateIn)
+	{
+		return stateChunks.getChunk(stateIn >>> STATE_OFFSET_BITS)[((stateIn & STATE_OFFSET_MASK) * STATE_FIELDS) + PARENT];
+	}//getStateParent
+
+	/**
+	 * Sets the search information of a point the first time the wavefront reaches it, and adds it to the wavefront
+	 * @param pointIn The identifier of the point
+	 * @param gScoreIn The cost to get to the point from the start point
+	 * @param parentIn The point before this one on the route (-1 for the start point)
+	 * @param directionIn The direction the robot is facing when it reaches the point (DirectionEnum ordinal)
+	 */
+	private void reach(int pointIn, int gScoreIn, int parentIn, int directionIn)
+	{
+		touch(pointIn, gScoreIn, parentIn, directionIn);
+		//the heap index field marks whether the point has left the wavefront (CLOSED) or not
+		chunks.getChunk(pointIn >>> OFFSET_BITS)[((pointIn & OFFSET_MASK) * FIELDS) + HEAP_INDEX] = 0;
+		addToWavefront(pointIn, gScoreIn);
+	}//reach
+
+	/**
+	 * Adds a point to the bucket of the wavefront for its cost
+	 * @param pointIn The identifier of the point
+	 * @param gScoreIn The cost to get to the point from the start point
+	 */
+	private void addToWavefront(int pointIn, int gScoreIn)
+	{
+		int bucket = gScoreIn & 3;
+		if(bucketSizes[bucket] == buckets[bucket].length)
+		{
+			buckets[bucket] = Arrays.copyOf(buckets[bucket], bucketSizes[bucket] * 2);
+		}//if
+		buckets[bucket][bucketSizes[bucket]++] = pointIn;
+	}//addToWavefront
+
+	/**
+	 * Starts a new search by moving on to the next generation, so everything from the last search is ignored
+	 */
+	private void startSearch()
+	{
+		generation++;
+		if(generation == 0)
+		{
+			//the generation number has wrapped around, so old stamps could match it
+			for(int a=0; a<chunks.getNoOfChunks(); a++)
+			{
+				int[] chunk = chunks.getChunk(a);
+				for(int b=0; chunk!=null && b<ChunkedGrid.POINTS_PER_CHUNK; b++)
+				{
+					chunk[(b * FIELDS) + STAMP] = 0;
+				}//for
+				int[] stateChunk = stateChunks.getChunk(a);
+				for(int b=0; stateChunk!=null && b<ChunkedGrid.POINTS_PER_CHUNK * 4; b++)
+				{
+					stateChunk[(b * STATE_FIELDS) + STAMP] = 0;
+				}//for
+				int[] turnChunk = turnChunks.getChunk(a);
+				for(int b=0; turnChunk!=null && b<ChunkedGrid.POINTS_PER_CHUNK; b++)
+				{
+					turnChunk[(b * TURN_FIELDS) + STAMP] = 0;
+				}//for
+			}//for
+			generation = 1;
+		}//if
+		heapSize = 0;
+		sequence = 0;
+	}//startSearch
+
+	/**
+	 * Gets the planner's identifier for a point (its chunk index followed by its position in the chunk)
+	 * @param x The X coordinate of the point
+	 * @param y The Y coordinate of the point
+	 * @return The identifier of the point
+	 */
+	private int getPoint(int x, int y)
+	{
+		return (chunks.getChunkIndex(x, y) << OFFSET_BITS) | ChunkedGrid.getOffset(x, y);
+	}//getPoint
+
+	/**
+	 * Gets the X coordinate of a point
+	 * @param pointIn The identifier of the point
+	 * @return The X coordinate
+	 */
+	private int getXCoord(int pointIn)
+	{
+		return chunks.getChunkXCoord(pointIn >>> OFFSET_BITS) + (pointIn & (ChunkedGrid.CHUNK_SIZE - 1));
+	}//getXCoord
+
+	/**
+	 * Gets the Y coordinate of a point
+	 * @param pointIn The identifier of the point
+	 * @return The Y coordinate
+	 */
+	private int getYCoord(int pointIn)
+	{
+		return chunks.getChunkYCoord(pointIn >>> OFFSET_BITS) + ((pointIn & OFFSET_MASK) >>> ChunkedGrid.CHUNK_SHIFT);
+	}//getYCoord
+
+	/**
+	 * Gets the point before a point on the path found
+	 * @param pointIn The identifier of the point
+	 * @return The identifier of the point before it (-1 for the start point)
+	 */
+	private int getParent(int pointIn)
+	{
+		return chunks.getChunk(pointIn >>> OFFSET_BITS)[((pointIn & OFFSET_MASK) * FIELDS) + PARENT];
+	}//getParent
+	
+	/**
+	 * Sets the search information of a point the first time it is seen in a search
+	 * @param pointIn The identifier of the point
+	 * @param gScoreIn The cost to get to the point from the start point
+	 * @param parentIn The point before this one on the path (-1 for the start point)
+	 * @param directionIn The direction the robot is facing when it reaches the point (DirectionEnum ordinal)
+	 */
+	private void touch(int pointIn, int gScoreIn, int parentIn, int directionIn)
+	{
+		int[] chunk = chunks.getOrMakeChunk(pointIn >>> OFFSET_BITS);
+		int base = (pointIn & OFFSET_MASK) * FIELDS;
+		chunk[base + STAMP] = generation;
+		chunk[base + G_SCORE] = gScoreIn;
+		chunk[base + PARENT] = parentIn;
+		chunk[base + DIRECTION] = directionIn;
+	}//touch
+
+	/**
+	 * Adds a point to the open list
+	 * @param pointIn The identifier of the point
+	 * @param fScoreIn The g score plus the estimated cost to the target
+	 */
+	private void push(int pointIn, int fScoreIn)
+	{
+		if(heapSize == heap.length)
+		{
+			heap = Arrays.copyOf(heap, heapSize * 2);
+			heapFScores = Arrays.copyOf(heapFScores, heapSize * 2);
+			heapSequences = Arrays.copyOf(heapSequences, heapSize * 2);
+		}//if
+		heap[heapSize] = pointIn;
+		heapFScores[heapSize] = fScoreIn;
+		heapSequences[heapSize] = sequence++;
+		heapSize++;
+		siftUp(heapSize - 1);
+	}//push
+
+	/**
+	 * Removes the point with the lowest f score from the open list
+	 * @return The identifier of the point
+	 */
+	private int poll()
+	{
+		int top = heap[0];
+		heapSize--;
+		if(heapSize > 0)
+		{
+			moveEntry(heapSize, 0);
+			siftDown(0);
+		}//if
+
+		return top;
+	}//poll
+
+	/**
+	 * Moves a point towards the top of the heap until its parent comes before it
+	 * @param indexIn The position of the point in the heap
+	 */
+	private void siftUp(int indexIn)
+	{
+		int point = heap[indexIn];
+		int fScore = heapFScores[indexIn];
+		int pointSequence = heapSequences[indexIn];
+
+		while(indexIn > 0)
+		{
+			int parentIndex = (indexIn - 1) >>> 1;
+			if(!comesBefore(fScore, pointSequence, parentIndex))
+			{
+				break;
+			}//if
+			moveEntry(parentIndex, indexIn);
+			indexIn = parentIndex;
+		}//while
+
+		setEntry(indexIn, point, fScore, pointSequence);
+	}//siftUp
+
+	/**
+	 * Moves a point towards the bottom of the heap until both of its children come after it
+	 * @param indexIn The position of the point in the heap
+	 */
+	private void siftDown(int indexIn)
+	{
+		int point = heap[indexIn];
+		int fScore = heapFScores[indexIn];
+		int pointSequence = heapSequences[indexIn];
+
+		while(true)
+		{
+			int childIndex = (indexIn * 2) + 1;
+			if(childIndex >= heapSize)
+			{
+				break;
+			}//if
+			if(childIndex + 1 < heapSize && comesBefore(heapFScores[childIndex + 1], heapSequences[childIndex + 1], childIndex))
+			{
+				childIndex++;
+			}//if
+			if(!comesBefore(heapFScores[childIndex], heapSequences[childIndex], fScore, pointSequence))
+			{
+				break;
+			}//if
+			moveEntry(childIndex, indexIn);
+			indexIn = childIndex;
+		}//while
+
+		setEntry(indexIn, point, fScore, pointSequence);
+	}//siftDown
+
+	/**
+	 * Moves an entry of the heap to another position, updating the point's heap index
+	 * @param fromIn The position the entry is moved from
+	 * @param toIn The position the entry is moved to
+	 */
+	private void moveEntry(int fromIn, int toIn)
+	{
+		setEntry(toIn, heap[fromIn], heapFScores[fromIn], heapSequences[fromIn]);
+	}//moveEntry
+
+	/**
+	 * Puts a point (or a jump point search state) into a position of the heap, updating its heap index
+	 * @param indexIn The position in the heap
+	 * @param pointIn The identifier of the point (or state)
+	 * @param fScoreIn The f score of the point
+	 * @param sequenceIn When the point was added (or last improved)
+	 */
+	private void setEntry(int indexIn, int pointIn, int fScoreIn, int sequenceIn)
+	{
+		heap[indexIn] = pointIn;
+		heapFScores[indexIn] = fScoreIn;
+		heapSequences[indexIn] = sequenceIn;
+		if(jumping)
+		{
+			stateChunks.getChunk(pointIn >>> STATE_OFFSET_BITS)[((pointIn & STATE_OFFSET_MASK) * STATE_FIELDS) + 
+					STATE_HEAP_INDEX] = indexIn;
+		}//if
+		else
+		{
+			chunks.getChunk(pointIn >>> OFFSET_BITS)[((pointIn & OFFSET_MASK) * FIELDS) + HEAP_INDEX] = indexIn;
+		}//else
+	}//setEntry
+
+	/**
+	 * Checks if a point should be taken out of the open list before the point at a position of the heap
+	 * @param fScoreIn The f score of the point
+	 * @param sequenceIn When the point was added (or last improved)
+	 * @param indexIn The position in the heap of the other point
+	 * @return True if the point comes before the other point
+	 */
+	private boolean comesBefore(int fScoreIn, int sequenceIn, int indexIn)
+	{
+		return comesBefore(fScoreIn, sequenceIn, heapFScores[indexIn], heapSequences[indexIn]);
+	}//comesBefore
+
+	/**
+	 * Checks if one point should be taken out of the open list before another
+	 * @param aFScoreIn The f score of the first point
+	 * @param aSequenceIn When the first point was added (or last improved)
+	 * @param bFScoreIn The f score of the second point
+	 * @param bSequenceIn When the second point was added (or last improved)
+	 * @return True if the first point has a lower f score, or the same f score and was added more recently
+	 */
+	private boolean comesBefore(int aFScoreIn, int aSequenceIn, int bFScoreIn, int bSequenceIn)
+	{
+		if(aFScoreIn != bFScoreIn)
+		{
+			return aFScoreIn < bFScoreIn;
+		}//if
+
+		return aSequenceIn > bSequenceIn;
+	}//comesBefore
+}//end
@@ -0,0 +1,20 @@
+package robotExplorartion;
+
+/**
+ * An enumeration class for the ways a robot can choose its next unexplored point and plan the route to it
+ * WAVEFRONT - the point nearest by route, found and routed to with one wavefront search,
+ * A_STAR - the point nearest in a straight line, routed to with A*,
+ * JUMP_POINT - the point nearest in a straight line, routed to with jump point search,
+ * D_STAR_LITE - the point nearest in a straight line, routed to with D* Lite through points not yet known to be
+ * obstacles, and the route repaired as obstacles are found,
+ * HIERARCHICAL - the point nearest in a straight line, routed to on an abstract graph of the chunks of the map
+ * when it is far away (and with A* otherwise). Only the first leg of a long route is planned point by point, the
+ * rest as the robot gets to them, so on a big open map a long route starts in a few hundred microseconds rather
+ * than the tens of milliseconds A* takes. The robots take the same steps as with A*
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+public enum RouteSearchEnum
+{
+	WAVEFRONT, A_STAR, JUMP_POINT, D_STAR_LITE, HIERARCHICAL
+}//end
@@ -1,7 +1,22 @@
 package robotExplorartion;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Random;
+
 /**
- * Runs the robot exploration simulations
+ * Runs the robot exploration simulations. With no arguments the menu is shown, otherwise the simulations
+ * are run headless (with no windows) using the settings given:
+ * [frontier|proprietary] [single|uncoordinated|coordinated] [obstacle probability] [number of simulations]
+ * [number of robots] [map width] [map height] (the number of robots is only used for uncoordinated or coordinated
+ * robots, 2 by default). If a map size is given the maps are generated as they are explored, so they can be huge.
+ * Instead of a map size a map file can be given, which every simulation explores. A .rmap file is memory mapped,
+ * so it is shared rather than copied, and any other file is imported as a PGM image or an ASCII grid
+ * (see MapImporter). After a map size a generator (noise, caves, rooms or maze, see MapGenerator), a number of
+ * maps and a first seed can be given; the simulations then take it in turns to explore that many generated maps,
+ * with the obstacle probability as the generator's density, and each map is only held once (see WorldMapCache).
+ * A .rmap file can be made with:
+ * makemap [file] [map width] [map height] [obstacle probability|density] [noise|caves|rooms|maze] [seed]
  * @author Paul Monk
  * @version 12/03/2014
  */
@@ -9,6 +24,129 @@ public class Run
 {
 	public static void main(String [] args)
 	{
-		new Menu();
+		if(args.length == 0)
+		{
+			new Menu();
+			return;
+		}//if
+		
+		if(args[0].equalsIgnoreCase("makemap"))
+		{
+			makeMap(args);
+			return;
+		}//if
+		
+		if(args.length < 3)
+		{
+			System.out.println("Usage: Run [frontier|proprietary] [single|uncoordinated|coordinated] " + 
+					"[obstacle probability] [number of simulations] [number of robots] [map width] [map height]|[map file]");
+			System.out.println("       Run [frontier|proprietary] [single|uncoordinated|coordinated] [density] " + 
+					"[number of simulations] [number of robots] [map width] [map height] [noise|caves|rooms|maze] " + 
+					"[number of maps] [first seed]");
+			System.out.println("       Run makemap [file] [map width] [map height] [obstacle probability|density] " + 
+					"[noise|caves|rooms|maze] [seed]");
+			return;
+		}//if
+		
+		boolean proprietaryAlgorithm = args[0].equalsIgnoreCase("proprietary");
+		boolean coordinated = args[1].equalsIgnoreCase("coordinated");
+		int obstacleProbability = Integer.parseInt(args[2]);
+		int noOfSimulations = 1;
+		if(args.length > 3)
+		{
+			noOfSimulations = Integer.parseInt(args[3]);
+		}//if
+		int noOfRobots = 1;
+		if(!args[1].equalsIgnoreCase("single"))
+		{
+			noOfRobots = (args.length > 4) ? Integer.parseInt(args[4]) : 2;
+		}//if
+		
+		BatchRunner batch;
+		if(args.length == 6)
+		{
+			WorldMap worldMap;
+			try
+			{
+				if(args[5].toLowerCase().endsWith(".rmap"))
+				{
+					worldMap = WorldMapFile.open(Paths.get(args[5]));
+				}//if
+				else
+				{
+					worldMap = MapImporter.importMap(Paths.get(args[5]));
+				}//else
+			}//try
+			catch(IOException e)
+			{
+				System.out.println("Couldn't open the map file: " + e.getMessage());
+				return;
+			}//catch
+			batch = new BatchRunner(noOfSimulations, proprietaryAlgorithm, noOfRobots, coordinated, worldMap);
+		}//if
+		else if(args.length > 7)
+		{
+			int noOfMaps = (args.length > 8) ? Integer.parseInt(args[8]) : 1;
+			long firstSeed = (args.length > 9) ? Long.parseLong(args[9]) : 1;
+			batch = new BatchRunner(noOfSimulations, proprietaryAlgorithm, noOfRobots, coordinated, 
+					new WorldMapCache(), MapGenerator.forName(args[7], obstacleProbability), firstSeed, noOfMaps, 
+					Integer.parseInt(args[5]), Integer.parseInt(args[6]));
+		}//else if
+		else if(args.length > 6)
+		{
+			batch = new BatchRunner(noOfSimulations, proprietaryAlgorithm, noOfRobots, coordinated, 
+					obstacleProbability, Integer.parseInt(args[5]), Integer.parseInt(args[6]));
+		}//else if
+		else
+		{
+			batch = new BatchRunner(noOfSimulations, proprietaryAlgorithm, noOfRobots, coordinated, 
+					obstacleProbability, true);
+		}//else
+		batch.addListener(new ConsoleBatchListener());
+		batch.start();
 	}//main
+	
+	/**
+	 * Generates a map and saves it to a map file. Without a generator the map is random noise made from a random
+	 * seed; with one the same seed always makes the same map
+	 * @param args makemap [file] [map width] [map height] [obstacle probability|density] [noise|caves|rooms|maze] [seed]
+	 */
+	private static void makeMap(String[] args)
+	{
+		if(args.length < 5)
+		{
+			System.out.println("Usage: Run makemap [file] [map width] [map height] [obstacle probability|density] " + 
+					"[noise|caves|rooms|maze] [seed]");
+			return;
+		}//if
+		
+		int width = Integer.parseInt(args[2]);
+		int height = Integer.parseInt(args[3]);
+		long seed = (args.length > 6) ? Long.parseLong(args[6]) : new Random().nextLong();
+		WorldMap worldMap;
+		if(args.length > 5)
+		{
+			worldMap = MapGenerator.forName(args[5], Integer.parseInt(args[4])).generate(width, height, seed);
+		}//if
+		else
+		{
+			worldMap = new WorldMap(width, height, 
+					new RandomWorldGenerator(seed, Integer.parseInt(args[4]), width, height));
+		}//else
+		//clears the default start squares, so the map can be opened read only and still be explored
+		Robot[] robots = ExplorationEngine.makeDefaultRobots(4, width, height);
+		for(int a=0; a<robots.length; a++)
+		{
+			worldMap.setObstacle(robots[a].getXCoord(), robots[a].getYCoord(), false);
+		}//for
+		
+		try
+		{
+			WorldMapFile.save(worldMap, Paths.get(args[1]));
+		}//try
+		catch(IOException e)
+		{
+			System.out.println("Couldn't save the map file: " + e.getMessage());
+		}//catch
+	}//makeMap
 }//end
\ No newline at end of file
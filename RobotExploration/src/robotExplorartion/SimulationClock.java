@@ -0,0 +1,201 @@
+package robotExplorartion;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The clock that keeps the robots of a simulation in step. Time moves in ticks, and in every tick each robot still
+ * exploring takes its turn to look around, decide where to go and take exactly one step, in the order the robots
+ * were numbered. Only the robot whose turn it is runs, so the robots always see the map in the same state, and
+ * a simulation on a seeded map always comes out the same.
+ * The mode of the clock only changes how long a tick lasts (real time, scaled or not paced at all), so the step
+ * counts are the same whichever mode is used
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+public class SimulationClock
+{
+	//The length of a tick in real time (in nanoseconds)
+	public static final long REAL_TIME_TICK = TimeUnit.MILLISECONDS.toNanos(100);
+	
+	private final ClockModeEnum mode;
+	//The length of a tick (in nanoseconds, 0 if the clock isn't paced)
+	private final long tickLength;
+	//When the first tick started (System.nanoTime)
+	private long startTime;
+	//The number of ticks that have finished
+	private volatile int ticks = 0;
+	//The robot whose turn it is (-1 once every robot has finished)
+	private volatile int turn = 0;
+	//The robots still exploring, in a ring: the robot that goes after each robot and the robot that goes before it
+	private int[] nextRobots;
+	private int[] previousRobots;
+	//The thread running each robot (so it can be woken up when its turn comes)
+	private AtomicReferenceArray<Thread> threads;
+	
+	/**
+	 * Makes a clock (a SCALED clock made this way runs at real time speed)
+	 * @param modeIn How the clock is paced
+	 */
+	public SimulationClock(ClockModeEnum modeIn)
+	{
+		this(modeIn, 1.0);
+	}//constructor
+	
+	/**
+	 * Makes a clock
+	 * @param modeIn How the clock is paced
+	 * @param speedIn How many times faster than real time a SCALED clock runs (e.g. 2.0 for double speed, 
+	 * 0.5 for half speed), ignored by the other modes
+	 */
+	public SimulationClock(ClockModeEnum modeIn, double speedIn)
+	{
+		if(modeIn == ClockModeEnum.SCALED && !(speedIn > 0))
+		{
+			throw new IllegalArgumentException("Speed must be more than 0: " + speedIn);
+		}//if
+		
+		mode = modeIn;
+		if(modeIn == ClockModeEnum.REAL_TIME)
+		{
+			tickLength = REAL_TIME_TICK;
+		}//if
+		else if(modeIn == ClockModeEnum.SCALED)
+		{
+			tickLength = (long) (REAL_TIME_TICK / speedIn);
+		}//else if
+		else//unthrottled
+		{
+			tickLength = 0;
+		}//else
+	}//constructor
+	
+	/**
+	 * Starts the clock, it is robot 0's turn first (must be called before any of the robot threads start)
+	 * @param noOfRobotsIn The number of robots that will take steps, numbered from 0
+	 */
+	public void start(int noOfRobotsIn)
+	{
+		nextRobots = new int[noOfRobotsIn];
+		previousRobots = new int[noOfRobotsIn];
+		threads = new AtomicReferenceArray<Thread>(noOfRobotsIn);
+		for(int a=0; a<noOfRobotsIn; a++)
+		{
+			nextRobots[a] = (a + 1) % noOfRobotsIn;
+			previousRobots[a] = (a + noOfRobotsIn - 1) % noOfRobotsIn;
+		}//for
+		
+		startTime = System.nanoTime();
+		turn = (noOfRobotsIn == 0) ? -1 : 0;
+	}//start
+	
+	/**
+	 * Called by a robot's thread before the robot does anything, waits until it is the robot's turn
+	 * @param robotIn The number of the robot
+	 */
+	public void waitForTurn(int robotIn)
+	{
+		threads.set(robotIn, Thread.currentThread());
+		
+		while(turn != robotIn)
+		{
+			LockSupport.park(this);
+		}//while
+	}//waitForTurn
+	
+	/**
+	 * Called by a robot once it has taken a step, hands the turn on to the next robot and waits until 
+	 * it is this robot's turn again (in the next tick)
+	 * @param robotIn The number of the robot
+	 */
+	public void tick(int robotIn)
+	{
+		passTurn(robotIn, nextRobots[robotIn]);
+		waitForTurn(robotIn);
+	}//tick
+	
+	/**
+	 * Called by a robot once it has finished exploring, so it won't be given any more turns
+	 * @param robotIn The number of the robot
+	 */
+	public void finish(int robotIn)
+	{
+		int next = nextRobots[robotIn];
+		
+		if(next == robotIn)//this was the last robot still exploring
+		{
+			turn = -1;
+			return;
+		}//if
+		
+		//take the robot out of the ring
+		nextRobots[previousRobots[robotIn]] = next;
+		previousRobots[next] = previousRobots[robotIn];
+		passTurn(robotIn, next);
+	}//finish
+	
+	/**
+	 * Gets the number of ticks that have finished since the clock started
+	 * @return The number of ticks
+	 */
+	public int getTicks()
+	{
+		return ticks;
+	}//getTicks
+	
+	/**
+	 * Gets how the clock is paced
+	 * @return The mode of the clock
+	 */
+	public ClockModeEnum getMode()
+	{
+		return mode;
+	}//getMode
+	
+	/**
+	 * Gives the turn to another robot, ending the tick first if every robot has had its turn
+	 * @param robotIn The number of the robot whose turn it is
+	 * @param nextRobotIn The number of the robot to give the turn to
+	 */
+	private void passTurn(int robotIn, int nextRobotIn)
+	{
+		if(nextRobotIn <= robotIn)//back round to the first robot, so the tick is over
+		{
+			waitForEndOfTick();
+			ticks++;
+		}//if
+		
+		turn = nextRobotIn;
+		Thread nextThread = threads.get(nextRobotIn);
+		if(nextThread != null)
+		{
+			LockSupport.unpark(nextThread);
+		}//if
+	}//passTurn
+	
+	/**
+	 * Waits until the current tick is over. The end of each tick is worked out from when the clock started
+	 * (rather than from the end of the last tick) so a slow tick is caught up on instead of adding up
+	 */
+	private void waitForEndOfTick()
+	{
+		if(tickLength == 0)
+		{
+			return;
+		}//if
+		
+		long waitTime = (startTime + ((ticks + 1) * tickLength)) - System.nanoTime();
+		if(waitTime > 0)
+		{
+			try
+			{
+				TimeUnit.NANOSECONDS.sleep(waitTime);
+			}//try
+			catch (InterruptedException e)
+			{
+				e.printStackTrace();
+			}//catch
+		}//if
+	}//waitForEndOfTick
+}//end
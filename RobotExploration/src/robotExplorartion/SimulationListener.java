@@ -0,0 +1,22 @@
+package robotExplorartion;
+
+/**
+ * Receives calls as an exploration engine runs, so a view (or anything else) can follow the simulation
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+public interface SimulationListener
+{
+	/**
+	 * Called after a robot has taken a step (it is called on the robot's thread)
+	 * @param robotIn The robot that has moved
+	 */
+	public void robotStepped(Robot robotIn);
+
+	/**
+	 * Called once a robot has finished exploring (it is called on the robot's thread)
+	 * @param robotIn The robot that has finished
+	 * @param noOfStepsIn The number of steps that robot took to explore
+	 */
+	public void robotFinished(Robot robotIn, int noOfStepsIn);
+}//end
@@ -1,35 +1,197 @@
 package robotExplorartion;
 
+import java.lang.reflect.InvocationTargetException;
+import java.util.Random;
+
+import javax.swing.SwingUtilities;
+
 /**
- * A thread which is created to run a robot exploration simulation
+ * A thread which is created to run a robot exploration simulation, either shown in a window
+ * or headless (with no window, running as fast as the robots can go)
  * @author Paul Monk
  * @version 12/03/2014
  */
 public class SimulationThread implements Runnable
 {	
 	private Simulation simulation;
+	//Runs the simulation (when it is shown in a window this is the simulation's engine)
+	private ExplorationEngine engine;
 	
 	/**
-	 * Sets up a thread to run a simulation
+	 * Sets up a thread to run a simulation shown in a window
 	 * @param threadNumberIn The number of this thread (to distinguish between different simulations running at the same time)
 	 * @param proprietaryAlgorithmIn which exploration algorithm should be used (true for proprietary, false for frontier)
-	 * @param twoRobotsIn True if 2 robots are running in the simulation, false if just 1 robot is running
+	 * @param noOfRobotsIn The number of robots running in the simulation
 	 * @param coordinatedIn True if the robots will coordinate with each other in the simulation, false otherwise
 	 * @param obstacleProbabilityIn The chance of obstacles occurring (0-100%)
 	 */
-	public SimulationThread(int threadNumberIn, boolean proprietaryAlgorithmIn, boolean twoRobotsIn,
+	public SimulationThread(int threadNumberIn, boolean proprietaryAlgorithmIn, int noOfRobotsIn,
 			boolean coordinatedIn, int obstacleProbabilityIn)
 	{
-		simulation = new Simulation(threadNumberIn, proprietaryAlgorithmIn, twoRobotsIn,
-				coordinatedIn, obstacleProbabilityIn);
+		this(threadNumberIn, proprietaryAlgorithmIn, noOfRobotsIn, coordinatedIn, obstacleProbabilityIn, false);
 	}//SimulationThread
 	
 	/**
-	 * Runs the thread, starting the simulation
+	 * Sets up a thread to run a simulation. The window of a simulation shown in one is always made on the Swing
+	 * event thread, whichever thread this is called on
+	 * @param threadNumberIn The number of this thread (to distinguish between different simulations running at the same time)
+	 * @param proprietaryAlgorithmIn which exploration algorithm should be used (true for proprietary, false for frontier)
+	 * @param noOfRobotsIn The number of robots running in the simulation
+	 * @param coordinatedIn True if the robots will coordinate with each other in the simulation, false otherwise
+	 * @param obstacleProbabilityIn The chance of obstacles occurring (0-100%)
+	 * @param headlessIn True to run the simulation without a window, false to show it in a window
+	 */
+	public SimulationThread(int threadNumberIn, boolean proprietaryAlgorithmIn, int noOfRobotsIn,
+			boolean coordinatedIn, int obstacleProbabilityIn, boolean headlessIn)
+	{
+		if(headlessIn)
+		{
+			engine = new ExplorationEngine(threadNumberIn, proprietaryAlgorithmIn, noOfRobotsIn, coordinatedIn, 
+					obstacleProbabilityIn, ExplorationEngine.DEFAULT_WIDTH, ExplorationEngine.DEFAULT_HEIGHT);
+		}//if
+		else
+		{
+			simulation = makeSimulation(threadNumberIn, proprietaryAlgorithmIn, noOfRobotsIn,
+					coordinatedIn, obstacleProbabilityIn);
+			engine = simulation.getEngine();
+		}//else
+	}//SimulationThread
+	
+	/**
+	 * Sets up a thread to run a simulation without a window on a map of any size. The map is generated
+	 * as the robots explore it, so only the parts of a huge map the robots reach use any memory
+	 * @param threadNumberIn The number of this thread (to distinguish between different simulations running at the same time)
+	 * @param proprietaryAlgorithmIn which exploration algorithm should be used (true for proprietary, false for frontier)
+	 * @param noOfRobotsIn The number of robots running in the simulation
+	 * @param coordinatedIn True if the robots will coordinate with each other in the simulation, false otherwise
+	 * @param obstacleProbabilityIn The chance of obstacles occurring (0-100%)
+	 * @param widthIn The width of the map (in squares)
+	 * @param heightIn The height of the map (in squares)
+	 */
+	public SimulationThread(int threadNumberIn, boolean proprietaryAlgorithmIn, int noOfRobotsIn,
+			boolean coordinatedIn, int obstacleProbabilityIn, int widthIn, int heightIn)
+	{
+		WorldMap worldMap = new WorldMap(widthIn, heightIn, 
+				new RandomWorldGenerator(new Random().nextLong(), obstacleProbabilityIn, widthIn, heightIn));
+		engine = new ExplorationEngine(threadNumberIn, proprietaryAlgorithmIn, 
+				ExplorationEngine.makeDefaultRobots(noOfRobotsIn, widthIn, heightIn), coordinatedIn, worldMap);
+	}//SimulationThread
+	
+	/**
+	 * Sets up a thread to run a simulation without a window on a map that has already been made
+	 * (such as a map opened from a file, which several simulations can share)
+	 * @param threadNumberIn The number of this thread (to distinguish between different simulations running at the same time)
+	 * @param proprietaryAlgorithmIn which exploration algorithm should be used (true for proprietary, false for frontier)
+	 * @param noOfRobotsIn The number of robots running in the simulation
+	 * @param coordinatedIn True if the robots will coordinate with each other in the simulation, false otherwise
+	 * @param worldMapIn The map the robots will explore
+	 */
+	public SimulationThread(int threadNumberIn, boolean proprietaryAlgorithmIn, int noOfRobotsIn,
+			boolean coordinatedIn, WorldMap worldMapIn)
+	{
+		engine = new ExplorationEngine(threadNumberIn, proprietaryAlgorithmIn, 
+				ExplorationEngine.makeDefaultRobots(noOfRobotsIn, worldMapIn.getWidth(), worldMapIn.getHeight()), 
+				coordinatedIn, worldMapIn);
+	}//SimulationThread
+	
+	/**
+	 * Makes a simulation and the window showing it on the Swing event thread, waiting for it to be made if this
+	 * is another thread (such as one of a batch's threads)
+	 * @param threadNumberIn The number of this thread (to distinguish between different simulations running at the same time)
+	 * @param proprietaryAlgorithmIn which exploration algorithm should be used (true for proprietary, false for frontier)
+	 * @param noOfRobotsIn The number of robots running in the simulation
+	 * @param coordinatedIn True if the robots will coordinate with each other in the simulation, false otherwise
+	 * @param obstacleProbabilityIn The chance of obstacles occurring (0-100%)
+	 * @return The simulation
+	 */
+	private static Simulation makeSimulation(int threadNumberIn, boolean proprietaryAlgorithmIn, int noOfRobotsIn,
+			boolean coordinatedIn, int obstacleProbabilityIn)
+	{
+		if(SwingUtilities.isEventDispatchThread())
+		{
+			return new Simulation(threadNumberIn, proprietaryAlgorithmIn, noOfRobotsIn, coordinatedIn, 
+					obstacleProbabilityIn);
+		}//if
+		
+		Simulation[] simulationMade = new Simulation[1];
+		try
+		{
+			SwingUtilities.invokeAndWait(() -> simulationMade[0] = new Simulation(threadNumberIn, 
+					proprietaryAlgorithmIn, noOfRobotsIn, coordinatedIn, obstacleProbabilityIn));
+		}//try
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while the simulation window was being made", e);
+		}//catch
+		catch (InvocationTargetException e)
+		{
+			throw new IllegalStateException("The simulation window couldn't be made", e.getCause());
+		}//catch
+		
+		return simulationMade[0];
+	}//makeSimulation
+	
+	/**
+	 * Runs the thread, starting the simulation and waiting until every robot has finished
+	 * (if the thread is interrupted the simulation is stopped)
 	 */
 	@Override
 	public void run()
 	{
-		simulation.startSimulation();
+		if(simulation != null)
+		{
+			//the window has to start drawing frames as well
+			simulation.startSimulation();
+		}//if
+		else
+		{
+			engine.startSimulation();
+		}//else
+		try
+		{
+			engine.waitForSimulation();
+		}//try
+		catch (InterruptedException e)
+		{
+			engine.stopSimulation();
+			Thread.currentThread().interrupt();
+		}//catch
 	}//run
+	
+	/**
+	 * Sets how the robots choose their next unexplored point and plan the route to it (must be set before the
+	 * thread is run)
+	 * @param routeSearchIn The way of searching to use
+	 */
+	public void setRouteSearch(RouteSearchEnum routeSearchIn)
+	{
+		engine.setRouteSearch(routeSearchIn);
+	}//setRouteSearch
+	
+	/**
+	 * Sets how many planned routes are kept to be used again (must be set before the thread is run)
+	 * @param routeCacheSizeIn The most routes kept (0 to not keep any)
+	 */
+	public void setRouteCacheSize(int routeCacheSizeIn)
+	{
+		engine.setRouteCacheSize(routeCacheSizeIn);
+	}//setRouteCacheSize
+	
+	/**
+	 * Stops the simulation early
+	 */
+	public void stop()
+	{
+		engine.stopSimulation();
+	}//stop
+	
+	/**
+	 * Gets the number of steps each robot has taken
+	 * @return The number of steps of each robot (in the order of the robots' numbers)
+	 */
+	public int[] getRobotSteps()
+	{
+		return engine.getRobotSteps();
+	}//getRobotSteps
 }//simulationThread
@@ -0,0 +1,19 @@
+package robotExplorartion;
+
+/**
+ * Decides where the obstacles are on a world map. A generated map asks about each point the first time the
+ * robots get near it, in no particular order and possibly from several threads, so the answer for a point
+ * must only depend on the point itself
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+public interface WorldGenerator
+{
+	/**
+	 * Checks if there is an obstacle at a point of the map
+	 * @param xCoordIn The X coordinate of the point
+	 * @param yCoordIn The Y coordinate of the point
+	 * @return True if there is an obstacle, false otherwise
+	 */
+	public boolean isObstacle(int xCoordIn, int yCoordIn);
+}//end
@@ -0,0 +1,345 @@
+package robotExplorartion;
+
+import java.nio.LongBuffer;
+
+/**
+ * The real map the robots are exploring, which says where the obstacles are. The map is stored as a bitset,
+ * one bit per square, with each row of the map held in 64 bit words. The words are held in 64 by 64 chunks
+ * (so each row of a chunk is exactly one word) which are only made the first time a point in them is looked at,
+ * so a huge generated map only uses memory for the area the robots have reached. A map without a generator
+ * starts with no obstacles, and a chunk of it is only made once an obstacle is put in it.
+ *
+ * As the squares are stored as words, whole areas can be checked at once: counting the obstacles in an area,
+ * finding a free run of squares and OR-ing a mask of obstacles into a row all work 64 squares at a time.
+ * The map can be read by several robot threads at once, but obstacles should only be changed before the
+ * simulation starts. A map opened from a file (see WorldMapFile) is read straight from the memory mapped file
+ * instead of from chunks, and can't be changed at all. Any other map can be frozen once it is finished, after
+ * which it can't be changed either, so one map can be shared by any number of simulations (see WorldMapCache)
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+public class WorldMap
+{
+	//The number of squares in a word
+	private static final int WORD_SIZE = 64;
+	private static final int WORD_SHIFT = 6;
+
+	private final int width;
+	private final int height;
+	//One bit per point, set if there is an obstacle there (one word for each row of each chunk)
+	private final ChunkedGrid<long[]> obstacles;
+	//Fills in each chunk when it is made (null if the map starts with no obstacles)
+	private final WorldGenerator generator;
+	//The words of a map opened from a file, row by row (null unless the map was opened from a file)
+	private final LongBuffer mappedWords;
+	//The number of words in each row of a map opened from a file
+	private final int wordsPerRow;
+	//Set once the map has been frozen, so it can't be changed any more
+	private volatile boolean frozen = false;
+
+	/**
+	 * Makes a map with no obstacles on it
+	 * @param widthIn The width of the map (in squares)
+	 * @param heightIn The height of the map (in squares)
+	 */
+	public WorldMap(int widthIn, int heightIn)
+	{
+		this(widthIn, heightIn, (WorldGenerator) null);
+	}//constructor
+
+	/**
+	 * Makes a map whose obstacles are generated a chunk at a time, as the robots reach each part of it
+	 * @param widthIn The width of the map (in squares)
+	 * @param heightIn The height of the map (in squares)
+	 * @param generatorIn Decides where the obstacles are (null for a map with no obstacles)
+	 */
+	public WorldMap(int widthIn, int heightIn, WorldGenerator generatorIn)
+	{
+		width = widthIn;
+		height = heightIn;
+		generator = generatorIn;
+		obstacles = new ChunkedGrid<long[]>(widthIn, heightIn, this::makeChunk);
+		mappedWords = null;
+		wordsPerRow = 0;
+	}//constructor
+
+	/**
+	 * Makes a read only map whose words are read from a buffer (used by WorldMapFile for memory mapped files)
+	 * @param widthIn The width of the map (in squares)
+	 * @param heightIn The height of the map (in squares)
+	 * @param wordsIn The words of the map, row by row, with (widthIn + 63) / 64 words in each row
+	 */
+	WorldMap(int widthIn, int heightIn, LongBuffer wordsIn)
+	{
+		width = widthIn;
+		height = heightIn;
+		generator = null;
+		obstacles = null;
+		mappedWords = wordsIn;
+		wordsPerRow = (widthIn + WORD_SIZE - 1) >>> WORD_SHIFT;
+	}//constructor
+
+	/**
+	 * Gets the width of the map
+	 * @return The width of the map (in squares)
+	 */
+	public int getWidth()
+	{
+		return width;
+	}//getWidth
+
+	/**
+	 * Gets the height of the map
+	 * @return The height of the map (in squares)
+	 */
+	public int getHeight()
+	{
+		return height;
+	}//getHeight
+
+	/**
+	 * Checks if the map can't be changed (because it is read straight from a file or has been frozen)
+	 * @return True if the map is read only, false otherwise
+	 */
+	public boolean isReadOnly()
+	{
+		return mappedWords != null || frozen;
+	}//isReadOnly
+
+	/**
+	 * Freezes the map, so it can't be changed any more. Chunks of a generated map are still made as they are
+	 * first looked at, but they always come out the same, so a frozen map can be shared between simulations
+	 */
+	public void freeze()
+	{
+		frozen = true;
+	}//freeze
+
+	/**
+	 * Checks if there is an obstacle at a point of the map
+	 * @param xCoordIn The X coordinate of the point
+	 * @param yCoordIn The Y coordinate of the point
+	 * @return True if there is an obstacle, false otherwise
+	 */
+	public boolean isObstacle(int xCoordIn, int yCoordIn)
+	{
+		return ((getWord(xCoordIn >>> WORD_SHIFT, yCoordIn) >>> (xCoordIn & (WORD_SIZE - 1))) & 1) != 0;
+	}//isObstacle
+
+	/**
+	 * Puts an obstacle at a point of the map or takes one away (this should only be done before the simulation starts)
+	 * @param xCoordIn The X coordinate of the point
+	 * @param yCoordIn The Y coordinate of the point
+	 * @param obstacleIn True to put an obstacle at the point, false to take it away
+	 * @throws UnsupportedOperationException If the map is read only
+	 */
+	public void setObstacle(int xCoordIn, int yCoordIn, boolean obstacleIn)
+	{
+		checkWritable();
+		if(obstacleIn)
+		{
+			orMask(xCoordIn, yCoordIn, 1L);
+		}//if
+		else if(isObstacle(xCoordIn, yCoordIn))
+		{
+			long[] chunk = obstacles.getOrMakeChunk(obstacles.getChunkIndex(xCoordIn, yCoordIn));
+			chunk[yCoordIn & (ChunkedGrid.CHUNK_SIZE - 1)] &= ~(1L << (xCoordIn & (WORD_SIZE - 1)));
+		}//else if
+	}//setObstacle
+
+	/**
+	 * Puts obstacles on up to 64 squares of a row at once, OR-ing a mask into the row (this should only be done
+	 * before the simulation starts). Squares past the right hand edge of the map are ignored
+	 * @param xCoordIn The X coordinate of the first square the mask covers
+	 * @param yCoordIn The row
+	 * @param maskIn The obstacles to add, bit 0 is the square at xCoordIn, bit 1 the square to its right and so on
+	 * @throws UnsupportedOperationException If the map is read only
+	 */
+	public void orMask(int xCoordIn, int yCoordIn, long maskIn)
+	{
+		checkWritable();
+		long mask = maskIn;
+		if(width - xCoordIn < WORD_SIZE)
+		{
+			mask &= -1L >>> (WORD_SIZE - (width - xCoordIn));
+		}//if
+
+		int shift = xCoordIn & (WORD_SIZE - 1);
+		int row = yCoordIn & (ChunkedGrid.CHUNK_SIZE - 1);
+		if((mask << shift) != 0)
+		{
+			obstacles.getOrMakeChunk(obstacles.getChunkIndex(xCoordIn, yCoordIn))[row] |= mask << shift;
+		}//if
+		if(shift != 0 && (mask >>> (WORD_SIZE - shift)) != 0)
+		{
+			//the mask carries on into the next word
+			obstacles.getOrMakeChunk(obstacles.getChunkIndex(xCoordIn + WORD_SIZE, yCoordIn))[row] |= 
+					mask >>> (WORD_SIZE - shift);
+		}//if
+	}//orMask
+
+	/**
+	 * Counts the obstacles in a rectangular area of the map, 64 squares at a time
+	 * @param xCoordIn The X coordinate of the left hand side of the area
+	 * @param yCoordIn The Y coordinate of the top of the area
+	 * @param widthIn The width of the area (in squares)
+	 * @param heightIn The height of the area (in squares)
+	 * @return The number of obstacles in the area
+	 */
+	public int countObstacles(int xCoordIn, int yCoordIn, int widthIn, int heightIn)
+	{
+		if(widthIn <= 0 || heightIn <= 0)
+		{
+			return 0;
+		}//if
+
+		int lastX = xCoordIn + widthIn - 1;
+		int firstWord = xCoordIn >>> WORD_SHIFT;
+		int lastWord = lastX >>> WORD_SHIFT;
+		long firstMask = -1L << (xCoordIn & (WORD_SIZE - 1));
+		long lastMask = -1L >>> (WORD_SIZE - 1 - (lastX & (WORD_SIZE - 1)));
+		int count = 0;
+
+		for(int y=yCoordIn; y<yCoordIn+heightIn; y++)
+		{
+			for(int word=firstWord; word<=lastWord; word++)
+			{
+				long mask = -1L;
+				if(word == firstWord)
+				{
+					mask &= firstMask;
+				}//if
+				if(word == lastWord)
+				{
+					mask &= lastMask;
+				}//if
+				count += Long.bitCount(getWord(word, y) & mask);
+			}//for
+		}//for
+
+		return count;
+	}//countObstacles
+
+	/**
+	 * Finds the first run of free squares (with no obstacles) in a row which is at least a given length,
+	 * checking up to 64 squares at a time
+	 * @param yCoordIn The row to search
+	 * @param fromXIn The X coordinate to start searching from
+	 * @param lengthIn The number of free squares needed
+	 * @return The X coordinate of the first square of the run, or -1 if the row doesn't have a long enough run
+	 */
+	public int findFreeRun(int yCoordIn, int fromXIn, int lengthIn)
+	{
+		if(lengthIn <= 0)
+		{
+			return fromXIn;
+		}//if
+
+		int runStart = fromXIn;
+		int x = fromXIn;
+
+		while(x < width)
+		{
+			int bit = x & (WORD_SIZE - 1);
+			int squaresLeftInWord = Math.min(WORD_SIZE - bit, width - x);
+			long free = ~getWord(x >>> WORD_SHIFT, yCoordIn) >>> bit;
+			int freeSquares = Math.min(Long.numberOfTrailingZeros(~free), squaresLeftInWord);
+
+			x += freeSquares;
+			if(x - runStart >= lengthIn)
+			{
+				return runStart;
+			}//if
+			if(freeSquares < squaresLeftInWord)
+			{
+				//x is an obstacle, so a run can only start after it
+				x++;
+				runStart = x;
+			}//if
+		}//while
+
+		return -1;
+	}//findFreeRun
+
+	/**
+	 * Gets the number of 64 by 64 chunks of the map which have been made so far
+	 * @return The number of chunks in use
+	 */
+	public int getNoOfChunksUsed()
+	{
+		return (obstacles == null) ? 0 : obstacles.getNoOfMadeChunks();
+	}//getNoOfChunksUsed
+
+	/**
+	 * Gets 64 squares of a row of the map (any squares past the right hand edge are free)
+	 * @param wordXIn The position of the word in the row (the word covers X coordinates wordXIn * 64 onwards)
+	 * @param yCoordIn The row
+	 * @return One bit per square, set if there is an obstacle there
+	 */
+	public long getWord(int wordXIn, int yCoordIn)
+	{
+		if(mappedWords != null)
+		{
+			return mappedWords.get((yCoordIn * wordsPerRow) + wordXIn);
+		}//if
+
+		int chunkIndex = obstacles.getChunkIndex(wordXIn << WORD_SHIFT, yCoordIn);
+		long[] chunk = (generator == null) ? obstacles.getChunk(chunkIndex) : obstacles.getOrMakeChunk(chunkIndex);
+		if(chunk == null)
+		{
+			//no obstacles have been put in this part of the map
+			return 0;
+		}//if
+
+		return chunk[yCoordIn & (ChunkedGrid.CHUNK_SIZE - 1)];
+	}//getWord
+
+	/**
+	 * Stops a read only map from being changed
+	 * @throws UnsupportedOperationException If the map is read only
+	 */
+	private void checkWritable()
+	{
+		if(mappedWords != null)
+		{
+			throw new UnsupportedOperationException("A map opened from a file can't be changed");
+		}//if
+		if(frozen)
+		{
+			throw new UnsupportedOperationException("A frozen map can't be changed");
+		}//if
+	}//checkWritable
+
+	/**
+	 * Makes a chunk of the map, asking the generator about each point in it
+	 * @param chunkIndexIn The index of the chunk
+	 * @return The chunk, one word per row
+	 */
+	private long[] makeChunk(int chunkIndexIn)
+	{
+		long[] chunk = new long[ChunkedGrid.CHUNK_SIZE];
+		if(generator == null)
+		{
+			return chunk;
+		}//if
+
+		int startX = obstacles.getChunkXCoord(chunkIndexIn);
+		int startY = obstacles.getChunkYCoord(chunkIndexIn);
+		int endX = Math.min(startX + ChunkedGrid.CHUNK_SIZE, width);
+		int endY = Math.min(startY + ChunkedGrid.CHUNK_SIZE, height);
+		for(int y=startY; y<endY; y++)
+		{
+			long word = 0;
+			for(int x=startX; x<endX; x++)
+			{
+				if(generator.isObstacle(x, y))
+				{
+					word |= 1L << (x - startX);
+				}//if
+			}//for
+			chunk[y - startY] = word;
+		}//for
+
+		return chunk;
+	}//makeChunk
+}//end
@@ -0,0 +1,59 @@
+package robotExplorartion;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds generated maps so simulations exploring the same map share one copy of it rather than each generating
+ * their own. Maps are looked up by the kind of map, its density, its seed and its size, and are frozen before
+ * they are handed out, so every simulation only reads them (the robots' default start squares are always
+ * clear on a generated map, so no simulation needs to change it).
+ *
+ * A batch of 1000 simulations over 10 maps only ever holds the 10 maps, and batches sharing a cache (such as
+ * the same maps explored with each algorithm) share the maps as well. Each map is generated once, by the first
+ * simulation that asks for it; any others asking for it at the same time wait for it rather than generating
+ * it again
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+public class WorldMapCache
+{
+	//The maps, by generator name, density, seed and size
+	private final ConcurrentHashMap<String, WorldMap> maps = new ConcurrentHashMap<String, WorldMap>();
+
+	/**
+	 * Gets a map, generating it the first time it is asked for
+	 * @param generatorIn Generates the map
+	 * @param seedIn The seed the map is made from
+	 * @param widthIn The width of the map (in squares)
+	 * @param heightIn The height of the map (in squares)
+	 * @return The map, which is read only
+	 */
+	public WorldMap getMap(MapGenerator generatorIn, long seedIn, int widthIn, int heightIn)
+	{
+		String key = generatorIn.getName() + "/" + generatorIn.getDensity() + "/" + seedIn + "/" +
+				widthIn + "x" + heightIn;
+		return maps.computeIfAbsent(key, k ->
+		{
+			WorldMap worldMap = generatorIn.generate(widthIn, heightIn, seedIn);
+			worldMap.freeze();
+			return worldMap;
+		});
+	}//getMap
+
+	/**
+	 * Gets the number of maps held
+	 * @return The number of maps
+	 */
+	public int getNoOfMaps()
+	{
+		return maps.size();
+	}//getNoOfMaps
+
+	/**
+	 * Lets go of every map held (simulations still exploring a map keep it until they finish)
+	 */
+	public void clear()
+	{
+		maps.clear();
+	}//clear
+}//end
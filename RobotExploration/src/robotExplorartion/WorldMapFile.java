@@ -0,0 +1,138 @@
+package robotExplorartion;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Saves world maps to files and opens them again. An opened map isn't read into memory: the file is memory mapped
+ * read only, so opening a huge map takes almost no time, only the parts of the map the robots reach are ever read
+ * from disk, and every simulation (in any number of JVMs) that opens the same file shares the one copy of it
+ * held by the operating system.
+ *
+ * The file is a 16 byte header followed by the map as a bitset. The header holds the magic number "RMAP",
+ * the format version (1), the width and the height, each as a 4 byte little endian int. The bitset is stored
+ * row by row, each row being (width + 63) / 64 little endian 64 bit words, where bit n of word w is the square
+ * at X coordinate w * 64 + n (set if there is an obstacle there)
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+public class WorldMapFile
+{
+	//"RMAP" as a little endian int
+	private static final int MAGIC = 0x50414D52;
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 16;
+
+	/**
+	 * Opens a map saved in a file, memory mapping it read only
+	 * @param pathIn The file to open
+	 * @return The map, which can't be changed
+	 * @throws IOException If the file can't be read or isn't a world map file
+	 */
+	public static WorldMap open(Path pathIn) throws IOException
+	{
+		try(FileChannel channel = FileChannel.open(pathIn, StandardOpenOption.READ))
+		{
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			while(header.hasRemaining())
+			{
+				if(channel.read(header, header.position()) < 0)
+				{
+					throw new IOException(pathIn + " is too short to be a world map file");
+				}//if
+			}//while
+			header.flip();
+
+			if(header.getInt() != MAGIC)
+			{
+				throw new IOException(pathIn + " isn't a world map file");
+			}//if
+			int version = header.getInt();
+			if(version != VERSION)
+			{
+				throw new IOException(pathIn + " is a version " + version + " world map file, only version " + 
+						VERSION + " can be read");
+			}//if
+			int width = header.getInt();
+			int height = header.getInt();
+			if(width < 1 || height < 1 || (long) width * height > Integer.MAX_VALUE)
+			{
+				throw new IOException(pathIn + " has a bad map size of " + width + " by " + height);
+			}//if
+
+			long bitsetSize = (long) getWordsPerRow(width) * height * Long.BYTES;
+			if(channel.size() != HEADER_SIZE + bitsetSize)
+			{
+				throw new IOException(pathIn + " should be " + (HEADER_SIZE + bitsetSize) + " bytes long but is " + 
+						channel.size() + " bytes");
+			}//if
+
+			//the mapping stays valid once the channel is closed
+			LongBuffer words = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, bitsetSize)
+					.order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+			return new WorldMap(width, height, words);
+		}//try
+	}//open
+
+	/**
+	 * Saves a map to a file, replacing the file if it already exists (a generated map is generated in full)
+	 * @param worldMapIn The map to save
+	 * @param pathIn The file to save it to
+	 * @throws IOException If the file can't be written
+	 */
+	public static void save(WorldMap worldMapIn, Path pathIn) throws IOException
+	{
+		int width = worldMapIn.getWidth();
+		int height = worldMapIn.getHeight();
+		int wordsPerRow = getWordsPerRow(width);
+
+		try(FileChannel channel = FileChannel.open(pathIn, StandardOpenOption.WRITE, StandardOpenOption.CREATE, 
+				StandardOpenOption.TRUNCATE_EXISTING))
+		{
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			header.putInt(MAGIC).putInt(VERSION).putInt(width).putInt(height).flip();
+			writeFully(channel, header);
+
+			ByteBuffer row = ByteBuffer.allocate(wordsPerRow * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+			for(int y=0; y<height; y++)
+			{
+				row.clear();
+				for(int a=0; a<wordsPerRow; a++)
+				{
+					row.putLong(worldMapIn.getWord(a, y));
+				}//for
+				row.flip();
+				writeFully(channel, row);
+			}//for
+		}//try
+	}//save
+
+	/**
+	 * Gets the number of words needed to hold a row of a map
+	 * @param widthIn The width of the map (in squares)
+	 * @return The number of words in each row
+	 */
+	private static int getWordsPerRow(int widthIn)
+	{
+		return (widthIn + 63) >>> 6;
+	}//getWordsPerRow
+
+	/**
+	 * Writes everything left in a buffer to a channel
+	 * @param channelIn The channel to write to
+	 * @param bufferIn The buffer to write
+	 * @throws IOException If the channel can't be written to
+	 */
+	private static void writeFully(FileChannel channelIn, ByteBuffer bufferIn) throws IOException
+	{
+		while(bufferIn.hasRemaining())
+		{
+			channelIn.write(bufferIn);
+		}//while
+	}//writeFully
+}//end
@@ -0,0 +1,122 @@
+package robotExplorartion.benchmarks;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import robotExplorartion.ExplorationEngine;
+import robotExplorartion.KnownMap;
+import robotExplorartion.PointStatusEnum;
+
+/**
+ * A seeded map shared by the benchmarks. Every size and obstacle probability makes the same map each time,
+ * and half of the reachable area is explored (as if the robots were half way through exploring it), so there are
+ * open points to plan routes across and frontier points to search for. Each benchmark cycles through a fixed list
+ * of random open points to start from
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+@State(Scope.Benchmark)
+public class BenchmarkMap
+{
+	//The seed every map is made with
+	public static final long SEED = 20140312L;
+	//The number of random open points to cycle through
+	public static final int NO_OF_POINTS = 1024;
+	
+	//The size of the map (width x height, in squares)
+	@Param({"50x33", "200x200", "1000x1000"})
+	public String size;
+	//The chance of obstacles occurring (1, 2 and 5% are the densities in the menu)
+	@Param({"1", "2", "5", "10", "25"})
+	public int obstacleProbability;
+	
+	public ExplorationEngine engine;
+	public KnownMap knownMap;
+	public int width;
+	public int height;
+	//Random open points which have been explored (X and Y coordinates)
+	public int[] pointsX;
+	public int[] pointsY;
+	
+	/**
+	 * Makes the map and explores half of it
+	 */
+	@Setup(Level.Trial)
+	public void setUp()
+	{
+		String[] dimensions = size.split("x");
+		width = Integer.parseInt(dimensions[0]);
+		height = Integer.parseInt(dimensions[1]);
+		engine = new ExplorationEngine(1, false, ExplorationEngine.makeDefaultRobots(1, width, height), 
+				false, obstacleProbability, width, height, new Random(SEED));
+		knownMap = engine.getKnownMap();
+		
+		int noOfOpenPoints = explore();
+		
+		//picks random explored open points
+		Random rnd = new Random(SEED);
+		pointsX = new int[NO_OF_POINTS];
+		pointsY = new int[NO_OF_POINTS];
+		for(int a=0; a<NO_OF_POINTS; a++)
+		{
+			int x;
+			int y;
+			do
+			{
+				x = rnd.nextInt(width);
+				y = rnd.nextInt(height);
+			}
+			while(noOfOpenPoints > 0 && knownMap.getStatus(x, y) != PointStatusEnum.OPEN);
+			pointsX[a] = x;
+			pointsY[a] = y;
+		}//for
+	}//setUp
+	
+	/**
+	 * Explores the map outwards from the top left corner (the first robot's start point) until half of the map
+	 * has been looked at, the same way the robots' sensors explore it
+	 * @return The number of open points explored
+	 */
+	private int explore()
+	{
+		int limit = (width * height) / 2;
+		int noOfPointsSeen = 0;
+		int noOfOpenPoints = 0;
+		ArrayDeque<int[]> queue = new ArrayDeque<int[]>();
+		queue.add(new int[] {1, 1});
+		knownMap.setStatus(1, 1, PointStatusEnum.UNEXPLORED);
+		
+		while(!queue.isEmpty() && noOfPointsSeen < limit)
+		{
+			int[] point = queue.poll();
+			int x = point[0];
+			int y = point[1];
+			noOfPointsSeen++;
+			
+			if(engine.isObstacle(x, y))
+			{
+				knownMap.setStatus(x, y, PointStatusEnum.OBSTACLE);
+				continue;
+			}//if
+			
+			knownMap.setStatus(x, y, PointStatusEnum.OPEN);
+			noOfOpenPoints++;
+			int[][] neighbours = {{x, y-1}, {x+1, y}, {x, y+1}, {x-1, y}};
+			for(int a=0; a<neighbours.length; a++)
+			{
+				if(knownMap.addIfAbsent(neighbours[a][0], neighbours[a][1], PointStatusEnum.UNEXPLORED))
+				{
+					queue.add(neighbours[a]);
+				}//if
+			}//for
+		}//while
+		
+		return noOfOpenPoints;
+	}//explore
+}//end
@@ -0,0 +1,75 @@
+package robotExplorartion.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import robotExplorartion.Robot;
+import robotExplorartion.RoutePlanner;
+
+/**
+ * Benchmarks finding the closest frontier point, from random explored points of a half explored map: the closest
+ * in a straight line (from the frontier index), and the nearest by route (with the wavefront the robots use)
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FrontierSearchBenchmark
+{
+	private Robot robot;
+	private RoutePlanner planner;
+	private int next = 0;
+	
+	/**
+	 * Gets the robot searching, and makes a planner for it (its own planner, so threads don't share one)
+	 * @param mapIn The map being benchmarked
+	 */
+	@Setup(Level.Trial)
+	public void setUp(BenchmarkMap mapIn)
+	{
+		robot = mapIn.engine.getRobots()[0];
+		planner = new RoutePlanner(mapIn.knownMap);
+	}//setUp
+	
+	/**
+	 * Finds the closest unexplored point in a straight line (the robots aren't coordinated,
+	 * so the map isn't changed)
+	 * @param mapIn The map being benchmarked
+	 * @return The index of the closest point
+	 */
+	@Benchmark
+	public int getClosestUnexploredPoint(BenchmarkMap mapIn)
+	{
+		next = (next + 1) & (BenchmarkMap.NO_OF_POINTS - 1);
+		
+		return mapIn.engine.getClosestUnexploredPoint(robot, mapIn.pointsX[next], mapIn.pointsY[next]);
+	}//getClosestUnexploredPoint
+	
+	/**
+	 * Finds the nearest unexplored point by route, along with the route to it, the way the robots do
+	 * @param mapIn The map being benchmarked
+	 * @return The index of the nearest point
+	 */
+	@Benchmark
+	public int findNearestFrontier(BenchmarkMap mapIn)
+	{
+		next = (next + 1) & (BenchmarkMap.NO_OF_POINTS - 1);
+		
+		return planner.findNearestFrontier(mapIn.pointsX[next], mapIn.pointsY[next], robot.getDirection(), null, 0, 0);
+	}//findNearestFrontier
+}//end
@@ -0,0 +1,68 @@
+package robotExplorartion.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import robotExplorartion.MapGenerator;
+import robotExplorartion.WorldMap;
+
+/**
+ * Benchmarks generating whole maps of each kind (the bands of rows are generated in parallel, so this
+ * measures how well generation uses the machine's cores as well as how fast each band is)
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapGeneratorBenchmark
+{
+	//The kind of map generated
+	@Param({"noise", "caves", "rooms", "maze"})
+	public String generatorName;
+	//The size of the map (width x height, in squares)
+	@Param({"1000x1000", "4000x4000"})
+	public String size;
+
+	private MapGenerator generator;
+	private int width;
+	private int height;
+
+	/**
+	 * Makes the generator (with the density each kind of map is usually made with)
+	 */
+	@Setup(Level.Trial)
+	public void setUp()
+	{
+		String[] dimensions = size.split("x");
+		width = Integer.parseInt(dimensions[0]);
+		height = Integer.parseInt(dimensions[1]);
+		int density = generatorName.equals("caves") ? 45 : (generatorName.equals("rooms") ? 75 : 5);
+		generator = MapGenerator.forName(generatorName, density);
+	}//setUp
+
+	/**
+	 * Generates a whole map
+	 * @return The map (returned so it isn't optimised away)
+	 */
+	@Benchmark
+	public WorldMap generate()
+	{
+		return generator.generate(width, height, BenchmarkMap.SEED);
+	}//generate
+}//end
@@ -0,0 +1,113 @@
+package robotExplorartion.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import robotExplorartion.DirectionEnum;
+import robotExplorartion.OpenLines;
+import robotExplorartion.RoutePlanner;
+
+/**
+ * Benchmarks the route planner's A*, jump point and hierarchical searches (what mapRouteToPoint runs), planning
+ * routes between random explored points
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RoutePlannerBenchmark
+{
+	//Each thread has its own planner, the same as each robot
+	private RoutePlanner planner;
+	private int next = 0;
+	
+	/**
+	 * Makes the planner for the map (with its own runs of open points, so they aren't made while being timed)
+	 * @param mapIn The map being benchmarked
+	 */
+	@Setup(Level.Trial)
+	public void setUp(BenchmarkMap mapIn)
+	{
+		planner = new RoutePlanner(mapIn.knownMap, new OpenLines(mapIn.knownMap));
+	}//setUp
+	
+	/**
+	 * Plans a route from one random point to the next
+	 * @param mapIn The map being benchmarked
+	 * @return The length of the route (0 if there isn't one)
+	 */
+	@Benchmark
+	public int findRoute(BenchmarkMap mapIn)
+	{
+		int start = next;
+		int target = (next + 1) & (BenchmarkMap.NO_OF_POINTS - 1);
+		next = target;
+		
+		if(planner.findRoute(mapIn.pointsX[start], mapIn.pointsY[start], DirectionEnum.SOUTH, 
+				mapIn.pointsX[target], mapIn.pointsY[target]))
+		{
+			return planner.getPathLength();
+		}//if
+		
+		return 0;
+	}//findRoute
+	
+	/**
+	 * Plans a route from one random point to the next with jump point search
+	 * @param mapIn The map being benchmarked
+	 * @return The length of the route (0 if there isn't one)
+	 */
+	@Benchmark
+	public int findJumpPointRoute(BenchmarkMap mapIn)
+	{
+		int start = next;
+		int target = (next + 1) & (BenchmarkMap.NO_OF_POINTS - 1);
+		next = target;
+		
+		if(planner.findJumpPointRoute(mapIn.pointsX[start], mapIn.pointsY[start], DirectionEnum.SOUTH, 
+				mapIn.pointsX[target], mapIn.pointsY[target]))
+		{
+			return planner.getPathLength();
+		}//if
+		
+		return 0;
+	}//findJumpPointRoute
+	
+	/**
+	 * Plans a route from one random point to the next with hierarchical search (the abstract graph is worked out
+	 * during the warmup, as the map doesn't change). Only the first leg of a long route is refined, the same as when
+	 * a robot plans it
+	 * @param mapIn The map being benchmarked
+	 * @return The length of the route (0 if there isn't one)
+	 */
+	@Benchmark
+	public int findHierarchicalRoute(BenchmarkMap mapIn)
+	{
+		int start = next;
+		int target = (next + 1) & (BenchmarkMap.NO_OF_POINTS - 1);
+		next = target;
+		
+		if(planner.findHierarchicalRoute(mapIn.pointsX[start], mapIn.pointsY[start], DirectionEnum.SOUTH, 
+				mapIn.pointsX[target], mapIn.pointsY[target]))
+		{
+			return planner.getPathLength();
+		}//if
+		
+		return 0;
+	}//findHierarchicalRoute
+}//end
@@ -0,0 +1,29 @@
+package robotExplorartion.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler, so the allocation rate of each benchmark is reported along with
+ * its throughput and average time. The JMH jars (jmh-core, jopt-simple, commons-math3 and, for compiling,
+ * jmh-generator-annprocess) are found through the JMH_LIB classpath variable.
+ * The first argument (if given) is a regular expression picking which benchmarks to run, e.g. "RoutePlanner"
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+public class RunBenchmarks
+{
+	public static void main(String [] args) throws RunnerException
+	{
+		String include = (args.length > 0) ? args[0] : RunBenchmarks.class.getPackage().getName() + ".*";
+		
+		Options options = new OptionsBuilder()
+				.include(include)
+				.addProfiler(GCProfiler.class)
+				.build();
+		new Runner(options).run();
+	}//main
+}//end
@@ -0,0 +1,68 @@
+package robotExplorartion.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import robotExplorartion.DirectionEnum;
+import robotExplorartion.Robot;
+
+/**
+ * Benchmarks the simulated sensors (obstacleInFront, obstacleToLeft and obstacleToRight, along with the
+ * previouslySearched checks made before them), with a robot moved between random explored points
+ * @author Paul Monk
+ * @version 12/03/2014
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SensorBenchmark
+{
+	private static final DirectionEnum[] DIRECTIONS = DirectionEnum.values();
+	
+	private Robot robot;
+	private int next = 0;
+	
+	/**
+	 * Makes the robot doing the sensing (its own robot, so threads don't move each other's robots)
+	 */
+	@Setup(Level.Trial)
+	public void setUp()
+	{
+		robot = new Robot("Benchmark Robot", 0, 1, 1, DirectionEnum.SOUTH);
+	}//setUp
+	
+	/**
+	 * Moves the robot to the next point and senses around it, as the algorithm loops do once per step
+	 * @param mapIn The map being benchmarked
+	 * @param blackholeIn Consumes the results
+	 */
+	@Benchmark
+	public void senseAround(BenchmarkMap mapIn, Blackhole blackholeIn)
+	{
+		next = (next + 1) & (BenchmarkMap.NO_OF_POINTS - 1);
+		robot.setCoordinates(mapIn.pointsX[next], mapIn.pointsY[next]);
+		robot.setDirection(DIRECTIONS[next & 3]);
+		
+		blackholeIn.consume(mapIn.engine.previouslySearchedFront(robot));
+		blackholeIn.consume(mapIn.engine.previouslySearchedLeft(robot));
+		blackholeIn.consume(mapIn.engine.previouslySearchedRight(robot));
+		blackholeIn.consume(mapIn.engine.obstacleInFront(robot));
+		blackholeIn.consume(mapIn.engine.obstacleToLeft(robot));
+		blackholeIn.consume(mapIn.engine.obstacleToRight(robot));
+	}//senseAround
+}//end